@@ -0,0 +1,30 @@
+package com.legalfirm.automation.cache;
+
+import java.util.UUID;
+
+/**
+ * Tells other nodes that an entity cached in the second-level cache was updated
+ * or deleted. {@code origin} identifies the sending node, whose own cache Hibernate
+ * already keeps current.
+ * <p>
+ * Node-local caches outside Hibernate (such as the lawyer schedules of
+ * {@link com.legalfirm.automation.service.HearingScheduleIndex}) travel the same way,
+ * with their cache name in place of the entity name. A {@code null} id stands for
+ * every entry.
+ */
+public record EntityCacheInvalidation(String origin, String entityName, String id) {
+
+    private static final String LOCAL_ORIGIN = UUID.randomUUID().toString();
+
+    public static EntityCacheInvalidation of(String entityName, Object id) {
+        return new EntityCacheInvalidation(LOCAL_ORIGIN, entityName, id.toString());
+    }
+
+    public static EntityCacheInvalidation all(String entityName) {
+        return new EntityCacheInvalidation(LOCAL_ORIGIN, entityName, null);
+    }
+
+    public boolean isLocal() {
+        return LOCAL_ORIGIN.equals(origin);
+    }
+}
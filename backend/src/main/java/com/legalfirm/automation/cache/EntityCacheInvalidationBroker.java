@@ -0,0 +1,13 @@
+package com.legalfirm.automation.cache;
+
+/**
+ * Carries second-level cache invalidations to every application node. Implementations
+ * hand each received invalidation to {@link EntityCacheInvalidator#evict}.
+ * <p>
+ * {@link #publish} is called while the changing transaction completes, so it must not
+ * use that transaction's connection or block for long.
+ */
+public interface EntityCacheInvalidationBroker {
+
+    void publish(EntityCacheInvalidation invalidation);
+}
@@ -0,0 +1,77 @@
+package com.legalfirm.automation.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts second-level cache entries that another node changed. The natural-id
+ * region of the entity, if any, is cleared as a whole: it holds few entries and
+ * a deleted user's email may be registered again.
+ * <p>
+ * Invalidations naming no cached entity are for node-local caches and are
+ * republished as application events for their owners to handle.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EntityCacheInvalidator {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private SessionFactoryImplementor sessionFactory;
+    private Counter evictions;
+
+    @PostConstruct
+    public void init() {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.evictions = Counter.builder("hibernate.cache.invalidations")
+                .description("Second-level cache invalidations by direction")
+                .tag("direction", "received")
+                .register(meterRegistry);
+    }
+
+    public void evict(EntityCacheInvalidation invalidation) {
+        if (invalidation.isLocal()) {
+            return;
+        }
+        EntityPersister persister = sessionFactory.getMappingMetamodel()
+                .findEntityDescriptor(invalidation.entityName());
+        if (persister == null) {
+            eventPublisher.publishEvent(invalidation);
+            Counter.builder("cache.invalidations.republished")
+                    .description("Invalidations of node-local caches received from other nodes")
+                    .tag("cache", invalidation.entityName())
+                    .register(meterRegistry)
+                    .increment();
+            return;
+        }
+        if (!persister.canWriteToCache()) {
+            log.debug("Ignoring cache invalidation for uncached entity {}", invalidation.entityName());
+            return;
+        }
+        Cache cache = sessionFactory.getCache();
+        if (invalidation.id() == null) {
+            cache.evictEntityData(invalidation.entityName());
+        } else {
+            Object id = objectMapper.convertValue(invalidation.id(), persister.getIdentifierType().getReturnedClass());
+            cache.evictEntityData(invalidation.entityName(), id);
+        }
+        if (persister.getNaturalIdCacheAccessStrategy() != null) {
+            cache.evictNaturalIdData(invalidation.entityName());
+        }
+        evictions.increment();
+    }
+}
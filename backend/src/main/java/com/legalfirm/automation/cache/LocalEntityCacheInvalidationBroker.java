@@ -0,0 +1,17 @@
+package com.legalfirm.automation.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * For single-node deployments and databases without LISTEN/NOTIFY: Hibernate keeps
+ * this node's cache current, so there is nobody to tell.
+ */
+@Component
+@ConditionalOnProperty(name = "application.cache.invalidation.broker", havingValue = "local")
+public class LocalEntityCacheInvalidationBroker implements EntityCacheInvalidationBroker {
+
+    @Override
+    public void publish(EntityCacheInvalidation invalidation) {
+    }
+}
@@ -0,0 +1,136 @@
+package com.legalfirm.automation.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Fans cache invalidations out across nodes with PostgreSQL {@code NOTIFY}, the same
+ * way {@link com.legalfirm.automation.realtime.PostgresRealtimeBroker} does for
+ * realtime events: one dedicated, unpooled connection per node {@code LISTEN}s from
+ * a virtual thread and reconnects after failures.
+ * <p>
+ * Invalidations are published while the changing transaction completes, so each
+ * {@code NOTIFY} is sent from a virtual thread on a connection of its own. One lost
+ * while the listener reconnects is covered by the expiry of the cache regions.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "application.cache.invalidation.broker", havingValue = "postgres", matchIfMissing = true)
+@RequiredArgsConstructor
+public class PostgresEntityCacheInvalidationBroker implements EntityCacheInvalidationBroker {
+
+    private static final int POLL_MILLIS = 10_000;
+    private static final long RECONNECT_DELAY_MILLIS = 5_000;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityCacheInvalidator invalidator;
+    private final ObjectMapper objectMapper;
+
+    @Value("${application.cache.invalidation.channel:entity_cache_invalidation}")
+    private String channel;
+
+    private final ExecutorService notifier = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile boolean running;
+    private Thread listener;
+
+    @PostConstruct
+    public void init() {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalStateException("application.cache.invalidation.channel must be a lower-case SQL identifier");
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        listener = Thread.ofVirtual().name("cache-invalidation-pg-listener").start(this::listen);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+        notifier.shutdown();
+    }
+
+    @Override
+    public void publish(EntityCacheInvalidation invalidation) {
+        try {
+            String payload = objectMapper.writeValueAsString(invalidation);
+            notifier.execute(() -> notify(invalidation, payload));
+        } catch (Exception ex) {
+            log.warn("Could not publish cache invalidation for {} {}", invalidation.entityName(), invalidation.id(), ex);
+        }
+    }
+
+    private void notify(EntityCacheInvalidation invalidation, String payload) {
+        try {
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", resultSet -> { }, channel, payload);
+        } catch (Exception ex) {
+            log.warn("Could not publish cache invalidation for {} {}", invalidation.entityName(), invalidation.id(), ex);
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                log.info("Listening for cache invalidations on channel {}", channel);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        dispatch(notification.getParameter());
+                    }
+                }
+            } catch (SQLException ex) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener connection failed, reconnecting in {} ms", RECONNECT_DELAY_MILLIS, ex);
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        try {
+            invalidator.evict(objectMapper.readValue(payload, EntityCacheInvalidation.class));
+        } catch (Exception ex) {
+            log.warn("Dropping malformed cache invalidation", ex);
+        }
+    }
+}
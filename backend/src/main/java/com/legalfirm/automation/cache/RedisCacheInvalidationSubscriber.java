@@ -0,0 +1,95 @@
+package com.legalfirm.automation.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Receives the local-tier invalidations other nodes publish to Redis and applies them
+ * through {@link TwoTierCacheManager#evictLocal}.
+ * <p>
+ * The listener container gives up if Redis is unreachable when it starts, so the first
+ * subscription is retried from a virtual thread and nodes start without Redis. Once
+ * subscribed, the container recovers from lost connections itself.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "application.cache.redis.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class RedisCacheInvalidationSubscriber {
+
+    private final RedisConnectionFactory connectionFactory;
+    private final TwoTierCacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${application.cache.redis.channel:cache-invalidation}")
+    private String channel;
+
+    @Value("${application.cache.redis.retry-after:PT30S}")
+    private Duration retryAfter;
+
+    private RedisMessageListenerContainer container;
+    private volatile boolean running;
+    private Thread subscriber;
+
+    @PostConstruct
+    public void init() {
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) -> {
+            try {
+                cacheManager.evictLocal(objectMapper.readValue(message.getBody(), TwoTierCacheInvalidation.class));
+            } catch (Exception ex) {
+                log.warn("Dropping malformed cache invalidation", ex);
+            }
+        }, new ChannelTopic(channel));
+        container.afterPropertiesSet();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        subscriber = Thread.ofVirtual().name("cache-invalidation-redis-subscriber").start(this::subscribe);
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        running = false;
+        if (subscriber != null) {
+            subscriber.interrupt();
+        }
+        container.destroy();
+    }
+
+    private void subscribe() {
+        while (running) {
+            try {
+                container.start();
+                log.info("Listening for cache invalidations on Redis channel {}", channel);
+                return;
+            } catch (RuntimeException ex) {
+                // A failed start leaves the container marked as started
+                container.stop();
+                log.warn("Could not subscribe to Redis channel {}, retrying in {}: {}", channel, retryAfter, ex.getMessage());
+            }
+            try {
+                Thread.sleep(retryAfter);
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
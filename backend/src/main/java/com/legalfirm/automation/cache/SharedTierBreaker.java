@@ -0,0 +1,59 @@
+package com.legalfirm.automation.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Skips the shared tier for {@code retryAfter} once an operation on it failed, so a
+ * Redis outage costs one timeout per interval rather than one per cache operation.
+ * Evictions are lost while it is open, so the shared tier is cleared when it recovers.
+ */
+@Slf4j
+class SharedTierBreaker {
+
+    private final long retryAfterNanos;
+    private final Runnable onRecovery;
+    private volatile boolean open;
+    private volatile long openedAt;
+
+    SharedTierBreaker(Duration retryAfter, Runnable onRecovery) {
+        this.retryAfterNanos = retryAfter.toNanos();
+        this.onRecovery = onRecovery;
+    }
+
+    <T> T call(Supplier<T> operation, T fallback) {
+        if (open && System.nanoTime() - openedAt < retryAfterNanos) {
+            return fallback;
+        }
+        T result;
+        try {
+            result = operation.get();
+        } catch (RuntimeException ex) {
+            if (!open) {
+                log.warn("Shared cache tier unavailable, using local caches only for {} ms: {}",
+                        retryAfterNanos / 1_000_000, ex.getMessage());
+            }
+            openedAt = System.nanoTime();
+            open = true;
+            return fallback;
+        }
+        if (open) {
+            open = false;
+            log.info("Shared cache tier available again, clearing entries that may have missed evictions");
+            call(() -> {
+                onRecovery.run();
+                return null;
+            }, null);
+        }
+        return result;
+    }
+
+    void run(Runnable operation) {
+        call(() -> {
+            operation.run();
+            return null;
+        }, null);
+    }
+}
@@ -0,0 +1,137 @@
+package com.legalfirm.automation.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+
+/**
+ * A per-node Caffeine tier in front of an optional shared Redis tier.
+ * <p>
+ * Reads try the local tier first and fill it from Redis. Puts, evictions and clears
+ * go to both tiers. Evictions and clears also tell the other nodes to drop their
+ * local copy; puts do not, as they are only cache fills after a miss (nothing uses
+ * {@code @CachePut}). Keys are kept as strings in both tiers, so invalidations
+ * received by name match. A failing Redis is skipped through the
+ * {@link SharedTierBreaker}; the cache then works from the local tier alone.
+ */
+public class TwoTierCache implements Cache {
+
+    private final CaffeineCache local;
+    private final Cache shared;
+    private final SharedTierBreaker breaker;
+    private final Consumer<TwoTierCacheInvalidation> publisher;
+
+    TwoTierCache(CaffeineCache local, Cache shared, SharedTierBreaker breaker,
+                 Consumer<TwoTierCacheInvalidation> publisher) {
+        this.local = local;
+        this.shared = shared;
+        this.breaker = breaker;
+        this.publisher = publisher;
+    }
+
+    @Override
+    public String getName() {
+        return local.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local.getNativeCache();
+    }
+
+    public CaffeineCache getLocalCache() {
+        return local;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String cacheKey = key.toString();
+        ValueWrapper value = local.get(cacheKey);
+        if (value == null && shared != null) {
+            value = breaker.call(() -> shared.get(cacheKey), null);
+            if (value != null) {
+                local.put(cacheKey, value.get());
+            }
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        Object cached = value != null ? value.get() : null;
+        if (cached != null && type != null && !type.isInstance(cached)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + cached);
+        }
+        return (T) cached;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String cacheKey = key.toString();
+        return local.get(cacheKey, () -> {
+            ValueWrapper value = shared != null ? breaker.call(() -> shared.get(cacheKey), null) : null;
+            if (value != null) {
+                return (T) value.get();
+            }
+            T loaded = valueLoader.call();
+            if (shared != null) {
+                breaker.run(() -> shared.put(cacheKey, loaded));
+            }
+            return loaded;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String cacheKey = key.toString();
+        if (shared != null) {
+            breaker.run(() -> shared.put(cacheKey, value));
+        }
+        local.put(cacheKey, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String cacheKey = key.toString();
+        if (shared != null) {
+            breaker.run(() -> shared.evict(cacheKey));
+        }
+        local.evict(cacheKey);
+        publisher.accept(TwoTierCacheInvalidation.of(getName(), cacheKey));
+    }
+
+    @Override
+    public void clear() {
+        if (shared != null) {
+            breaker.run(() -> shared.clear());
+        }
+        local.clear();
+        publisher.accept(TwoTierCacheInvalidation.of(getName(), null));
+    }
+
+    /**
+     * Applies an invalidation from another node to the local tier only; the shared
+     * tier was already updated by the sender.
+     */
+    void evictLocal(String key) {
+        if (key == null) {
+            local.clear();
+        } else {
+            local.evict(key);
+        }
+    }
+
+    /**
+     * Empties the shared tier only, after it may have missed evictions.
+     */
+    void clearShared() {
+        if (shared != null) {
+            shared.clear();
+        }
+    }
+}
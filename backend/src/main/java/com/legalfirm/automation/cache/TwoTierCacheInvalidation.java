@@ -0,0 +1,20 @@
+package com.legalfirm.automation.cache;
+
+import java.util.UUID;
+
+/**
+ * Tells other nodes to drop an entry, or with a {@code null} key all entries, of
+ * their local tier of a {@link TwoTierCache}. {@code origin} identifies the sending node.
+ */
+public record TwoTierCacheInvalidation(String origin, String cacheName, String key) {
+
+    private static final String LOCAL_ORIGIN = UUID.randomUUID().toString();
+
+    public static TwoTierCacheInvalidation of(String cacheName, String key) {
+        return new TwoTierCacheInvalidation(LOCAL_ORIGIN, cacheName, key);
+    }
+
+    public boolean isLocal() {
+        return LOCAL_ORIGIN.equals(origin);
+    }
+}
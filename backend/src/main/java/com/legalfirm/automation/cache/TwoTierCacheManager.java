@@ -0,0 +1,70 @@
+package com.legalfirm.automation.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Creates {@link TwoTierCache}s: a Caffeine tier per node, backed by Redis when a
+ * {@link RedisCacheManager} is given and local-only otherwise. Cache operations run
+ * after the surrounding transaction commits. Invalidations are published, like
+ * operations on the shared tier, through one {@link SharedTierBreaker}.
+ */
+public class TwoTierCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    private final Collection<String> cacheNames;
+    private final Caffeine<Object, Object> localSpec;
+    private final RedisCacheManager sharedCacheManager;
+    private final SharedTierBreaker breaker;
+    private final Consumer<TwoTierCacheInvalidation> publisher;
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(Collection<String> cacheNames, Caffeine<Object, Object> localSpec,
+                               RedisCacheManager sharedCacheManager, Duration sharedRetryAfter,
+                               Consumer<TwoTierCacheInvalidation> publisher) {
+        this.cacheNames = List.copyOf(cacheNames);
+        this.localSpec = localSpec;
+        this.sharedCacheManager = sharedCacheManager;
+        this.breaker = new SharedTierBreaker(sharedRetryAfter, () -> caches.values().forEach(TwoTierCache::clearShared));
+        this.publisher = invalidation -> breaker.run(() -> publisher.accept(invalidation));
+        setTransactionAware(true);
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return cacheNames.stream().map(this::createCache).toList();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        return createCache(name);
+    }
+
+    /**
+     * Drops what another node changed from the local tier; invalidations sent by
+     * this node are ignored.
+     */
+    public void evictLocal(TwoTierCacheInvalidation invalidation) {
+        TwoTierCache cache = caches.get(invalidation.cacheName());
+        if (cache != null && !invalidation.isLocal()) {
+            cache.evictLocal(invalidation.key());
+        }
+    }
+
+    private TwoTierCache createCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> new TwoTierCache(
+                new CaffeineCache(cacheName, localSpec.build(), false),
+                sharedCacheManager != null ? sharedCacheManager.getCache(cacheName) : null,
+                breaker,
+                publisher));
+    }
+}
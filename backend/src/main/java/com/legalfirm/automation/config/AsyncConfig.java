@@ -0,0 +1,60 @@
+package com.legalfirm.automation.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Background executors for work that must not run on request threads
+ */
+@Slf4j
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    @Value("${application.search.indexing-threads:2}")
+    private int indexingThreads;
+
+    @Value("${application.search.indexing-queue-capacity:500}")
+    private int indexingQueueCapacity;
+
+    @Value("${application.reminders.delivery-threads:2}")
+    private int reminderDeliveryThreads;
+
+    @Bean(name = "documentIndexExecutor")
+    public Executor documentIndexExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(indexingThreads);
+        executor.setMaxPoolSize(indexingThreads);
+        executor.setQueueCapacity(indexingQueueCapacity);
+        executor.setThreadNamePrefix("doc-index-");
+        // Never push indexing back onto the upload request; missed documents are picked up by the catch-up
+        executor.setRejectedExecutionHandler((task, pool) ->
+                log.warn("Document indexing queue is full, dropping task. Queue size: {}", pool.getQueue().size()));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "hearingReminderExecutor")
+    public Executor hearingReminderExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(reminderDeliveryThreads);
+        executor.setMaxPoolSize(reminderDeliveryThreads);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("hearing-reminder-");
+        // Reminders must not be dropped; a full queue slows the wheel clock down instead
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,124 @@
+package com.legalfirm.automation.config;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.legalfirm.automation.cache.TwoTierCache;
+import com.legalfirm.automation.cache.TwoTierCacheInvalidation;
+import com.legalfirm.automation.cache.TwoTierCacheManager;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Spring Cache for hot read services, in two tiers: a short-lived Caffeine cache on
+ * each node in front of a shared Redis cache. Changes travel to the other nodes'
+ * local tiers over Redis pub/sub ({@link com.legalfirm.automation.cache.RedisCacheInvalidationSubscriber}). Without Redis ({@code application.cache.redis.enabled}
+ * off) only the local tier is used, and other nodes' copies expire after the local TTL.
+ */
+@Slf4j
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CLIENT_DETAILS = "client-details";
+    public static final String USER_DETAILS = "user-details";
+    public static final String RECENT_CASES = "dashboard-recent-cases";
+
+    private static final List<String> CACHE_NAMES = List.of(CLIENT_DETAILS, USER_DETAILS, RECENT_CASES);
+
+    @Value("${application.cache.local.ttl:PT30S}")
+    private Duration localTtl;
+
+    @Value("${application.cache.local.maximum-size:10000}")
+    private long localMaximumSize;
+
+    @Value("${application.cache.redis.enabled:false}")
+    private boolean redisEnabled;
+
+    @Value("${application.cache.redis.ttl:PT10M}")
+    private Duration redisTtl;
+
+    @Value("${application.cache.redis.channel:cache-invalidation}")
+    private String channel;
+
+    @Value("${application.cache.redis.retry-after:PT30S}")
+    private Duration retryAfter;
+
+    @Bean
+    public TwoTierCacheManager cacheManager(ObjectProvider<RedisConnectionFactory> connectionFactory,
+                                            ObjectProvider<StringRedisTemplate> redisTemplate,
+                                            ObjectMapper objectMapper) {
+        Caffeine<Object, Object> localSpec = Caffeine.newBuilder()
+                .expireAfterWrite(localTtl)
+                .maximumSize(localMaximumSize)
+                .recordStats();
+        if (!redisEnabled) {
+            log.info("Application cache runs local only");
+            return new TwoTierCacheManager(CACHE_NAMES, localSpec, null, retryAfter, invalidation -> { });
+        }
+
+        RedisCacheManager sharedCacheManager = RedisCacheManager.builder(connectionFactory.getObject())
+                .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig()
+                        .entryTtl(redisTtl)
+                        .disableCachingNullValues()
+                        .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                                new GenericJackson2JsonRedisSerializer(cacheObjectMapper(objectMapper)))))
+                .initialCacheNames(Set.copyOf(CACHE_NAMES))
+                .build();
+        sharedCacheManager.initializeCaches();
+        return new TwoTierCacheManager(CACHE_NAMES, localSpec, sharedCacheManager, retryAfter,
+                publisher(redisTemplate.getObject(), objectMapper));
+    }
+
+    /**
+     * Hit, miss and eviction metrics of the local tier ({@code cache.gets} and friends,
+     * tagged with the cache name).
+     */
+    @Bean
+    public CacheMeterBinderProvider<TwoTierCache> twoTierCacheMeterBinderProvider() {
+        return (cache, tags) -> new CaffeineCacheMetrics<>(cache.getLocalCache().getNativeCache(), cache.getName(), tags);
+    }
+
+    private Consumer<TwoTierCacheInvalidation> publisher(StringRedisTemplate redisTemplate, ObjectMapper objectMapper) {
+        return invalidation -> {
+            try {
+                redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(invalidation));
+            } catch (JsonProcessingException ex) {
+                throw new IllegalStateException("Could not serialize cache invalidation", ex);
+            }
+        };
+    }
+
+    /**
+     * Values are stored with their type, restricted to the application's DTOs and
+     * JDK collections.
+     */
+    private static ObjectMapper cacheObjectMapper(ObjectMapper objectMapper) {
+        ObjectMapper mapper = objectMapper.copy();
+        mapper.activateDefaultTyping(BasicPolymorphicTypeValidator.builder()
+                        .allowIfSubType("com.legalfirm.automation.dto.")
+                        .allowIfSubType("java.util.")
+                        .build(),
+                ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        return mapper;
+    }
+}
@@ -0,0 +1,67 @@
+package com.legalfirm.automation.config;
+
+import com.legalfirm.automation.datasource.RecentWriters;
+import com.legalfirm.automation.datasource.ReplicaPool;
+import com.legalfirm.automation.datasource.ReplicaRoutingDataSource;
+import com.legalfirm.automation.datasource.WriteTrackingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Sends read-only transactions of authenticated users to the read replicas
+ * ({@link ReplicaPool}) while everything else stays on the primary.
+ * <p>
+ * The data source is wrapped in a {@link LazyConnectionDataSourceProxy}, which takes
+ * the real connection only at the first statement. By then the transaction manager
+ * has marked the connection read-only for {@code @Transactional(readOnly = true)},
+ * and the proxy takes it from {@link ReplicaRoutingDataSource} instead of the
+ * primary. Read-only transactions joining a read-write one share its connection on
+ * the primary.
+ * <p>
+ * The wrapping happens before {@link ConnectionHoldTimeConfig}'s, so
+ * {@code db.connection.hold} still measures from transaction start to end, for
+ * replica and primary connections alike.
+ */
+@Configuration
+@ConditionalOnProperty(name = "application.datasource.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    public static BeanPostProcessor readReplicaRoutingPostProcessor(ObjectProvider<ReplicaPool> replicaPool,
+                                                                    ObjectProvider<RecentWriters> recentWriters,
+                                                                    ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ReadReplicaRoutingPostProcessor(replicaPool, recentWriters, meterRegistry);
+    }
+
+    // Ordered post-processors run before unordered ones such as the hold-time wrapper
+    private record ReadReplicaRoutingPostProcessor(ObjectProvider<ReplicaPool> replicaPool,
+                                                   ObjectProvider<RecentWriters> recentWriters,
+                                                   ObjectProvider<MeterRegistry> meterRegistry)
+            implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource primary && !(bean instanceof LazyConnectionDataSourceProxy)) {
+                LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy();
+                proxy.setTargetDataSource(new WriteTrackingDataSource(primary, recentWriters));
+                proxy.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, replicaPool, recentWriters, meterRegistry));
+                proxy.afterPropertiesSet();
+                return proxy;
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.legalfirm.automation.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the background maintenance jobs (storage reconciliation etc.)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,5 +1,6 @@
 package com.legalfirm.automation.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -43,12 +44,17 @@ public class SecurityConfig {
 
                 // Authorization rules
                 .authorizeHttpRequests(auth -> auth
+                        // Streamed responses finish on an async dispatch; the request was authorized on the way in
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Public endpoints - NO AUTHENTICATION REQUIRED
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/test/**").permitAll()  // Test endpoints
                         .requestMatchers("/error").permitAll()
                         .requestMatchers("/actuator/health").permitAll()
                         .requestMatchers("/h2-console/**").permitAll() // H2 console for dev
+                        .requestMatchers("/api/calendar/lawyers/*/hearings.ics").permitAll() // Signed feed token instead of JWT
+                        .requestMatchers("/ws/**").permitAll() // JWT is checked by the handshake interceptor
 
                         // Dashboard endpoints - require authentication
                         .requestMatchers("/api/dashboard/**").hasAnyRole("LAWYER", "ADMIN", "PARALEGAL")
@@ -56,6 +62,7 @@ public class SecurityConfig {
                         // Admin only endpoints
                         .requestMatchers("/api/users/**").hasRole("ADMIN")
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/api/storage/rebuild").hasRole("ADMIN")
 
                         // Lawyer and Admin can access most resources
                         .requestMatchers("/api/cases/**").hasAnyRole("LAWYER", "ADMIN")
@@ -63,6 +70,9 @@ public class SecurityConfig {
                         .requestMatchers("/api/documents/**").hasAnyRole("LAWYER", "ADMIN", "PARALEGAL")
                         .requestMatchers("/api/hearings/**").hasAnyRole("LAWYER", "ADMIN", "PARALEGAL")
                         .requestMatchers("/api/messages/**").hasAnyRole("LAWYER", "ADMIN", "PARALEGAL")
+                        .requestMatchers("/api/search/**").hasAnyRole("LAWYER", "ADMIN", "PARALEGAL")
+                        .requestMatchers("/api/storage/**").hasAnyRole("LAWYER", "ADMIN")
+                        .requestMatchers("/api/calendar/**").hasAnyRole("LAWYER", "ADMIN")
 
                         // All other requests require authentication
                         .anyRequest().authenticated()
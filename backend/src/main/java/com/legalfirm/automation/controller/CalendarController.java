@@ -0,0 +1,60 @@
+package com.legalfirm.automation.controller;
+
+import com.legalfirm.automation.dto.response.CalendarSubscriptionResponse;
+import com.legalfirm.automation.service.CalendarFeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/calendar")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class CalendarController {
+
+    private static final MediaType TEXT_CALENDAR = MediaType.parseMediaType("text/calendar;charset=UTF-8");
+
+    private final CalendarFeedService calendarFeedService;
+
+    @GetMapping("/subscription")
+    public ResponseEntity<CalendarSubscriptionResponse> getSubscription(
+            @RequestParam(required = false) UUID lawyerId) {
+        String baseUrl = ServletUriComponentsBuilder.fromCurrentContextPath().toUriString();
+        return ResponseEntity.ok(calendarFeedService.getSubscription(lawyerId, baseUrl));
+    }
+
+    @PostMapping("/subscription/revoke")
+    public ResponseEntity<CalendarSubscriptionResponse> revokeSubscription(
+            @RequestParam(required = false) UUID lawyerId) {
+        String baseUrl = ServletUriComponentsBuilder.fromCurrentContextPath().toUriString();
+        return ResponseEntity.ok(calendarFeedService.revokeSubscription(lawyerId, baseUrl));
+    }
+
+    @GetMapping("/lawyers/{lawyerId}/hearings.ics")
+    public ResponseEntity<byte[]> getHearingsFeed(
+            @PathVariable UUID lawyerId,
+            @RequestParam String token,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        CalendarFeedService.Feed feed = calendarFeedService.getFeed(lawyerId, token);
+        // Clients must revalidate, but the revalidation is answered from the cached feed
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        if (feed.etag().equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(feed.etag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(feed.etag())
+                .cacheControl(cacheControl)
+                .contentType(TEXT_CALENDAR)
+                .body(feed.body());
+    }
+}
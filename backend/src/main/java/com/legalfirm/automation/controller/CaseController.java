@@ -4,8 +4,10 @@ import com.legalfirm.automation.dto.request.CaseAssignmentRequest;
 import com.legalfirm.automation.dto.request.CaseRequest;
 import com.legalfirm.automation.dto.request.CaseStatusUpdateRequest;
 import com.legalfirm.automation.dto.response.*;
+import com.legalfirm.automation.entity.User;
 import com.legalfirm.automation.enums.CaseStatus;
 import com.legalfirm.automation.service.CaseService;
+import com.legalfirm.automation.service.CaseTimelineService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
@@ -15,6 +17,7 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
@@ -30,6 +33,7 @@ import java.util.UUID;
 public class CaseController {
 
     private final CaseService caseService;
+    private final CaseTimelineService caseTimelineService;
 
     @GetMapping("/getAll")
     public ResponseEntity<PageResponse<CaseResponse>> getAllCases(
@@ -129,6 +133,15 @@ public class CaseController {
         return ResponseEntity.ok(caseService.getCaseHistory(id));
     }
 
+    @GetMapping("/{id}/timeline")
+    public ResponseEntity<CursorPageResponse<TimelineEntryResponse>> getCaseTimeline(
+            @AuthenticationPrincipal User user,
+            @PathVariable UUID id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(caseTimelineService.getTimeline(id, user.getId(), cursor, size));
+    }
+
     @GetMapping("/{id}/documents")
     public ResponseEntity<List<DocumentResponse>> getCaseDocuments(@PathVariable UUID id) {
         return ResponseEntity.ok(caseService.getCaseDocuments(id));
@@ -2,14 +2,17 @@ package com.legalfirm.automation.controller;
 
 import com.legalfirm.automation.dto.response.CaseResponse;
 import com.legalfirm.automation.dto.response.HearingResponse;
+import com.legalfirm.automation.dto.response.RecentCaseResponse;
 import com.legalfirm.automation.service.CaseService;
 import com.legalfirm.automation.service.ClientService;
+import com.legalfirm.automation.service.DashboardService;
 import com.legalfirm.automation.service.HearingService;
 import com.legalfirm.automation.repository.CaseRepository;
 import com.legalfirm.automation.repository.ClientRepository;
 import com.legalfirm.automation.repository.HearingRepository;
 import com.legalfirm.automation.enums.CaseStatus;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -27,6 +30,7 @@ public class DashboardController {
     private final CaseRepository caseRepository;
     private final ClientRepository clientRepository;
     private final HearingRepository hearingRepository;
+    private final DashboardService dashboardService;
 
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getDashboardStats() {
@@ -42,7 +46,7 @@ public class DashboardController {
         long totalClients = clientRepository.count();
 
         // Get upcoming hearings count
-        long upcomingHearings = hearingRepository.findUpcomingHearings().size();
+        long upcomingHearings = hearingRepository.countUpcomingHearings();
 
         stats.put("totalCases", totalCases);
         stats.put("openCases", openCases);
@@ -55,28 +59,13 @@ public class DashboardController {
     }
 
     @GetMapping("/recent-cases")
-    public ResponseEntity<List<Map<String, Object>>> getRecentCases() {
-        List<com.legalfirm.automation.entity.Case> recentCases = caseRepository.findTop5ByOrderByCreatedAtDesc();
-
-        List<Map<String, Object>> response = recentCases.stream().map(case_ -> {
-            Map<String, Object> caseMap = new HashMap<>();
-            caseMap.put("id", case_.getId());
-            caseMap.put("title", case_.getTitle());
-            caseMap.put("status", case_.getStatus());
-            caseMap.put("client", case_.getClient().getName());
-            caseMap.put("createdAt", case_.getCreatedAt());
-            return caseMap;
-        }).toList();
-
-        return ResponseEntity.ok(response);
+    public ResponseEntity<List<RecentCaseResponse>> getRecentCases() {
+        return ResponseEntity.ok(dashboardService.getRecentCases());
     }
 
     @GetMapping("/upcoming-hearings")
     public ResponseEntity<List<Map<String, Object>>> getUpcomingHearings() {
-        List<com.legalfirm.automation.entity.Hearing> upcomingHearings = hearingRepository.findUpcomingHearings()
-                .stream()
-                .limit(5)
-                .toList();
+        List<com.legalfirm.automation.entity.Hearing> upcomingHearings = hearingRepository.findUpcomingHearings(Limit.of(5));
 
         List<Map<String, Object>> response = upcomingHearings.stream().map(hearing -> {
             Map<String, Object> hearingMap = new HashMap<>();
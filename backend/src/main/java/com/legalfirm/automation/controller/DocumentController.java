@@ -1,6 +1,7 @@
 package com.legalfirm.automation.controller;
 
 import com.legalfirm.automation.dto.response.DocumentResponse;
+import com.legalfirm.automation.dto.response.DocumentSearchResult;
 import com.legalfirm.automation.dto.response.PageResponse;
 import com.legalfirm.automation.entity.User;
 import com.legalfirm.automation.service.DocumentService;
@@ -37,6 +38,14 @@ public class DocumentController {
         return ResponseEntity.ok(documentService.getAllDocuments(pageable));
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<List<DocumentSearchResult>> searchDocuments(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) UUID caseId,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(documentService.searchDocuments(query, caseId, Math.min(size, 100)));
+    }
+
     @GetMapping("/case/{caseId}")
     public ResponseEntity<List<DocumentResponse>> getDocumentsByCase(@PathVariable UUID caseId) {
         return ResponseEntity.ok(documentService.getDocumentsByCase(caseId));
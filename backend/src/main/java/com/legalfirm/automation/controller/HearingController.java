@@ -1,9 +1,14 @@
 package com.legalfirm.automation.controller;
 
+import com.legalfirm.automation.dto.request.BulkRescheduleRequest;
 import com.legalfirm.automation.dto.request.HearingRequest;
+import com.legalfirm.automation.dto.response.AvailabilityResponse;
+import com.legalfirm.automation.dto.response.BulkRescheduleResponse;
+import com.legalfirm.automation.dto.response.HearingConflictResponse;
 import com.legalfirm.automation.dto.response.HearingResponse;
 import com.legalfirm.automation.dto.response.PageResponse;
 import com.legalfirm.automation.service.HearingService;
+import com.legalfirm.automation.service.LawyerAvailabilityService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
@@ -11,9 +16,12 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -25,12 +33,29 @@ import java.util.UUID;
 public class HearingController {
 
     private final HearingService hearingService;
+    private final LawyerAvailabilityService lawyerAvailabilityService;
 
     @GetMapping
     public ResponseEntity<List<HearingResponse>> getAllHearings() {
         return ResponseEntity.ok(hearingService.getAllHearings());
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<PageResponse<HearingResponse>> getHearings(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "date", "id"));
+        return ResponseEntity.ok(hearingService.getHearings(pageable));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamHearings() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(hearingService::streamAllHearings);
+    }
+
     @GetMapping("/upcoming")
     public ResponseEntity<PageResponse<HearingResponse>> getUpcomingHearings(
             @RequestParam(defaultValue = "0") int page,
@@ -52,6 +77,28 @@ public class HearingController {
         return ResponseEntity.ok(hearingService.getHearingsBetweenDates(startDate, endDate));
     }
 
+    @GetMapping("/availability")
+    public ResponseEntity<AvailabilityResponse> getAvailability(
+            @RequestParam List<UUID> lawyerIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Integer minDurationMinutes) {
+        return ResponseEntity.ok(lawyerAvailabilityService.getAvailability(
+                lawyerIds, startDate, endDate, minDurationMinutes));
+    }
+
+    @GetMapping("/conflicts")
+    public ResponseEntity<List<HearingConflictResponse>> getConflicts(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        return ResponseEntity.ok(hearingService.getConflicts(startDate, endDate));
+    }
+
+    @PostMapping("/reschedule")
+    public ResponseEntity<BulkRescheduleResponse> bulkReschedule(@Valid @RequestBody BulkRescheduleRequest request) {
+        return ResponseEntity.ok(hearingService.bulkReschedule(request));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<HearingResponse> getHearingById(@PathVariable UUID id) {
         return ResponseEntity.ok(hearingService.getHearingById(id));
@@ -1,6 +1,8 @@
 package com.legalfirm.automation.controller;
 
 import com.legalfirm.automation.dto.request.MessageRequest;
+import com.legalfirm.automation.dto.response.ConversationSummaryResponse;
+import com.legalfirm.automation.dto.response.CursorPageResponse;
 import com.legalfirm.automation.dto.response.MessageResponse;
 import com.legalfirm.automation.dto.response.PageResponse;
 import com.legalfirm.automation.entity.User;
@@ -16,7 +18,6 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -38,11 +39,24 @@ public class MessageController {
         return ResponseEntity.ok(messageService.getUserMessages(user.getId(), pageable));
     }
 
+    @GetMapping("/inbox")
+    public ResponseEntity<PageResponse<ConversationSummaryResponse>> getInbox(
+            @AuthenticationPrincipal User user,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        Pageable pageable = PageRequest.of(page, size,
+                Sort.by(Sort.Direction.DESC, "lastMessageAt").and(Sort.by(Sort.Direction.DESC, "id")));
+        return ResponseEntity.ok(messageService.getInbox(user.getId(), pageable));
+    }
+
     @GetMapping("/{userId}")
-    public ResponseEntity<List<MessageResponse>> getConversation(
+    public ResponseEntity<CursorPageResponse<MessageResponse>> getConversation(
             @AuthenticationPrincipal User user,
-            @PathVariable UUID userId) {
-        return ResponseEntity.ok(messageService.getConversation(user.getId(), userId));
+            @PathVariable UUID userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(messageService.getConversation(user.getId(), userId, cursor, size));
     }
 
     @PostMapping
@@ -61,6 +75,16 @@ public class MessageController {
         return ResponseEntity.ok().build();
     }
 
+    @PutMapping("/{userId}/read-all")
+    public ResponseEntity<Map<String, Long>> markConversationAsRead(
+            @AuthenticationPrincipal User user,
+            @PathVariable UUID userId) {
+        Map<String, Long> response = new HashMap<>();
+        response.put("markedRead", (long) messageService.markConversationAsRead(user.getId(), userId));
+        response.put("unreadCount", messageService.getUnreadMessagesCount(user.getId()));
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/unread/count")
     public ResponseEntity<Map<String, Long>> getUnreadCount(@AuthenticationPrincipal User user) {
         Map<String, Long> response = new HashMap<>();
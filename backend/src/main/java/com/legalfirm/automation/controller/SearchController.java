@@ -0,0 +1,31 @@
+package com.legalfirm.automation.controller;
+
+import com.legalfirm.automation.dto.response.CursorPageResponse;
+import com.legalfirm.automation.dto.response.MessageNoteSearchResult;
+import com.legalfirm.automation.entity.User;
+import com.legalfirm.automation.enums.SearchResultType;
+import com.legalfirm.automation.service.MessageNoteSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class SearchController {
+
+    private final MessageNoteSearchService messageNoteSearchService;
+
+    @GetMapping
+    public ResponseEntity<CursorPageResponse<MessageNoteSearchResult>> search(
+            @AuthenticationPrincipal User user,
+            @RequestParam("q") String query,
+            @RequestParam(required = false) SearchResultType type,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(messageNoteSearchService.search(
+                query, type, user.getId(), cursor, Math.max(1, Math.min(size, 100))));
+    }
+}
@@ -0,0 +1,47 @@
+package com.legalfirm.automation.controller;
+
+import com.legalfirm.automation.dto.response.PageResponse;
+import com.legalfirm.automation.dto.response.StorageUsageResponse;
+import com.legalfirm.automation.service.StorageUsageService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/storage")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class StorageController {
+
+    private final StorageUsageService storageUsageService;
+
+    @GetMapping("/cases/{caseId}")
+    public ResponseEntity<StorageUsageResponse> getCaseUsage(@PathVariable UUID caseId) {
+        return ResponseEntity.ok(storageUsageService.getCaseUsage(caseId));
+    }
+
+    @GetMapping("/clients/{clientId}")
+    public ResponseEntity<StorageUsageResponse> getClientUsage(@PathVariable UUID clientId) {
+        return ResponseEntity.ok(storageUsageService.getClientUsage(clientId));
+    }
+
+    @GetMapping("/clients")
+    public ResponseEntity<PageResponse<StorageUsageResponse>> getClientUsages(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "totalBytes"));
+        return ResponseEntity.ok(storageUsageService.getClientUsages(pageable));
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<Void> rebuild() {
+        storageUsageService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+}
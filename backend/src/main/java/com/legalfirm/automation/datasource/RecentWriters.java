@@ -0,0 +1,84 @@
+package com.legalfirm.automation.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Users whose write transaction committed within the read-your-writes window. Their
+ * read-only transactions stay on the primary until the replicas have caught up, so
+ * a user never reads a replica that does not have their own change yet.
+ * <p>
+ * A replica stays in rotation while it is at most {@code max-lag} behind, and a
+ * replica that falls further behind is only taken out at the next health check.
+ * The window must therefore cover {@code max-lag} plus {@code health-check-interval};
+ * that is its default, and a shorter one fails startup.
+ * <p>
+ * Kept per node: with several nodes behind a load balancer without session
+ * affinity, a read on another node may still see the replica's older state.
+ */
+@Component
+@ConditionalOnProperty(name = "application.datasource.replicas.enabled", havingValue = "true")
+public class RecentWriters {
+
+    @Value("${application.datasource.replicas.read-your-writes-window:}")
+    private Duration window;
+
+    @Value("${application.datasource.replicas.max-lag:PT10S}")
+    private Duration maxLag;
+
+    @Value("${application.datasource.replicas.health-check-interval:PT5S}")
+    private Duration healthCheckInterval;
+
+    private Cache<String, Boolean> writers;
+
+    @PostConstruct
+    public void init() {
+        Duration minimum = maxLag.plus(healthCheckInterval);
+        if (window == null) {
+            window = minimum;
+        } else if (window.compareTo(minimum) < 0) {
+            throw new IllegalStateException("application.datasource.replicas.read-your-writes-window (" + window
+                    + ") must be at least max-lag plus health-check-interval (" + minimum + ")");
+        }
+        writers = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    public void recordWrite() {
+        String user = currentUser();
+        if (user != null) {
+            writers.put(user, Boolean.TRUE);
+        }
+    }
+
+    public boolean wroteRecently() {
+        String user = currentUser();
+        return user != null && writers.getIfPresent(user) != null;
+    }
+
+    /**
+     * Requests are authenticated statelessly, so the principal name is what ties a
+     * user's requests together. Work outside a request (scheduled jobs, listeners)
+     * and anonymous requests have no user; {@link ReplicaRoutingDataSource} keeps
+     * them on the primary.
+     */
+    static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
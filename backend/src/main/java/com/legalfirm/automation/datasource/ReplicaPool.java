@@ -0,0 +1,181 @@
+package com.legalfirm.automation.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connection pools of the read replicas ({@code application.datasource.replicas.urls}),
+ * handed out round-robin among the ones that passed their last health check.
+ * <p>
+ * The check runs every {@code health-check-interval}: a replica that cannot be
+ * reached, or whose replay is more than {@code max-lag} behind the primary, is
+ * skipped until a later check passes. Replicas start out unavailable, so reads
+ * use the primary until the first check.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "application.datasource.replicas.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReplicaPool {
+
+    // Replay lag in seconds; 0 when everything received has been replayed, or when the
+    // database is not a standby at all (a second primary standing in for a replica)
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE coalesce(extract(epoch FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END""";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.datasource.replicas.urls:}")
+    private List<String> urls;
+
+    @Value("${application.datasource.replicas.username:${spring.datasource.username}}")
+    private String username;
+
+    @Value("${application.datasource.replicas.password:${spring.datasource.password}}")
+    private String password;
+
+    @Value("${application.datasource.replicas.maximum-pool-size:20}")
+    private int maximumPoolSize;
+
+    @Value("${application.datasource.replicas.minimum-idle:5}")
+    private int minimumIdle;
+
+    @Value("${application.datasource.replicas.connection-timeout:PT2S}")
+    private Duration connectionTimeout;
+
+    @Value("${application.datasource.replicas.max-lag:PT10S}")
+    private Duration maxLag;
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    @PostConstruct
+    public void init() {
+        if (urls.isEmpty()) {
+            throw new IllegalStateException("application.datasource.replicas.urls must list at least one replica");
+        }
+        for (String url : urls) {
+            String name = "replica-" + (replicas.size() + 1);
+            Replica replica = new Replica(name, createPool(name, url));
+            replicas.add(replica);
+            Gauge.builder("db.replica.available", replica, r -> r.available ? 1 : 0)
+                    .description("Whether the replica passed its last health check")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+            Gauge.builder("db.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Replay lag of the replica at its last health check")
+                    .tag("replica", replica.name)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            log.info("Read replica {} at {}", replica.name, url);
+        }
+    }
+
+    /**
+     * The next available replica, or {@code null} when none is.
+     */
+    Replica next() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.available) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Takes a replica out of rotation after a failed checkout, until the next check.
+     */
+    void markUnavailable(Replica replica, SQLException cause) {
+        if (replica.available) {
+            replica.available = false;
+            log.warn("Read replica {} unavailable: {}", replica.name, cause.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.datasource.replicas.health-check-interval:PT5S}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean available;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+                rs.next();
+                replica.lagSeconds = rs.getDouble(1);
+                available = replica.lagSeconds * 1000 <= maxLag.toMillis();
+                if (!available && replica.available) {
+                    log.warn("Read replica {} is {} s behind, reading from the primary", replica.name, replica.lagSeconds);
+                }
+            } catch (SQLException ex) {
+                available = false;
+                if (replica.available) {
+                    log.warn("Read replica {} failed its health check: {}", replica.name, ex.getMessage());
+                }
+            }
+            if (available && !replica.available) {
+                log.info("Read replica {} available", replica.name);
+            }
+            replica.available = available;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private HikariDataSource createPool(String name, String url) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(name);
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(maximumPoolSize);
+        config.setMinimumIdle(Math.min(minimumIdle, maximumPoolSize));
+        config.setConnectionTimeout(connectionTimeout.toMillis());
+        config.setReadOnly(true);
+        // Start even when a replica is down; the health check keeps it out of rotation
+        config.setInitializationFailTimeout(-1);
+        // hikaricp.* pool metrics, tagged with the pool name
+        config.setMetricRegistry(meterRegistry);
+        return new HikariDataSource(config);
+    }
+
+    static final class Replica {
+
+        final String name;
+        final HikariDataSource dataSource;
+        volatile boolean available;
+        volatile double lagSeconds;
+
+        Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
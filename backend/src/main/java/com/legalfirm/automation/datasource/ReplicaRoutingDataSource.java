@@ -0,0 +1,81 @@
+package com.legalfirm.automation.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * The read-only side of the application's data source: a connection from the next
+ * available replica, or from the primary when the current user wrote within the
+ * read-your-writes window or no replica is available. Each checkout is counted as
+ * {@code db.replica.routing}, tagged with the route taken.
+ * <p>
+ * Only reads on behalf of an authenticated user go to a replica. Work without one
+ * (event listeners, scheduled jobs, token-authenticated calendar polls) often runs
+ * right after another transaction committed, and a replica up to {@code max-lag}
+ * behind would hand it the state from before that change.
+ * <p>
+ * Collaborators are looked up on first use, as this wraps the primary data source
+ * while the context is still being built.
+ */
+public class ReplicaRoutingDataSource extends DelegatingDataSource {
+
+    private final ObjectProvider<ReplicaPool> replicaPool;
+    private final ObjectProvider<RecentWriters> recentWriters;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public ReplicaRoutingDataSource(DataSource primary, ObjectProvider<ReplicaPool> replicaPool,
+                                    ObjectProvider<RecentWriters> recentWriters,
+                                    ObjectProvider<MeterRegistry> meterRegistry) {
+        super(primary);
+        this.replicaPool = replicaPool;
+        this.recentWriters = recentWriters;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (RecentWriters.currentUser() == null) {
+            count("no-user");
+            return super.getConnection();
+        }
+        if (recentWriters.getObject().wroteRecently()) {
+            count("recent-write");
+            return super.getConnection();
+        }
+        ReplicaPool pool = replicaPool.getObject();
+        for (ReplicaPool.Replica replica = pool.next(); replica != null; replica = pool.next()) {
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                count("replica");
+                return connection;
+            } catch (SQLException ex) {
+                pool.markUnavailable(replica, ex);
+            }
+        }
+        count("no-replica");
+        return super.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // Credentials only apply to the primary
+        return super.getConnection(username, password);
+    }
+
+    private void count(String route) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            Counter.builder("db.replica.routing")
+                    .description("Read-only connection checkouts by where they were routed")
+                    .tag("route", route)
+                    .register(registry)
+                    .increment();
+        }
+    }
+}
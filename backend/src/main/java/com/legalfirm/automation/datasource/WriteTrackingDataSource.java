@@ -0,0 +1,51 @@
+package com.legalfirm.automation.datasource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * The primary data source, recording the current user in {@link RecentWriters}
+ * whenever a read-write transaction commits on one of its connections. Any
+ * read-write transaction counts, whether or not it changed a row.
+ */
+public class WriteTrackingDataSource extends DelegatingDataSource {
+
+    private final ObjectProvider<RecentWriters> recentWriters;
+
+    public WriteTrackingDataSource(DataSource primary, ObjectProvider<RecentWriters> recentWriters) {
+        super(primary);
+        this.recentWriters = recentWriters;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return track(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return track(super.getConnection(username, password));
+    }
+
+    private Connection track(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+                    if ("commit".equals(method.getName()) && !connection.isReadOnly()) {
+                        recentWriters.getObject().recordWrite();
+                    }
+                    return result;
+                });
+    }
+}
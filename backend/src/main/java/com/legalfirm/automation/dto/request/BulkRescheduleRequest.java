@@ -0,0 +1,36 @@
+package com.legalfirm.automation.dto.request;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Selects hearings by id and/or by a date window (both criteria must match when
+ * both are given) and either shifts them by a number of minutes or moves them to
+ * another day keeping their time of day.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRescheduleRequest {
+    private List<UUID> hearingIds;
+
+    private LocalDateTime windowStart;
+
+    private LocalDateTime windowEnd;
+
+    private Long shiftMinutes;
+
+    private LocalDate newDate;
+
+    @Size(max = 500, message = "Reason cannot exceed 500 characters")
+    private String reason;
+}
@@ -2,6 +2,7 @@ package com.legalfirm.automation.dto.request;
 
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -19,6 +20,9 @@ public class HearingRequest {
     @Future(message = "Hearing date must be in the future")
     private LocalDateTime date;
     
+    @Positive(message = "Hearing duration must be positive")
+    private Integer durationMinutes;
+
     private String notes;
     
     @NotNull(message = "Case ID is required")
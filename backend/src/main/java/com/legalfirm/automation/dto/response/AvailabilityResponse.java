@@ -0,0 +1,21 @@
+package com.legalfirm.automation.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityResponse {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer slotMinutes;
+    private List<LawyerAvailabilityResponse> lawyers;
+    private List<TimeSlotResponse> commonFreeSlots;
+}
@@ -0,0 +1,19 @@
+package com.legalfirm.automation.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRescheduleResponse {
+    private int rescheduledCount;
+    private int casesAffected;
+    private int lawyersAffected;
+    private List<RescheduledHearingResponse> hearings;
+}
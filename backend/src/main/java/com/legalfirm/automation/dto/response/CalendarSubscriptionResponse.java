@@ -0,0 +1,19 @@
+package com.legalfirm.automation.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarSubscriptionResponse {
+    private UUID lawyerId;
+    private String lawyerName;
+    private String url;
+    private String token;
+}
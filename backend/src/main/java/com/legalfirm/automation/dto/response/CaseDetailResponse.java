@@ -32,4 +32,6 @@ public class CaseDetailResponse {
     private LocalDateTime updatedAt;
     private LocalDateTime nextHearingDate;
     private CaseStatistics statistics;
+    // Set when the case is served from the archive
+    private LocalDateTime archivedAt;
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Data
@@ -17,4 +18,6 @@ public class ClientResponse {
     private String contactInfo;
     private String address;
     private Integer totalCases;
+    private Integer openCases;
+    private LocalDateTime lastActivityAt;
 }
\ No newline at end of file
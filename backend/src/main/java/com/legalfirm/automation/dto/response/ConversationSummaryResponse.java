@@ -0,0 +1,22 @@
+package com.legalfirm.automation.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConversationSummaryResponse {
+    private UserResponse partner;
+    private UUID lastMessageId;
+    private UUID lastSenderId;
+    private String lastMessagePreview;
+    private LocalDateTime lastMessageAt;
+    private Long unreadCount;
+}
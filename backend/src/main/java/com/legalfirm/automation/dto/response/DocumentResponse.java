@@ -17,6 +17,7 @@ public class DocumentResponse {
     private String name;
     private String type;
     private Long fileSize;
+    private Boolean fileMissing;
     private LocalDateTime uploadDate;
     private UUID caseId;
     private String caseTitle;
@@ -0,0 +1,22 @@
+package com.legalfirm.automation.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HearingConflictResponse {
+    private UUID lawyerId;
+    private String lawyerName;
+    private HearingResponse hearing;
+    private HearingResponse conflictingHearing;
+    private LocalDateTime overlapStart;
+    private LocalDateTime overlapEnd;
+}
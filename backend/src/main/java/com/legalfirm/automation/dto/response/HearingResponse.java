@@ -15,6 +15,7 @@ import java.util.UUID;
 public class HearingResponse {
     private UUID id;
     private LocalDateTime date;
+    private Integer durationMinutes;
     private String notes;
     private UUID caseId;
     private String caseTitle;
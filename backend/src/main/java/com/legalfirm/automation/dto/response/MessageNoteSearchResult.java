@@ -0,0 +1,19 @@
+package com.legalfirm.automation.dto.response;
+
+import com.legalfirm.automation.enums.SearchResultType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageNoteSearchResult {
+    private SearchResultType type;
+    private MessageResponse message;
+    private CaseNoteResponse note;
+    private Float score;
+    private String snippet;
+}
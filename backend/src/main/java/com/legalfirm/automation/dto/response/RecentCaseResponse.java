@@ -0,0 +1,22 @@
+package com.legalfirm.automation.dto.response;
+
+import com.legalfirm.automation.enums.CaseStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecentCaseResponse {
+    private UUID id;
+    private String title;
+    private CaseStatus status;
+    private String client;
+    private LocalDateTime createdAt;
+}
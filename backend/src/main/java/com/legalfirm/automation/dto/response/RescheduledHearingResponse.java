@@ -0,0 +1,20 @@
+package com.legalfirm.automation.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RescheduledHearingResponse {
+    private UUID hearingId;
+    private UUID caseId;
+    private LocalDateTime previousDate;
+    private LocalDateTime newDate;
+}
@@ -0,0 +1,22 @@
+package com.legalfirm.automation.dto.response;
+
+import com.legalfirm.automation.enums.StorageOwnerType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StorageUsageResponse {
+    private UUID ownerId;
+    private StorageOwnerType ownerType;
+    private Long totalBytes;
+    private Long documentCount;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,25 @@
+package com.legalfirm.automation.dto.response;
+
+import com.legalfirm.automation.enums.TimelineEntryType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimelineEntryResponse {
+    private TimelineEntryType type;
+    private UUID id;
+    private LocalDateTime timestamp;
+    private String title;
+    private String description;
+    private String performedBy;
+    private String oldValue;
+    private String newValue;
+}
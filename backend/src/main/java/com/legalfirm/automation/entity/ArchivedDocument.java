@@ -0,0 +1,41 @@
+package com.legalfirm.automation.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * The stored file of a document that belongs to an archived case. Files stay in
+ * the upload directory; these rows keep storage reconciliation from treating them
+ * as orphans and let {@code DocumentService} still serve them for download.
+ */
+@Entity
+@Table(name = "archived_documents", indexes = {
+        @Index(name = "idx_archived_documents_case", columnList = "case_id"),
+        @Index(name = "idx_archived_documents_file_path", columnList = "file_path")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedDocument {
+    @Id
+    @Column(name = "document_id")
+    private UUID id;
+
+    @Column(name = "case_id", nullable = false)
+    private UUID caseId;
+
+    @Column(name = "file_path")
+    private String filePath;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    @Column(name = "compression_codec")
+    private String compressionCodec;
+}
@@ -13,12 +13,23 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "cases")
+@NamedEntityGraph(name = Case.WITH_PARTIES, attributeNodes = {
+        @NamedAttributeNode("client"),
+        @NamedAttributeNode("assignedLawyer")
+})
+@Table(name = "cases", indexes = {
+        @Index(name = "idx_cases_client_summary", columnList = "client_id, status, updated_at"),
+        @Index(name = "idx_cases_status_created", columnList = "status, created_at"),
+        @Index(name = "idx_cases_assigned_lawyer", columnList = "assigned_lawyer_id")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Case {
+    /** Client and assigned lawyer, everything a case list row or case header shows. */
+    public static final String WITH_PARTIES = "Case.withParties";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
@@ -33,11 +44,11 @@ public class Case {
     @Column(nullable = false)
     private CaseStatus status;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "client_id", nullable = false)
     private Client client;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assigned_lawyer_id")
     private User assignedLawyer;
 
@@ -49,7 +60,8 @@ public class Case {
     @Builder.Default
     private List<Document> documents = new ArrayList<>();
 
-    @OneToMany(mappedBy = "caseEntity", fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "caseEntity")
+    @Builder.Default
     private List<CaseHistory> history = new ArrayList<>();
 
 
@@ -10,12 +10,20 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "case_activities")
+@NamedEntityGraph(name = CaseActivity.WITH_CASE_AND_PERFORMER, attributeNodes = {
+        @NamedAttributeNode("caseEntity"),
+        @NamedAttributeNode("performedBy")
+})
+@Table(name = "case_activities", indexes = {
+        @Index(name = "idx_case_activities_timeline", columnList = "case_id, activity_date, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class CaseActivity {
+    public static final String WITH_CASE_AND_PERFORMER = "CaseActivity.withCaseAndPerformer";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
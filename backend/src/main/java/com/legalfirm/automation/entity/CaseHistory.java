@@ -10,17 +10,22 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "case_history")
+@NamedEntityGraph(name = CaseHistory.WITH_PERFORMER, attributeNodes = @NamedAttributeNode("performedBy"))
+@Table(name = "case_history", indexes = {
+        @Index(name = "idx_case_history_timeline", columnList = "case_id, timestamp, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class CaseHistory {
+    public static final String WITH_PERFORMER = "CaseHistory.withPerformer";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "case_id", nullable = false)
     private Case caseEntity;
 
@@ -10,12 +10,22 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "case_notes")
+@NamedEntityGraph(name = CaseNote.WITH_CASE_AND_AUTHOR, attributeNodes = {
+        @NamedAttributeNode("caseEntity"),
+        @NamedAttributeNode("createdBy")
+})
+@Table(name = "case_notes", indexes = {
+        @Index(name = "idx_case_notes_timeline", columnList = "case_id, created_at, id"),
+        // Search index catch-up from its high-water mark
+        @Index(name = "idx_case_notes_updated", columnList = "updated_at, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class CaseNote {
+    public static final String WITH_CASE_AND_AUTHOR = "CaseNote.withCaseAndAuthor";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
@@ -0,0 +1,56 @@
+package com.legalfirm.automation.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One inbox row: the latest message between a user and one conversation partner,
+ * and how many messages from that partner the user has not read. Every
+ * conversation has two rows, one per participant.
+ */
+@Entity
+@Table(name = "conversation_summaries", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_conversation_summary", columnNames = {"user_id", "partner_id"})
+}, indexes = {
+        @Index(name = "idx_conversation_summaries_inbox", columnList = "user_id, last_message_at, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConversationSummary {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "partner_id", nullable = false)
+    private UUID partnerId;
+
+    @Column(name = "last_message_id")
+    private UUID lastMessageId;
+
+    @Column(name = "last_sender_id")
+    private UUID lastSenderId;
+
+    @Column(name = "last_message_preview")
+    private String lastMessagePreview;
+
+    @Column(name = "last_message_at")
+    private LocalDateTime lastMessageAt;
+
+    @Column(name = "unread_count", nullable = false)
+    @Builder.Default
+    private Long unreadCount = 0L;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
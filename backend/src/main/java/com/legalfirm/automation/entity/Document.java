@@ -10,12 +10,22 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "documents")
+@NamedEntityGraph(name = Document.WITH_CASE_AND_UPLOADER, attributeNodes = {
+        @NamedAttributeNode("caseEntity"),
+        @NamedAttributeNode("uploadedBy")
+})
+@Table(name = "documents", indexes = {
+        @Index(name = "idx_documents_timeline", columnList = "case_id, upload_date, document_id"),
+        // Search index catch-up from its high-water mark
+        @Index(name = "idx_documents_uploaded", columnList = "upload_date, document_id")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Document {
+    public static final String WITH_CASE_AND_UPLOADER = "Document.withCaseAndUploader";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     @Column(name = "document_id")
@@ -33,14 +43,21 @@ public class Document {
     @Column(name = "file_size")
     private Long fileSize;
 
+    @Column(name = "compression_codec")
+    private String compressionCodec;
+
+    @Column(name = "file_missing")
+    @Builder.Default
+    private Boolean fileMissing = false;
+
     @Column(name = "upload_date", nullable = false)
     private LocalDateTime uploadDate;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "case_id", nullable = false)
     private Case caseEntity;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "uploaded_by")
     private User uploadedBy;
 
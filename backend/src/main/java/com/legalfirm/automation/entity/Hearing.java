@@ -10,12 +10,26 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "hearings")
+@NamedEntityGraph(name = Hearing.WITH_CASE, attributeNodes = {
+        @NamedAttributeNode(value = "caseEntity", subgraph = "case")
+}, subgraphs = {
+        @NamedSubgraph(name = "case", attributeNodes = {
+                @NamedAttributeNode("client"),
+                @NamedAttributeNode("assignedLawyer")
+        })
+})
+@Table(name = "hearings", indexes = {
+        @Index(name = "idx_hearings_timeline", columnList = "case_id, date, hearing_id"),
+        @Index(name = "idx_hearings_date", columnList = "date")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Hearing {
+    /** The case with its client and lawyer, as hearing lists, reminders and the dashboard show them. */
+    public static final String WITH_CASE = "Hearing.withCase";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     @Column(name = "hearing_id")
@@ -24,10 +38,13 @@ public class Hearing {
     @Column(nullable = false)
     private LocalDateTime date;
 
+    @Column(name = "duration_minutes")
+    private Integer durationMinutes;
+
     @Column(columnDefinition = "TEXT")
     private String notes;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "case_id", nullable = false)
     private Case caseEntity;
 
@@ -0,0 +1,40 @@
+package com.legalfirm.automation.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One row per reminder sent, so a restart never sends the same reminder twice.
+ * The hearing date is part of the key: rescheduling a hearing re-arms its reminders.
+ */
+@Entity
+@Table(name = "hearing_reminder_log", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_hearing_reminder", columnNames = {"hearing_id", "lead_minutes", "hearing_date"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HearingReminderLog {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "hearing_id", nullable = false)
+    private UUID hearingId;
+
+    @Column(name = "lead_minutes", nullable = false)
+    private Long leadMinutes;
+
+    @Column(name = "hearing_date", nullable = false)
+    private LocalDateTime hearingDate;
+
+    @Column(name = "sent_at", nullable = false)
+    private LocalDateTime sentAt;
+}
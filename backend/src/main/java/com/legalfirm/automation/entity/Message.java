@@ -10,12 +10,25 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "messages")
+@NamedEntityGraph(name = Message.WITH_PARTICIPANTS, attributeNodes = {
+        @NamedAttributeNode("sender"),
+        @NamedAttributeNode("receiver")
+})
+@Table(name = "messages", indexes = {
+        // Keyset paging of a conversation: one range scan per direction, newest first
+        @Index(name = "idx_messages_conversation", columnList = "sender_id, receiver_id, timestamp, id"),
+        // Seeding and reconciling the per-user unread counters
+        @Index(name = "idx_messages_receiver_unread", columnList = "receiver_id, is_read"),
+        // Search index catch-up from its high-water mark
+        @Index(name = "idx_messages_timestamp", columnList = "timestamp, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Message {
+    public static final String WITH_PARTICIPANTS = "Message.withParticipants";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
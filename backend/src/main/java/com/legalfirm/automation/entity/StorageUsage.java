@@ -0,0 +1,44 @@
+package com.legalfirm.automation.entity;
+
+import com.legalfirm.automation.enums.StorageOwnerType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Running storage totals for a case or a client, kept in their own table so
+ * that saving a {@link Case} or {@link Client} never overwrites a counter.
+ */
+@Entity
+@Table(name = "storage_usage", indexes = {
+        @Index(name = "idx_storage_usage_type_bytes", columnList = "owner_type, total_bytes")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StorageUsage {
+    @Id
+    @Column(name = "owner_id")
+    private UUID ownerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "owner_type", nullable = false)
+    private StorageOwnerType ownerType;
+
+    @Column(name = "total_bytes", nullable = false)
+    @Builder.Default
+    private Long totalBytes = 0L;
+
+    @Column(name = "document_count", nullable = false)
+    @Builder.Default
+    private Long documentCount = 0L;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
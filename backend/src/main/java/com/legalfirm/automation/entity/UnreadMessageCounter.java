@@ -0,0 +1,33 @@
+package com.legalfirm.automation.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Number of unread messages received by a user, maintained alongside every
+ * message change so the unread badge is a primary key lookup.
+ */
+@Entity
+@Table(name = "unread_message_counters")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnreadMessageCounter {
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(name = "unread_count", nullable = false)
+    @Builder.Default
+    private Long unreadCount = 0L;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
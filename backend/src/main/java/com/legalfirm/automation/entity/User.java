@@ -6,6 +6,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,6 +20,8 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-email")
 @Data
 @Builder
 @NoArgsConstructor
@@ -28,6 +34,8 @@ public class User implements UserDetails {
     @Column(nullable = false)
     private String name;
 
+    // Never changes after registration; looked up through the natural-id cache
+    @NaturalId
     @Column(unique = true, nullable = false)
     private String email;
 
@@ -41,6 +49,11 @@ public class User implements UserDetails {
     @Column(name = "contact_number")
     private String contactNumber;
 
+    // Signed into the calendar feed URL; bumped to revoke it
+    @Builder.Default
+    @Column(name = "calendar_token_version", nullable = false)
+    private Integer calendarTokenVersion = 0;
+
     @OneToMany(mappedBy = "assignedLawyer")
     private List<Case> assignedCases;
 
@@ -0,0 +1,6 @@
+package com.legalfirm.automation.enums;
+
+public enum SearchResultType {
+    MESSAGE,
+    NOTE
+}
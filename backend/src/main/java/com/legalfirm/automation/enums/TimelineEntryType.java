@@ -0,0 +1,13 @@
+package com.legalfirm.automation.enums;
+
+/**
+ * Sources of the case timeline. The declaration order breaks ties between
+ * entries of different sources with the same timestamp.
+ */
+public enum TimelineEntryType {
+    HISTORY,
+    ACTIVITY,
+    NOTE,
+    DOCUMENT,
+    HEARING
+}
@@ -0,0 +1,12 @@
+package com.legalfirm.automation.event;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Published when case or client details shown on hearing calendar entries change
+ * (case title, client name or the case's client), so the calendar feeds of the
+ * lawyers concerned must be rendered again.
+ */
+public record CalendarEntriesChangedEvent(Set<UUID> lawyerIds) {
+}
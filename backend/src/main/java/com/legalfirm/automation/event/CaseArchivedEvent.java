@@ -0,0 +1,11 @@
+package com.legalfirm.automation.event;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published when a closed case and its records are moved to the archive. The
+ * documents and notes listed are no longer in the hot tables; their files stay.
+ */
+public record CaseArchivedEvent(UUID caseId, UUID clientId, List<UUID> documentIds, List<UUID> noteIds) {
+}
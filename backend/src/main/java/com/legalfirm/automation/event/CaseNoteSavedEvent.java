@@ -0,0 +1,9 @@
+package com.legalfirm.automation.event;
+
+import java.util.UUID;
+
+/**
+ * Published when a case note is created or edited.
+ */
+public record CaseNoteSavedEvent(UUID noteId) {
+}
@@ -0,0 +1,9 @@
+package com.legalfirm.automation.event;
+
+import java.util.UUID;
+
+/**
+ * Published when a user marks every unread message from another user as read.
+ */
+public record ConversationReadEvent(UUID readerId, UUID senderId, int markedRead) {
+}
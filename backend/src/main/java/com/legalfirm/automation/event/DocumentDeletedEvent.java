@@ -0,0 +1,9 @@
+package com.legalfirm.automation.event;
+
+import java.util.UUID;
+
+/**
+ * Published when a document row is deleted.
+ */
+public record DocumentDeletedEvent(UUID documentId, UUID caseId, String filePath) {
+}
@@ -0,0 +1,10 @@
+package com.legalfirm.automation.event;
+
+import java.util.UUID;
+
+/**
+ * Published when a document row and its file have been written.
+ * Listeners that need the committed state should use an AFTER_COMMIT transactional listener.
+ */
+public record DocumentStoredEvent(UUID documentId, UUID caseId, String filePath, String compressionCodec, String type) {
+}
@@ -0,0 +1,11 @@
+package com.legalfirm.automation.event;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published when a hearing is created, rescheduled or deleted. {@code lawyerId}
+ * is the lawyer assigned to the hearing's case at the time, or {@code null}.
+ */
+public record HearingChangedEvent(UUID hearingId, UUID caseId, UUID lawyerId, LocalDateTime date, boolean deleted) {
+}
@@ -0,0 +1,11 @@
+package com.legalfirm.automation.event;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Published when hearings move between lawyers or disappear in bulk (case
+ * reassignment, client deletion), so per-lawyer schedules must be reloaded.
+ */
+public record LawyerScheduleChangedEvent(Set<UUID> lawyerIds) {
+}
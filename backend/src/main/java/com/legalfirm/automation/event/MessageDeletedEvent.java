@@ -0,0 +1,9 @@
+package com.legalfirm.automation.event;
+
+import java.util.UUID;
+
+/**
+ * Published when a message is deleted.
+ */
+public record MessageDeletedEvent(UUID messageId) {
+}
@@ -0,0 +1,9 @@
+package com.legalfirm.automation.event;
+
+import java.util.UUID;
+
+/**
+ * Published when an unread message is marked as read.
+ */
+public record MessageReadEvent(UUID messageId, UUID senderId, UUID receiverId) {
+}
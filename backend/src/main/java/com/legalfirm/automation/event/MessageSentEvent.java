@@ -0,0 +1,9 @@
+package com.legalfirm.automation.event;
+
+import com.legalfirm.automation.dto.response.MessageResponse;
+
+/**
+ * Published when a message is sent; realtime delivery happens after commit.
+ */
+public record MessageSentEvent(MessageResponse message) {
+}
@@ -0,0 +1,20 @@
+package com.legalfirm.automation.notification;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A due hearing reminder, resolved against the current state of the hearing and its case.
+ */
+public record HearingReminder(
+        UUID hearingId,
+        LocalDateTime hearingDate,
+        Duration leadTime,
+        UUID caseId,
+        String caseTitle,
+        String clientName,
+        UUID lawyerId,
+        String lawyerName,
+        String lawyerEmail) {
+}
@@ -0,0 +1,11 @@
+package com.legalfirm.automation.notification;
+
+/**
+ * Delivery channel for hearing reminders. Every bean implementing this interface
+ * receives each reminder; add a bean to deliver by e-mail, SMS, etc.
+ * Implementations run on the reminder executor and should not throw.
+ */
+public interface HearingReminderNotifier {
+
+    void notify(HearingReminder reminder);
+}
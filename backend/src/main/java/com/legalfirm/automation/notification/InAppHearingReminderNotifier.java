@@ -0,0 +1,63 @@
+package com.legalfirm.automation.notification;
+
+import com.legalfirm.automation.dto.request.MessageRequest;
+import com.legalfirm.automation.entity.User;
+import com.legalfirm.automation.repository.UserRepository;
+import com.legalfirm.automation.service.MessageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+
+/**
+ * Delivers reminders as in-app messages sent from the configured system account.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InAppHearingReminderNotifier implements HearingReminderNotifier {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("EEE d MMM yyyy 'at' HH:mm");
+
+    private final MessageService messageService;
+    private final UserRepository userRepository;
+
+    @Value("${application.reminders.sender-email:admin@legalfirm.com}")
+    private String senderEmail;
+
+    @Override
+    public void notify(HearingReminder reminder) {
+        Optional<User> sender = userRepository.findByEmail(senderEmail);
+        if (sender.isEmpty()) {
+            log.warn("Reminder sender {} does not exist, skipping in-app reminder for hearing {}",
+                    senderEmail, reminder.hearingId());
+            return;
+        }
+        if (sender.get().getId().equals(reminder.lawyerId())) {
+            log.debug("Lawyer {} is the reminder sender, skipping in-app reminder", reminder.lawyerId());
+            return;
+        }
+
+        MessageRequest request = MessageRequest.builder()
+                .receiverId(reminder.lawyerId())
+                .content(String.format("Reminder: hearing for case \"%s\" (%s) %s, %s.",
+                        reminder.caseTitle(), reminder.clientName(), describeLead(reminder.leadTime()),
+                        reminder.hearingDate().format(DATE_FORMAT)))
+                .build();
+        messageService.sendMessage(request, sender.get().getId());
+    }
+
+    private String describeLead(Duration leadTime) {
+        if (leadTime.toDays() >= 1 && leadTime.toHoursPart() == 0 && leadTime.toMinutesPart() == 0) {
+            return "in " + leadTime.toDays() + (leadTime.toDays() == 1 ? " day" : " days");
+        }
+        if (leadTime.toHours() >= 1 && leadTime.toMinutesPart() == 0) {
+            return "in " + leadTime.toHours() + (leadTime.toHours() == 1 ? " hour" : " hours");
+        }
+        return "in " + leadTime.toMinutes() + " minutes";
+    }
+}
@@ -0,0 +1,22 @@
+package com.legalfirm.automation.realtime;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delivers events to the sessions of this node only; for single-node deployments
+ * and databases without LISTEN/NOTIFY.
+ */
+@Component
+@ConditionalOnProperty(name = "application.realtime.broker", havingValue = "local")
+@RequiredArgsConstructor
+public class LocalRealtimeBroker implements RealtimeBroker {
+
+    private final RealtimeSessionRegistry sessionRegistry;
+
+    @Override
+    public void publish(RealtimeEvent event) {
+        sessionRegistry.deliver(event);
+    }
+}
@@ -0,0 +1,51 @@
+package com.legalfirm.automation.realtime;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.legalfirm.automation.event.ConversationReadEvent;
+import com.legalfirm.automation.event.MessageReadEvent;
+import com.legalfirm.automation.event.MessageSentEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+
+/**
+ * Turns committed message changes into realtime events for both participants.
+ */
+@Component
+@RequiredArgsConstructor
+public class MessageRealtimePublisher {
+
+    private final RealtimeBroker broker;
+    private final ObjectMapper objectMapper;
+
+    @TransactionalEventListener
+    public void onMessageSent(MessageSentEvent event) {
+        broker.publish(new RealtimeEvent(
+                RealtimeEvent.MESSAGE_CREATED,
+                Set.of(event.message().getSender().getId(), event.message().getReceiver().getId()),
+                objectMapper.valueToTree(event.message())));
+    }
+
+    @TransactionalEventListener
+    public void onMessageRead(MessageReadEvent event) {
+        ObjectNode data = objectMapper.createObjectNode()
+                .put("id", event.messageId().toString())
+                .put("senderId", event.senderId().toString())
+                .put("receiverId", event.receiverId().toString());
+        broker.publish(new RealtimeEvent(
+                RealtimeEvent.MESSAGE_READ, Set.of(event.senderId(), event.receiverId()), data));
+    }
+
+    @TransactionalEventListener
+    public void onConversationRead(ConversationReadEvent event) {
+        ObjectNode data = objectMapper.createObjectNode()
+                .put("readerId", event.readerId().toString())
+                .put("senderId", event.senderId().toString())
+                .put("markedRead", event.markedRead());
+        broker.publish(new RealtimeEvent(
+                RealtimeEvent.CONVERSATION_READ, Set.of(event.readerId(), event.senderId()), data));
+    }
+}
@@ -0,0 +1,39 @@
+package com.legalfirm.automation.realtime;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.util.UUID;
+
+/**
+ * Server-to-client channel for message events. Anything the client sends is ignored.
+ */
+@Component
+@RequiredArgsConstructor
+public class MessageWebSocketHandler extends TextWebSocketHandler {
+
+    private final RealtimeSessionRegistry sessionRegistry;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        sessionRegistry.register(userId(session), session);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        sessionRegistry.unregister(userId(session), session);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        // Read-only channel
+    }
+
+    private static UUID userId(WebSocketSession session) {
+        return (UUID) session.getAttributes().get(JwtHandshakeInterceptor.USER_ID_ATTRIBUTE);
+    }
+}
@@ -0,0 +1,150 @@
+package com.legalfirm.automation.realtime;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Fans realtime events out across nodes with PostgreSQL {@code NOTIFY}. Each node
+ * keeps one dedicated, unpooled connection that {@code LISTEN}s on the channel
+ * from a virtual thread and reconnects after failures.
+ * <p>
+ * NOTIFY payloads are limited to 8000 bytes; larger events are sent without their
+ * data except for its {@code id}, flagged {@code truncated}, and clients reload the item.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "application.realtime.broker", havingValue = "postgres", matchIfMissing = true)
+@RequiredArgsConstructor
+public class PostgresRealtimeBroker implements RealtimeBroker {
+
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+    private static final int POLL_MILLIS = 10_000;
+    private static final long RECONNECT_DELAY_MILLIS = 5_000;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final RealtimeSessionRegistry sessionRegistry;
+    private final ObjectMapper objectMapper;
+
+    @Value("${application.realtime.channel:realtime_events}")
+    private String channel;
+
+    private TransactionTemplate notifyTemplate;
+    private volatile boolean running;
+    private Thread listener;
+
+    @PostConstruct
+    public void init() {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalStateException("application.realtime.channel must be a lower-case SQL identifier");
+        }
+        // Publishing happens after the business transaction committed, so NOTIFY needs its own
+        this.notifyTemplate = new TransactionTemplate(transactionManager);
+        this.notifyTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        listener = Thread.ofVirtual().name("realtime-pg-listener").start(this::listen);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    @Override
+    public void publish(RealtimeEvent event) {
+        try {
+            String payload = serialize(event);
+            notifyTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.query("SELECT pg_notify(?, ?)", resultSet -> { }, channel, payload));
+        } catch (Exception ex) {
+            // Realtime delivery is best effort; clients catch up from the REST API
+            log.warn("Could not publish realtime event {}", event.type(), ex);
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                log.info("Listening for realtime events on channel {}", channel);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        dispatch(notification.getParameter());
+                    }
+                }
+            } catch (SQLException ex) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Realtime listener connection failed, reconnecting in {} ms", RECONNECT_DELAY_MILLIS, ex);
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        try {
+            sessionRegistry.deliver(objectMapper.readValue(payload, RealtimeEvent.class));
+        } catch (Exception ex) {
+            log.warn("Dropping malformed realtime event", ex);
+        }
+    }
+
+    private String serialize(RealtimeEvent event) throws Exception {
+        String payload = objectMapper.writeValueAsString(event);
+        if (payload.getBytes(StandardCharsets.UTF_8).length <= MAX_PAYLOAD_BYTES) {
+            return payload;
+        }
+        ObjectNode reference = objectMapper.createObjectNode();
+        JsonNode id = event.data() != null ? event.data().get("id") : null;
+        if (id != null) {
+            reference.set("id", id);
+        }
+        reference.put("truncated", true);
+        return objectMapper.writeValueAsString(new RealtimeEvent(event.type(), event.userIds(), reference));
+    }
+}
@@ -0,0 +1,10 @@
+package com.legalfirm.automation.realtime;
+
+/**
+ * Carries realtime events to every application node. Implementations hand each
+ * received event, including the node's own, to {@link RealtimeSessionRegistry#deliver}.
+ */
+public interface RealtimeBroker {
+
+    void publish(RealtimeEvent event);
+}
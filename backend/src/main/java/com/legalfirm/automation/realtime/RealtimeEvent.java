@@ -0,0 +1,17 @@
+package com.legalfirm.automation.realtime;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * An event pushed to the open WebSocket sessions of {@code userIds}. Only
+ * {@code type} and {@code data} are sent to clients.
+ */
+public record RealtimeEvent(String type, Set<UUID> userIds, JsonNode data) {
+
+    public static final String MESSAGE_CREATED = "message.created";
+    public static final String MESSAGE_READ = "message.read";
+    public static final String CONVERSATION_READ = "conversation.read";
+}
@@ -0,0 +1,164 @@
+package com.legalfirm.automation.realtime;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks the open WebSocket sessions of each user on this node and fans events out to them.
+ * <p>
+ * Idle sessions cost no thread: the container's NIO connector only wakes up on traffic.
+ * Sends run on virtual threads, one at a time per session so its events arrive in
+ * the order they were delivered, and never on the thread delivering the event. Each
+ * session is wrapped in a {@link ConcurrentWebSocketSessionDecorator} that buffers up
+ * to a limit and closes the session when a client stops reading, so one slow client
+ * never holds up the others.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RealtimeSessionRegistry {
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.realtime.send-time-limit:PT10S}")
+    private Duration sendTimeLimit;
+
+    @Value("${application.realtime.send-buffer-limit:524288}")
+    private int sendBufferLimit;
+
+    private final ConcurrentMap<UUID, ConcurrentMap<String, Outbox>> sessionsByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger sessionCount = new AtomicInteger();
+    private final ExecutorService sendExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private Counter eventsDelivered;
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("realtime.sessions", sessionCount, AtomicInteger::get)
+                .description("Open realtime WebSocket sessions on this node")
+                .register(meterRegistry);
+        this.eventsDelivered = Counter.builder("realtime.events.delivered")
+                .description("Realtime events written to WebSocket sessions")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void close() {
+        sendExecutor.shutdownNow();
+    }
+
+    public void register(UUID userId, WebSocketSession session) {
+        WebSocketSession decorated = new ConcurrentWebSocketSessionDecorator(
+                session, (int) sendTimeLimit.toMillis(), sendBufferLimit);
+        sessionsByUser.computeIfAbsent(userId, id -> new ConcurrentHashMap<>()).put(session.getId(), new Outbox(decorated));
+        sessionCount.incrementAndGet();
+    }
+
+    public void unregister(UUID userId, WebSocketSession session) {
+        sessionsByUser.computeIfPresent(userId, (id, sessions) -> {
+            if (sessions.remove(session.getId()) != null) {
+                sessionCount.decrementAndGet();
+            }
+            return sessions.isEmpty() ? null : sessions;
+        });
+    }
+
+    /**
+     * Sends the event to every session of its users that is connected to this node.
+     */
+    public void deliver(RealtimeEvent event) {
+        TextMessage message = null;
+        for (UUID userId : event.userIds()) {
+            Map<String, Outbox> sessions = sessionsByUser.get(userId);
+            if (sessions == null) {
+                continue;
+            }
+            if (message == null) {
+                message = toMessage(event);
+            }
+            for (Outbox outbox : sessions.values()) {
+                outbox.send(message);
+            }
+        }
+    }
+
+    /**
+     * Keeps proxies from dropping idle connections; clients answer with a pong,
+     * which also resets the container's idle timeout.
+     */
+    @Scheduled(fixedRateString = "${application.realtime.ping-interval:PT30S}")
+    public void ping() {
+        PingMessage ping = new PingMessage();
+        sessionsByUser.values().forEach(sessions -> sessions.values().forEach(outbox -> outbox.send(ping)));
+    }
+
+    private void write(WebSocketSession session, WebSocketMessage<?> message) {
+        try {
+            if (session.isOpen()) {
+                session.sendMessage(message);
+                if (message instanceof TextMessage) {
+                    eventsDelivered.increment();
+                }
+            }
+        } catch (Exception ex) {
+            log.debug("Closing realtime session {} after failed send", session.getId(), ex);
+            try {
+                session.close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (Exception ignored) {
+                // Already gone
+            }
+        }
+    }
+
+    private TextMessage toMessage(RealtimeEvent event) {
+        ObjectNode envelope = objectMapper.createObjectNode();
+        envelope.put("type", event.type());
+        envelope.set("data", event.data());
+        return new TextMessage(envelope.toString());
+    }
+
+    /**
+     * A session and the last of its pending sends. Each send is chained to the one
+     * before, so they run one at a time in submission order.
+     */
+    private final class Outbox {
+
+        private final WebSocketSession session;
+        private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+
+        private Outbox(WebSocketSession session) {
+            this.session = session;
+        }
+
+        synchronized void send(WebSocketMessage<?> message) {
+            tail = tail.thenRunAsync(() -> write(session, message), sendExecutor);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.legalfirm.automation.repository;
+
+import com.legalfirm.automation.entity.ArchivedCase;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface ArchivedCaseRepository extends JpaRepository<ArchivedCase, UUID> {
+}
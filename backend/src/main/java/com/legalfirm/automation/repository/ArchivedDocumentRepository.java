@@ -0,0 +1,18 @@
+package com.legalfirm.automation.repository;
+
+import com.legalfirm.automation.entity.ArchivedDocument;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ArchivedDocumentRepository extends JpaRepository<ArchivedDocument, UUID> {
+
+    @Query("SELECT d.filePath FROM ArchivedDocument d WHERE d.filePath IN :filePaths")
+    List<String> findExistingFilePaths(@Param("filePaths") Collection<String> filePaths);
+}
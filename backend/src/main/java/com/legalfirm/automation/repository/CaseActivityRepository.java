@@ -1,9 +1,12 @@
 package com.legalfirm.automation.repository;
 
 import com.legalfirm.automation.entity.CaseActivity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,20 +17,44 @@ import java.util.UUID;
 
 @Repository
 public interface CaseActivityRepository extends JpaRepository<CaseActivity, UUID> {
+    @EntityGraph(CaseActivity.WITH_CASE_AND_PERFORMER)
     List<CaseActivity> findByCaseEntityIdOrderByActivityDateDesc(UUID caseId);
-    
+
+    @EntityGraph(CaseActivity.WITH_CASE_AND_PERFORMER)
     Page<CaseActivity> findByCaseEntityId(UUID caseId, Pageable pageable);
-    
+
+    @EntityGraph(CaseActivity.WITH_CASE_AND_PERFORMER)
     @Query("SELECT a FROM CaseActivity a WHERE a.caseEntity.id = :caseId AND a.activityDate BETWEEN :startDate AND :endDate ORDER BY a.activityDate DESC")
     List<CaseActivity> findByCaseIdAndDateRange(
             @Param("caseId") UUID caseId,
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate
     );
-    
+
+    @EntityGraph(CaseActivity.WITH_CASE_AND_PERFORMER)
     @Query("SELECT a FROM CaseActivity a WHERE a.performedBy.id = :userId ORDER BY a.activityDate DESC")
     Page<CaseActivity> findByPerformedBy(@Param("userId") UUID userId, Pageable pageable);
     
     @Query("SELECT COUNT(a) FROM CaseActivity a WHERE a.caseEntity.id = :caseId AND a.activityType = :activityType")
     long countByTypeForCase(@Param("caseId") UUID caseId, @Param("activityType") String activityType);
-}
\ No newline at end of file
+
+    @Query("SELECT a.id AS id, a.activityDate AS timestamp, a.activityType AS title, a.description AS description, " +
+           "u.name AS performedBy, a.oldValue AS oldValue, a.newValue AS newValue " +
+           "FROM CaseActivity a LEFT JOIN a.performedBy u WHERE a.caseEntity.id = :caseId " +
+           "ORDER BY a.activityDate DESC, a.id DESC")
+    List<TimelineEntryView> findLatestTimeline(@Param("caseId") UUID caseId, Limit limit);
+
+    @Query("SELECT a.id AS id, a.activityDate AS timestamp, a.activityType AS title, a.description AS description, " +
+           "u.name AS performedBy, a.oldValue AS oldValue, a.newValue AS newValue " +
+           "FROM CaseActivity a LEFT JOIN a.performedBy u WHERE a.caseEntity.id = :caseId " +
+           "AND (a.activityDate < :beforeTimestamp OR (a.activityDate = :beforeTimestamp AND a.id < :beforeId)) " +
+           "ORDER BY a.activityDate DESC, a.id DESC")
+    List<TimelineEntryView> findTimelineBefore(@Param("caseId") UUID caseId,
+                                               @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+                                               @Param("beforeId") UUID beforeId,
+                                               Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM CaseActivity a WHERE a.caseEntity.id = :caseId")
+    int deleteByCaseId(@Param("caseId") UUID caseId);
+}
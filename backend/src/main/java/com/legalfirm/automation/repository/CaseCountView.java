@@ -0,0 +1,12 @@
+package com.legalfirm.automation.repository;
+
+import java.util.UUID;
+
+/**
+ * A per-case row count, so a page of cases can be sized with one grouped query
+ * instead of initialising a collection per case.
+ */
+public interface CaseCountView {
+    UUID getCaseId();
+    long getCount();
+}
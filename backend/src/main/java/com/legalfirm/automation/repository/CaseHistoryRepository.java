@@ -1,9 +1,12 @@
 package com.legalfirm.automation.repository;
 
 import com.legalfirm.automation.entity.CaseHistory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,10 +18,16 @@ import java.util.UUID;
 @Repository
 public interface CaseHistoryRepository extends JpaRepository<CaseHistory, UUID> {
     
+    @EntityGraph(CaseHistory.WITH_PERFORMER)
     List<CaseHistory> findByCaseEntityIdOrderByTimestampDesc(UUID caseId);
-    
+
+    @EntityGraph(CaseHistory.WITH_PERFORMER)
+    List<CaseHistory> findByCaseEntityIdOrderByTimestampDesc(UUID caseId, Limit limit);
+
+    @EntityGraph(CaseHistory.WITH_PERFORMER)
     Page<CaseHistory> findByCaseEntityId(UUID caseId, Pageable pageable);
-    
+
+    @EntityGraph(CaseHistory.WITH_PERFORMER)
     @Query("SELECT ch FROM CaseHistory ch WHERE ch.caseEntity.id = :caseId " +
            "AND ch.timestamp BETWEEN :startDate AND :endDate " +
            "ORDER BY ch.timestamp DESC")
@@ -26,14 +35,36 @@ public interface CaseHistoryRepository extends JpaRepository<CaseHistory, UUID>
             @Param("caseId") UUID caseId,
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
-    
+
+    @EntityGraph(CaseHistory.WITH_PERFORMER)
     @Query("SELECT ch FROM CaseHistory ch WHERE ch.performedBy.id = :userId " +
            "ORDER BY ch.timestamp DESC")
     Page<CaseHistory> findByPerformedBy(@Param("userId") UUID userId, Pageable pageable);
-    
+
+    @EntityGraph(CaseHistory.WITH_PERFORMER)
     @Query("SELECT ch FROM CaseHistory ch WHERE ch.caseEntity.id = :caseId " +
            "AND ch.category = :category ORDER BY ch.timestamp DESC")
     List<CaseHistory> findByCaseIdAndCategory(
             @Param("caseId") UUID caseId,
             @Param("category") String category);
-}
\ No newline at end of file
+
+    @Query("SELECT h.id AS id, h.timestamp AS timestamp, h.action AS title, h.description AS description, " +
+           "u.name AS performedBy, h.oldValue AS oldValue, h.newValue AS newValue " +
+           "FROM CaseHistory h LEFT JOIN h.performedBy u WHERE h.caseEntity.id = :caseId " +
+           "ORDER BY h.timestamp DESC, h.id DESC")
+    List<TimelineEntryView> findLatestTimeline(@Param("caseId") UUID caseId, Limit limit);
+
+    @Query("SELECT h.id AS id, h.timestamp AS timestamp, h.action AS title, h.description AS description, " +
+           "u.name AS performedBy, h.oldValue AS oldValue, h.newValue AS newValue " +
+           "FROM CaseHistory h LEFT JOIN h.performedBy u WHERE h.caseEntity.id = :caseId " +
+           "AND (h.timestamp < :beforeTimestamp OR (h.timestamp = :beforeTimestamp AND h.id < :beforeId)) " +
+           "ORDER BY h.timestamp DESC, h.id DESC")
+    List<TimelineEntryView> findTimelineBefore(@Param("caseId") UUID caseId,
+                                               @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+                                               @Param("beforeId") UUID beforeId,
+                                               Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM CaseHistory h WHERE h.caseEntity.id = :caseId")
+    int deleteByCaseId(@Param("caseId") UUID caseId);
+}
@@ -1,24 +1,90 @@
 package com.legalfirm.automation.repository;
 
 import com.legalfirm.automation.entity.CaseNote;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface CaseNoteRepository extends JpaRepository<CaseNote, UUID> {
+    @EntityGraph(CaseNote.WITH_CASE_AND_AUTHOR)
     List<CaseNote> findByCaseEntityIdOrderByCreatedAtDesc(UUID caseId);
-    
+
+    @EntityGraph(CaseNote.WITH_CASE_AND_AUTHOR)
     Page<CaseNote> findByCaseEntityId(UUID caseId, Pageable pageable);
-    
+
+    @EntityGraph(CaseNote.WITH_CASE_AND_AUTHOR)
     @Query("SELECT n FROM CaseNote n WHERE n.caseEntity.id = :caseId AND (n.isPrivate = false OR n.createdBy.id = :userId)")
     List<CaseNote> findVisibleNotes(@Param("caseId") UUID caseId, @Param("userId") UUID userId);
-    
+
+    @EntityGraph(CaseNote.WITH_CASE_AND_AUTHOR)
     List<CaseNote> findByCreatedByIdOrderByCreatedAtDesc(UUID userId);
+
+    @Query("SELECT n.id AS id, c.id AS caseId, c.title AS caseTitle, n.createdBy.id AS createdById, " +
+           "n.isPrivate AS isPrivate, n.title AS title, n.content AS content, n.createdAt AS createdAt, " +
+           "n.updatedAt AS updatedAt FROM CaseNote n JOIN n.caseEntity c WHERE n.id IN :ids")
+    List<NoteView> findViewsByIds(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT n.id AS id, c.id AS caseId, c.title AS caseTitle, n.createdBy.id AS createdById, " +
+           "n.isPrivate AS isPrivate, n.title AS title, n.content AS content, n.createdAt AS createdAt, " +
+           "n.updatedAt AS updatedAt FROM CaseNote n JOIN n.caseEntity c WHERE n.id > :after ORDER BY n.id")
+    List<NoteView> findViewsAfter(@Param("after") UUID after, Limit limit);
+
+    /**
+     * Notes created or edited at or after {@code since}, in (updatedAt, id) order
+     * from the position of the last row read, for the search index catch-up.
+     */
+    @Query("SELECT n.id AS id, c.id AS caseId, c.title AS caseTitle, n.createdBy.id AS createdById, " +
+           "n.isPrivate AS isPrivate, n.title AS title, n.content AS content, n.createdAt AS createdAt, " +
+           "n.updatedAt AS updatedAt FROM CaseNote n JOIN n.caseEntity c " +
+           "WHERE n.updatedAt >= :since AND (n.updatedAt > :since OR n.id > :after) ORDER BY n.updatedAt, n.id")
+    List<NoteView> findViewsUpdatedSince(@Param("since") LocalDateTime since, @Param("after") UUID after, Limit limit);
+
+    @Query("SELECT n.id AS id, n.createdAt AS timestamp, n.title AS title, n.content AS description, " +
+           "u.name AS performedBy, CAST(NULL AS String) AS oldValue, CAST(NULL AS String) AS newValue " +
+           "FROM CaseNote n LEFT JOIN n.createdBy u WHERE n.caseEntity.id = :caseId " +
+           "AND (n.isPrivate = false OR u.id = :userId) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<TimelineEntryView> findLatestVisibleTimeline(@Param("caseId") UUID caseId,
+                                                      @Param("userId") UUID userId,
+                                                      Limit limit);
+
+    @Query("SELECT n.id AS id, n.createdAt AS timestamp, n.title AS title, n.content AS description, " +
+           "u.name AS performedBy, CAST(NULL AS String) AS oldValue, CAST(NULL AS String) AS newValue " +
+           "FROM CaseNote n LEFT JOIN n.createdBy u WHERE n.caseEntity.id = :caseId " +
+           "AND (n.isPrivate = false OR u.id = :userId) " +
+           "AND (n.createdAt < :beforeTimestamp OR (n.createdAt = :beforeTimestamp AND n.id < :beforeId)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<TimelineEntryView> findVisibleTimelineBefore(@Param("caseId") UUID caseId,
+                                                      @Param("userId") UUID userId,
+                                                      @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+                                                      @Param("beforeId") UUID beforeId,
+                                                      Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM CaseNote n WHERE n.caseEntity.id = :caseId")
+    int deleteByCaseId(@Param("caseId") UUID caseId);
+
+    interface NoteView {
+        UUID getId();
+        UUID getCaseId();
+        String getCaseTitle();
+        UUID getCreatedById();
+        Boolean getIsPrivate();
+        String getTitle();
+        String getContent();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getUpdatedAt();
+    }
 }
@@ -2,24 +2,47 @@ package com.legalfirm.automation.repository;
 
 import com.legalfirm.automation.entity.Case;
 import com.legalfirm.automation.enums.CaseStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface CaseRepository extends JpaRepository<Case, UUID> {
+    // Case lists show the client and the lawyer of every row, so list queries fetch both
+    @EntityGraph(Case.WITH_PARTIES)
+    @Override
+    Page<Case> findAll(Pageable pageable);
+
+    @EntityGraph(Case.WITH_PARTIES)
     Page<Case> findByStatus(CaseStatus status, Pageable pageable);
+
+    @EntityGraph(Case.WITH_PARTIES)
     Page<Case> findByClientId(UUID clientId, Pageable pageable);
+
+    @EntityGraph(Case.WITH_PARTIES)
     Page<Case> findByAssignedLawyerId(UUID lawyerId, Pageable pageable);
-    
+
+    @EntityGraph(Case.WITH_PARTIES)
+    Optional<Case> findWithPartiesById(UUID id);
+
+    /** Plain cases without any association, for statistics and exports. */
+    List<Case> findAllByStatus(CaseStatus status);
+
+    @EntityGraph(Case.WITH_PARTIES)
     @Query("SELECT c FROM Case c WHERE " +
            "(LOWER(c.title) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
            "LOWER(c.description) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
@@ -31,10 +54,35 @@ public interface CaseRepository extends JpaRepository<Case, UUID> {
     
     @Query("SELECT COUNT(c) FROM Case c WHERE c.status = :status")
     long countByStatus(@Param("status") CaseStatus status);
-    
+
+    @EntityGraph(Case.WITH_PARTIES)
     List<Case> findTop5ByOrderByCreatedAtDesc();
 
+    @EntityGraph(Case.WITH_PARTIES)
     Page<Case> findAll(Specification<Case> spec, Pageable pageable);
 
     Object countByCreatedAtAfter(LocalDateTime startOfMonth);
+
+    @Query("SELECT c.id FROM Case c WHERE c.id > :after ORDER BY c.id")
+    List<UUID> findIdsAfter(@Param("after") UUID after, Pageable pageable);
+
+    @Query("SELECT c.id FROM Case c WHERE c.status = :status AND c.updatedAt < :before AND c.id > :after " +
+           "ORDER BY c.id")
+    List<UUID> findIdsByStatusUpdatedBefore(@Param("status") CaseStatus status,
+                                            @Param("before") LocalDateTime before,
+                                            @Param("after") UUID after,
+                                            Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Case c WHERE c.id = :id")
+    Optional<Case> findByIdForUpdate(@Param("id") UUID id);
+
+    /**
+     * Deletes the case row alone, without loading it or cascading to its
+     * collections; the caller removes the dependent rows first. Pending changes
+     * are flushed before the persistence context is cleared.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Case c WHERE c.id = :id")
+    int deleteRowById(@Param("id") UUID id);
 }
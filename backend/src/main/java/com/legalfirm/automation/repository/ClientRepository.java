@@ -8,13 +8,35 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface ClientRepository extends JpaRepository<Client, UUID> {
+
+    // Correlated subqueries rather than GROUP BY: address is a TEXT column, which H2 cannot group on
+    String SUMMARY_SELECT = "SELECT cl.id AS id, cl.name AS name, cl.contactInfo AS contactInfo, cl.address AS address, " +
+           "(SELECT COUNT(c) FROM Case c WHERE c.client = cl) AS totalCases, " +
+           "(SELECT COUNT(c) FROM Case c WHERE c.client = cl " +
+           "AND c.status <> com.legalfirm.automation.enums.CaseStatus.CLOSED) AS openCases, " +
+           "(SELECT MAX(c.updatedAt) FROM Case c WHERE c.client = cl) AS lastActivityAt " +
+           "FROM Client cl";
+    String SEARCH_CONDITION = " WHERE LOWER(cl.name) LIKE LOWER(CONCAT('%', :search, '%')) " +
+           "OR LOWER(cl.contactInfo) LIKE LOWER(CONCAT('%', :search, '%'))";
+
     Page<Client> findByNameContainingIgnoreCase(String name, Pageable pageable);
-    
-    @Query("SELECT c FROM Client c WHERE LOWER(c.name) LIKE LOWER(CONCAT('%', :search, '%')) " +
-           "OR LOWER(c.contactInfo) LIKE LOWER(CONCAT('%', :search, '%'))")
-    Page<Client> searchClients(@Param("search") String search, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT, countQuery = "SELECT COUNT(cl) FROM Client cl")
+    Page<ClientSummaryView> findAllSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + SEARCH_CONDITION,
+           countQuery = "SELECT COUNT(cl) FROM Client cl" + SEARCH_CONDITION)
+    Page<ClientSummaryView> searchSummaries(@Param("search") String search, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " WHERE cl.id = :id")
+    Optional<ClientSummaryView> findSummaryById(@Param("id") UUID id);
+
+    @Query("SELECT c.id FROM Client c WHERE c.id > :after ORDER BY c.id")
+    List<UUID> findIdsAfter(@Param("after") UUID after, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.legalfirm.automation.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A client together with aggregates over its cases, read in the same query as
+ * the client row so listing clients never touches the {@code cases} collection.
+ */
+public interface ClientSummaryView {
+    UUID getId();
+    String getName();
+    String getContactInfo();
+    String getAddress();
+    long getTotalCases();
+    long getOpenCases();
+    /** Most recent update of any of the client's cases, {@code null} without cases. */
+    LocalDateTime getLastActivityAt();
+}
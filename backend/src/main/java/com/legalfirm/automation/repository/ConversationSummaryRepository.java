@@ -0,0 +1,60 @@
+package com.legalfirm.automation.repository;
+
+import com.legalfirm.automation.entity.ConversationSummary;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ConversationSummaryRepository extends JpaRepository<ConversationSummary, UUID> {
+
+    Page<ConversationSummary> findByUserIdAndLastMessageAtIsNotNull(UUID userId, Pageable pageable);
+
+    boolean existsByUserIdAndPartnerId(UUID userId, UUID partnerId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ConversationSummary c WHERE c.userId = :userId AND c.partnerId = :partnerId")
+    Optional<ConversationSummary> lockByUserIdAndPartnerId(@Param("userId") UUID userId,
+                                                           @Param("partnerId") UUID partnerId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ConversationSummary c WHERE c.userId IN :userIds")
+    List<ConversationSummary> lockAllByUserIds(@Param("userIds") Collection<UUID> userIds);
+
+    @Modifying
+    @Query("UPDATE ConversationSummary c SET c.unreadCount = c.unreadCount + :delta, c.updatedAt = :now " +
+           "WHERE c.userId = :userId AND c.partnerId = :partnerId")
+    int applyUnreadDelta(@Param("userId") UUID userId,
+                         @Param("partnerId") UUID partnerId,
+                         @Param("delta") long delta,
+                         @Param("now") LocalDateTime now);
+
+    /*
+     * Only moves forward, so two sends committing out of order still leave the
+     * newest message in place.
+     */
+    @Modifying
+    @Query("UPDATE ConversationSummary c SET c.lastMessageId = :messageId, c.lastSenderId = :senderId, " +
+           "c.lastMessagePreview = :preview, c.lastMessageAt = :timestamp, c.updatedAt = :now " +
+           "WHERE c.userId = :userId AND c.partnerId = :partnerId " +
+           "AND (c.lastMessageAt IS NULL OR c.lastMessageAt <= :timestamp)")
+    int applyLastMessage(@Param("userId") UUID userId,
+                         @Param("partnerId") UUID partnerId,
+                         @Param("messageId") UUID messageId,
+                         @Param("senderId") UUID senderId,
+                         @Param("preview") String preview,
+                         @Param("timestamp") LocalDateTime timestamp,
+                         @Param("now") LocalDateTime now);
+}
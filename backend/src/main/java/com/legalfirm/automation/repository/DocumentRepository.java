@@ -1,17 +1,125 @@
 package com.legalfirm.automation.repository;
 
 import com.legalfirm.automation.entity.Document;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface DocumentRepository extends JpaRepository<Document, UUID> {
+    @EntityGraph(Document.WITH_CASE_AND_UPLOADER)
+    @Override
+    Page<Document> findAll(Pageable pageable);
+
+    @EntityGraph(Document.WITH_CASE_AND_UPLOADER)
     List<Document> findByCaseEntityId(UUID caseId);
+
+    @EntityGraph(Document.WITH_CASE_AND_UPLOADER)
     Page<Document> findByCaseEntityId(UUID caseId, Pageable pageable);
+
+    @EntityGraph(Document.WITH_CASE_AND_UPLOADER)
     List<Document> findByUploadedById(UUID userId);
+
+    @EntityGraph(Document.WITH_CASE_AND_UPLOADER)
+    Optional<Document> findWithCaseAndUploaderById(UUID id);
+
+    @EntityGraph(Document.WITH_CASE_AND_UPLOADER)
+    List<Document> findWithCaseAndUploaderByIdIn(Collection<UUID> ids);
+
+    @Query("SELECT d.caseEntity.id AS caseId, COUNT(d) AS count FROM Document d " +
+           "WHERE d.caseEntity.id IN :caseIds GROUP BY d.caseEntity.id")
+    List<CaseCountView> countByCaseIds(@Param("caseIds") Collection<UUID> caseIds);
+
+    String INDEXABLE_DOCUMENT_SELECT = "SELECT d.id AS id, d.caseEntity.id AS caseId, d.filePath AS filePath, " +
+           "d.compressionCodec AS compressionCodec, d.type AS type, d.uploadDate AS uploadDate FROM Document d ";
+
+    @Query(value = INDEXABLE_DOCUMENT_SELECT + "ORDER BY d.id",
+           countQuery = "SELECT COUNT(d) FROM Document d")
+    Page<IndexableDocument> findIndexableDocuments(Pageable pageable);
+
+    /**
+     * Documents uploaded at or after {@code since}, in (uploadDate, id) order from
+     * the position of the last row read, for the search index catch-up.
+     */
+    @Query(INDEXABLE_DOCUMENT_SELECT +
+           "WHERE d.uploadDate >= :since AND (d.uploadDate > :since OR d.id > :after) ORDER BY d.uploadDate, d.id")
+    List<IndexableDocument> findIndexableDocumentsUploadedSince(@Param("since") LocalDateTime since,
+                                                                @Param("after") UUID after, Limit limit);
+
+    @Query(INDEXABLE_DOCUMENT_SELECT + "WHERE d.id = :id")
+    Optional<IndexableDocument> findIndexableDocumentById(@Param("id") UUID id);
+
+    @Query("SELECT d.filePath FROM Document d WHERE d.filePath IN :filePaths")
+    List<String> findExistingFilePaths(@Param("filePaths") Collection<String> filePaths);
+
+    @Query("SELECT d.id AS id, d.filePath AS filePath, d.fileMissing AS fileMissing " +
+           "FROM Document d WHERE d.id > :after ORDER BY d.id")
+    List<StoredFileReference> findStoredFilesAfter(@Param("after") UUID after, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Document d SET d.fileMissing = :missing WHERE d.id IN :ids")
+    int updateFileMissing(@Param("ids") Collection<UUID> ids, @Param("missing") boolean missing);
+
+    @Query("SELECT d.caseEntity.id AS ownerId, COALESCE(SUM(d.fileSize), 0) AS totalBytes, COUNT(d) AS documentCount " +
+           "FROM Document d WHERE d.caseEntity.id IN :caseIds GROUP BY d.caseEntity.id")
+    List<UsageSum> sumUsageByCase(@Param("caseIds") Collection<UUID> caseIds);
+
+    @Query("SELECT d.caseEntity.client.id AS ownerId, COALESCE(SUM(d.fileSize), 0) AS totalBytes, COUNT(d) AS documentCount " +
+           "FROM Document d WHERE d.caseEntity.client.id IN :clientIds GROUP BY d.caseEntity.client.id")
+    List<UsageSum> sumUsageByClient(@Param("clientIds") Collection<UUID> clientIds);
+
+    @Query("SELECT d.id AS id, d.uploadDate AS timestamp, d.name AS title, d.type AS description, " +
+           "u.name AS performedBy, CAST(NULL AS String) AS oldValue, CAST(NULL AS String) AS newValue " +
+           "FROM Document d LEFT JOIN d.uploadedBy u WHERE d.caseEntity.id = :caseId " +
+           "ORDER BY d.uploadDate DESC, d.id DESC")
+    List<TimelineEntryView> findLatestTimeline(@Param("caseId") UUID caseId, Limit limit);
+
+    @Query("SELECT d.id AS id, d.uploadDate AS timestamp, d.name AS title, d.type AS description, " +
+           "u.name AS performedBy, CAST(NULL AS String) AS oldValue, CAST(NULL AS String) AS newValue " +
+           "FROM Document d LEFT JOIN d.uploadedBy u WHERE d.caseEntity.id = :caseId " +
+           "AND (d.uploadDate < :beforeTimestamp OR (d.uploadDate = :beforeTimestamp AND d.id < :beforeId)) " +
+           "ORDER BY d.uploadDate DESC, d.id DESC")
+    List<TimelineEntryView> findTimelineBefore(@Param("caseId") UUID caseId,
+                                               @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+                                               @Param("beforeId") UUID beforeId,
+                                               Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM Document d WHERE d.caseEntity.id = :caseId")
+    int deleteByCaseId(@Param("caseId") UUID caseId);
+
+    interface IndexableDocument {
+        UUID getId();
+        UUID getCaseId();
+        String getFilePath();
+        String getCompressionCodec();
+        String getType();
+        LocalDateTime getUploadDate();
+    }
+
+    interface UsageSum {
+        UUID getOwnerId();
+        Long getTotalBytes();
+        Long getDocumentCount();
+    }
+
+    interface StoredFileReference {
+        UUID getId();
+        String getFilePath();
+        Boolean getFileMissing();
+    }
 }
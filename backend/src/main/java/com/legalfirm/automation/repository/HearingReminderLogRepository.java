@@ -0,0 +1,19 @@
+package com.legalfirm.automation.repository;
+
+import com.legalfirm.automation.entity.HearingReminderLog;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface HearingReminderLogRepository extends JpaRepository<HearingReminderLog, UUID> {
+    boolean existsByHearingIdAndLeadMinutesAndHearingDate(UUID hearingId, Long leadMinutes, LocalDateTime hearingDate);
+
+    @Modifying
+    @Query("DELETE FROM HearingReminderLog l WHERE l.hearingDate < :before")
+    int deleteByHearingDateBefore(LocalDateTime before);
+}
@@ -1,27 +1,141 @@
 package com.legalfirm.automation.repository;
 
 import com.legalfirm.automation.entity.Hearing;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface HearingRepository extends JpaRepository<Hearing, UUID> {
+    @EntityGraph(Hearing.WITH_CASE)
     List<Hearing> findByCaseEntityId(UUID caseId);
+
+    @EntityGraph(Hearing.WITH_CASE)
     Page<Hearing> findByCaseEntityId(UUID caseId, Pageable pageable);
-    
+
+    @EntityGraph(Hearing.WITH_CASE)
+    Optional<Hearing> findWithCaseById(UUID id);
+
+    @EntityGraph(Hearing.WITH_CASE)
+    List<Hearing> findWithCaseByIdIn(Collection<UUID> ids);
+
+    @EntityGraph(Hearing.WITH_CASE)
     @Query("SELECT h FROM Hearing h WHERE h.date >= :startDate AND h.date <= :endDate ORDER BY h.date")
     List<Hearing> findHearingsBetweenDates(LocalDateTime startDate, LocalDateTime endDate);
-    
+
+    @EntityGraph(Hearing.WITH_CASE)
     @Query("SELECT h FROM Hearing h WHERE h.date >= CURRENT_TIMESTAMP ORDER BY h.date")
-    List<Hearing> findUpcomingHearings();
-    
+    List<Hearing> findUpcomingHearings(Limit limit);
+
+    @EntityGraph(Hearing.WITH_CASE)
     @Query("SELECT h FROM Hearing h WHERE h.date >= CURRENT_TIMESTAMP ORDER BY h.date")
     Page<Hearing> findUpcomingHearings(Pageable pageable);
-}
\ No newline at end of file
+
+    @Query("SELECT COUNT(h) FROM Hearing h WHERE h.date >= CURRENT_TIMESTAMP")
+    long countUpcomingHearings();
+
+    @Query("SELECT h.caseEntity.id AS caseId, COUNT(h) AS count FROM Hearing h " +
+           "WHERE h.caseEntity.id IN :caseIds GROUP BY h.caseEntity.id")
+    List<CaseCountView> countByCaseIds(Collection<UUID> caseIds);
+
+    @Query("SELECT h.id AS id, h.caseEntity.id AS caseId, h.date AS date, h.durationMinutes AS durationMinutes " +
+           "FROM Hearing h WHERE h.caseEntity.assignedLawyer.id = :lawyerId AND h.date >= :from")
+    List<HearingSlotView> findSlotsByLawyerId(UUID lawyerId, LocalDateTime from);
+
+    @Query("SELECT h.id AS id, h.caseEntity.id AS caseId, h.date AS date, h.durationMinutes AS durationMinutes " +
+           "FROM Hearing h WHERE h.caseEntity.assignedLawyer.id = :lawyerId AND h.date >= :from AND h.date < :to")
+    List<HearingSlotView> findSlotsByLawyerIdBetween(UUID lawyerId, LocalDateTime from, LocalDateTime to);
+
+    @Query("SELECT h.caseEntity.assignedLawyer.id AS lawyerId, h.id AS id, h.caseEntity.id AS caseId, " +
+           "h.date AS date, h.durationMinutes AS durationMinutes " +
+           "FROM Hearing h WHERE h.caseEntity.assignedLawyer.id IN :lawyerIds AND h.date >= :from")
+    List<LawyerHearingSlotView> findSlotsByLawyerIds(Collection<UUID> lawyerIds, LocalDateTime from);
+
+    @Query("SELECT DISTINCT h.caseEntity.assignedLawyer.id FROM Hearing h " +
+           "WHERE h.date >= :startDate AND h.date < :endDate AND h.caseEntity.assignedLawyer IS NOT NULL")
+    List<UUID> findAssignedLawyerIdsBetween(LocalDateTime startDate, LocalDateTime endDate);
+
+    String HEARING_DETAIL_SELECT = "SELECT h.id AS id, h.date AS date, h.durationMinutes AS durationMinutes, " +
+           "h.notes AS notes, h.createdAt AS createdAt, c.id AS caseId, c.title AS caseTitle, cl.name AS clientName " +
+           "FROM Hearing h JOIN h.caseEntity c JOIN c.client cl ";
+
+    @Query(HEARING_DETAIL_SELECT + "WHERE c.assignedLawyer.id = :lawyerId AND h.date >= :from ORDER BY h.date, h.id")
+    List<HearingDetailView> findCalendarEntries(UUID lawyerId, LocalDateTime from);
+
+    // Projections keep the case and client out of the persistence context
+    @Query(HEARING_DETAIL_SELECT + "ORDER BY h.date, h.id")
+    List<HearingDetailView> findAllDetails();
+
+    @Query(value = HEARING_DETAIL_SELECT, countQuery = "SELECT COUNT(h) FROM Hearing h")
+    Page<HearingDetailView> findAllDetails(Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(HEARING_DETAIL_SELECT + "ORDER BY h.date, h.id")
+    Stream<HearingDetailView> streamAllDetails();
+
+    @Query("SELECT h.id AS id, c.id AS caseId, l.id AS lawyerId, h.date AS date, h.durationMinutes AS durationMinutes " +
+           "FROM Hearing h JOIN h.caseEntity c LEFT JOIN c.assignedLawyer l WHERE h.id IN :hearingIds ORDER BY h.date, h.id")
+    List<LawyerHearingSlotView> findSlotsByIds(Collection<UUID> hearingIds);
+
+    @Query("SELECT h.id AS id, c.id AS caseId, l.id AS lawyerId, h.date AS date, h.durationMinutes AS durationMinutes " +
+           "FROM Hearing h JOIN h.caseEntity c LEFT JOIN c.assignedLawyer l " +
+           "WHERE h.date >= :startDate AND h.date < :endDate ORDER BY h.date, h.id")
+    List<LawyerHearingSlotView> findSlotsBetween(LocalDateTime startDate, LocalDateTime endDate);
+
+    @Query("SELECT h.id AS id, h.date AS timestamp, CAST(NULL AS String) AS title, h.notes AS description, " +
+           "CAST(NULL AS String) AS performedBy, CAST(NULL AS String) AS oldValue, CAST(NULL AS String) AS newValue " +
+           "FROM Hearing h WHERE h.caseEntity.id = :caseId " +
+           "ORDER BY h.date DESC, h.id DESC")
+    List<TimelineEntryView> findLatestTimeline(UUID caseId, Limit limit);
+
+    @Query("SELECT h.id AS id, h.date AS timestamp, CAST(NULL AS String) AS title, h.notes AS description, " +
+           "CAST(NULL AS String) AS performedBy, CAST(NULL AS String) AS oldValue, CAST(NULL AS String) AS newValue " +
+           "FROM Hearing h WHERE h.caseEntity.id = :caseId " +
+           "AND (h.date < :beforeTimestamp OR (h.date = :beforeTimestamp AND h.id < :beforeId)) " +
+           "ORDER BY h.date DESC, h.id DESC")
+    List<TimelineEntryView> findTimelineBefore(UUID caseId, LocalDateTime beforeTimestamp, UUID beforeId, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM Hearing h WHERE h.caseEntity.id = :caseId")
+    int deleteByCaseId(UUID caseId);
+
+    interface HearingSlotView {
+        UUID getId();
+        UUID getCaseId();
+        LocalDateTime getDate();
+        Integer getDurationMinutes();
+    }
+
+    interface LawyerHearingSlotView extends HearingSlotView {
+        UUID getLawyerId();
+    }
+
+    interface HearingDetailView {
+        UUID getId();
+        LocalDateTime getDate();
+        Integer getDurationMinutes();
+        String getNotes();
+        LocalDateTime getCreatedAt();
+        UUID getCaseId();
+        String getCaseTitle();
+        String getClientName();
+    }
+}
@@ -1,27 +1,144 @@
 package com.legalfirm.automation.repository;
 
 import com.legalfirm.automation.entity.Message;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface MessageRepository extends JpaRepository<Message, UUID> {
+    @EntityGraph(Message.WITH_PARTICIPANTS)
     @Query("SELECT m FROM Message m WHERE m.sender.id = :userId OR m.receiver.id = :userId ORDER BY m.timestamp DESC")
     Page<Message> findUserMessages(@Param("userId") UUID userId, Pageable pageable);
     
-    @Query("SELECT m FROM Message m WHERE " +
-           "(m.sender.id = :userId1 AND m.receiver.id = :userId2) OR " +
-           "(m.sender.id = :userId2 AND m.receiver.id = :userId1) " +
-           "ORDER BY m.timestamp DESC")
-    List<Message> findConversation(@Param("userId1") UUID userId1, @Param("userId2") UUID userId2);
+    /*
+     * A conversation is read one direction at a time so each query is a single range
+     * scan of idx_messages_conversation; the service merges the two directions.
+     */
+    @Query("SELECT m.id AS id, m.sender.id AS senderId, m.receiver.id AS receiverId, m.content AS content, " +
+           "m.timestamp AS timestamp, m.isRead AS isRead FROM Message m " +
+           "WHERE m.sender.id = :senderId AND m.receiver.id = :receiverId " +
+           "ORDER BY m.timestamp DESC, m.id DESC")
+    List<ConversationMessageView> findLatestSent(@Param("senderId") UUID senderId,
+                                                 @Param("receiverId") UUID receiverId,
+                                                 Limit limit);
+
+    @Query("SELECT m.id AS id, m.sender.id AS senderId, m.receiver.id AS receiverId, m.content AS content, " +
+           "m.timestamp AS timestamp, m.isRead AS isRead FROM Message m " +
+           "WHERE m.sender.id = :senderId AND m.receiver.id = :receiverId " +
+           "AND (m.timestamp < :beforeTimestamp OR (m.timestamp = :beforeTimestamp AND m.id < :beforeId)) " +
+           "ORDER BY m.timestamp DESC, m.id DESC")
+    List<ConversationMessageView> findSentBefore(@Param("senderId") UUID senderId,
+                                                 @Param("receiverId") UUID receiverId,
+                                                 @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+                                                 @Param("beforeId") UUID beforeId,
+                                                 Limit limit);
     
+    @Query("SELECT m.id AS id, m.sender.id AS senderId, m.receiver.id AS receiverId, m.content AS content, " +
+           "m.timestamp AS timestamp, m.isRead AS isRead FROM Message m WHERE m.id IN :ids")
+    List<ConversationMessageView> findViewsByIds(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT m.id AS id, m.sender.id AS senderId, m.receiver.id AS receiverId, m.content AS content, " +
+           "m.timestamp AS timestamp, m.isRead AS isRead FROM Message m WHERE m.id > :after ORDER BY m.id")
+    List<ConversationMessageView> findViewsAfter(@Param("after") UUID after, Limit limit);
+
+    /**
+     * Messages sent at or after {@code since}, in (timestamp, id) order from the
+     * position of the last row read, for the search index catch-up.
+     */
+    @Query("SELECT m.id AS id, m.sender.id AS senderId, m.receiver.id AS receiverId, m.content AS content, " +
+           "m.timestamp AS timestamp, m.isRead AS isRead FROM Message m " +
+           "WHERE m.timestamp >= :since AND (m.timestamp > :since OR m.id > :after) ORDER BY m.timestamp, m.id")
+    List<ConversationMessageView> findViewsSentSince(@Param("since") LocalDateTime since, @Param("after") UUID after,
+                                                     Limit limit);
+
     @Query("SELECT COUNT(m) FROM Message m WHERE m.receiver.id = :userId AND m.isRead = false")
     long countUnreadMessages(@Param("userId") UUID userId);
-}
\ No newline at end of file
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM Message m WHERE m.id = :id")
+    Optional<Message> findByIdForUpdate(@Param("id") UUID id);
+
+    @Query("SELECT COUNT(m) FROM Message m WHERE m.sender.id = :senderId AND m.receiver.id = :receiverId " +
+           "AND m.isRead = false")
+    long countUnreadFrom(@Param("senderId") UUID senderId, @Param("receiverId") UUID receiverId);
+
+    /*
+     * Latest message and unread count of every conversation of the given users,
+     * in one pass: each message is listed once per participant and ranked within
+     * its conversation. Used to rebuild the conversation summaries. Ids are
+     * returned as text because native UUID columns map differently per database.
+     */
+    @Query(value = "SELECT CAST(r.user_id AS VARCHAR(36)) AS userId, CAST(r.partner_id AS VARCHAR(36)) AS partnerId, " +
+                   "CAST(r.id AS VARCHAR(36)) AS lastMessageId, CAST(r.sender_id AS VARCHAR(36)) AS lastSenderId, " +
+                   "r.content AS content, r.timestamp AS lastMessageAt, r.unread_count AS unreadCount FROM (" +
+                   "SELECT x.*, ROW_NUMBER() OVER (PARTITION BY x.user_id, x.partner_id " +
+                   "ORDER BY x.timestamp DESC, x.id DESC) AS rn, " +
+                   "SUM(CASE WHEN x.receiver_id = x.user_id AND x.is_read = false THEN 1 ELSE 0 END) " +
+                   "OVER (PARTITION BY x.user_id, x.partner_id) AS unread_count FROM (" +
+                   "SELECT m.id, m.sender_id, m.receiver_id, m.content, m.timestamp, m.is_read, " +
+                   "m.sender_id AS user_id, m.receiver_id AS partner_id FROM messages m WHERE m.sender_id IN (:userIds) " +
+                   "UNION ALL " +
+                   "SELECT m.id, m.sender_id, m.receiver_id, m.content, m.timestamp, m.is_read, " +
+                   "m.receiver_id AS user_id, m.sender_id AS partner_id FROM messages m WHERE m.receiver_id IN (:userIds)" +
+                   ") x) r WHERE r.rn = 1",
+           nativeQuery = true)
+    List<ConversationLatest> findConversationLatest(@Param("userIds") Collection<UUID> userIds);
+
+    @Query("SELECT m.receiver.id AS userId, COUNT(m) AS unreadCount FROM Message m " +
+           "WHERE m.receiver.id IN :userIds AND m.isRead = false GROUP BY m.receiver.id")
+    List<UnreadCount> countUnreadByReceivers(@Param("userIds") Collection<UUID> userIds);
+
+    /*
+     * Conditional updates: only the transaction that actually flips a message to
+     * read sees a row count, so the unread counter is decremented exactly once.
+     */
+    @Modifying
+    @Query("UPDATE Message m SET m.isRead = true, m.updatedAt = :now WHERE m.id = :id AND m.isRead = false")
+    int markAsRead(@Param("id") UUID id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Message m SET m.isRead = true, m.updatedAt = :now " +
+           "WHERE m.sender.id = :senderId AND m.receiver.id = :receiverId AND m.isRead = false")
+    int markConversationAsRead(@Param("senderId") UUID senderId,
+                               @Param("receiverId") UUID receiverId,
+                               @Param("now") LocalDateTime now);
+
+    interface ConversationMessageView {
+        UUID getId();
+        UUID getSenderId();
+        UUID getReceiverId();
+        String getContent();
+        LocalDateTime getTimestamp();
+        Boolean getIsRead();
+    }
+
+    interface ConversationLatest {
+        String getUserId();
+        String getPartnerId();
+        String getLastMessageId();
+        String getLastSenderId();
+        String getContent();
+        LocalDateTime getLastMessageAt();
+        Long getUnreadCount();
+    }
+
+    interface UnreadCount {
+        UUID getUserId();
+        Long getUnreadCount();
+    }
+}
@@ -0,0 +1,59 @@
+package com.legalfirm.automation.repository;
+
+import com.legalfirm.automation.entity.StorageUsage;
+import com.legalfirm.automation.enums.StorageOwnerType;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface StorageUsageRepository extends JpaRepository<StorageUsage, UUID> {
+
+    Page<StorageUsage> findByOwnerType(StorageOwnerType ownerType, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE StorageUsage u SET u.totalBytes = u.totalBytes + :bytes, " +
+           "u.documentCount = u.documentCount + :documents, u.updatedAt = :now " +
+           "WHERE u.ownerId = :ownerId")
+    int applyDelta(@Param("ownerId") UUID ownerId,
+                   @Param("bytes") long bytes,
+                   @Param("documents") long documents,
+                   @Param("now") LocalDateTime now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM StorageUsage u WHERE u.ownerId IN :ownerIds")
+    List<StorageUsage> lockAllById(@Param("ownerIds") Collection<UUID> ownerIds);
+
+    @Query("SELECT COALESCE(SUM(u.totalBytes), 0) AS totalBytes, COALESCE(SUM(u.documentCount), 0) AS documentCount " +
+           "FROM StorageUsage u WHERE u.ownerType = :ownerType")
+    UsageTotals sumByOwnerType(@Param("ownerType") StorageOwnerType ownerType);
+
+    @Modifying
+    @Query("DELETE FROM StorageUsage u WHERE u.ownerId = :clientId " +
+           "OR u.ownerId IN (SELECT c.id FROM Case c WHERE c.client.id = :clientId)")
+    int deleteClientAndCases(@Param("clientId") UUID clientId);
+
+    @Modifying
+    @Query("DELETE FROM StorageUsage u WHERE " +
+           "(u.ownerType = com.legalfirm.automation.enums.StorageOwnerType.CASE " +
+           "AND u.ownerId NOT IN (SELECT c.id FROM Case c)) OR " +
+           "(u.ownerType = com.legalfirm.automation.enums.StorageOwnerType.CLIENT " +
+           "AND u.ownerId NOT IN (SELECT c.id FROM Client c))")
+    int deleteOrphaned();
+
+    interface UsageTotals {
+        Long getTotalBytes();
+        Long getDocumentCount();
+    }
+}
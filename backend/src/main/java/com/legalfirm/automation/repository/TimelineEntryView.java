@@ -0,0 +1,18 @@
+package com.legalfirm.automation.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Common shape of every case timeline source, so the sources can be merged
+ * without loading their entities.
+ */
+public interface TimelineEntryView {
+    UUID getId();
+    LocalDateTime getTimestamp();
+    String getTitle();
+    String getDescription();
+    String getPerformedBy();
+    String getOldValue();
+    String getNewValue();
+}
@@ -0,0 +1,34 @@
+package com.legalfirm.automation.repository;
+
+import com.legalfirm.automation.entity.UnreadMessageCounter;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface UnreadMessageCounterRepository extends JpaRepository<UnreadMessageCounter, UUID> {
+
+    @Modifying
+    @Query("UPDATE UnreadMessageCounter c SET c.unreadCount = c.unreadCount + :delta, c.updatedAt = :now " +
+           "WHERE c.userId = :userId")
+    int applyDelta(@Param("userId") UUID userId,
+                   @Param("delta") long delta,
+                   @Param("now") LocalDateTime now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM UnreadMessageCounter c WHERE c.userId IN :userIds")
+    List<UnreadMessageCounter> lockAllById(@Param("userIds") Collection<UUID> userIds);
+
+    @Modifying
+    @Query("DELETE FROM UnreadMessageCounter c WHERE c.userId NOT IN (SELECT u.id FROM User u)")
+    int deleteOrphaned();
+}
@@ -0,0 +1,14 @@
+package com.legalfirm.automation.repository;
+
+import com.legalfirm.automation.entity.User;
+
+import java.util.Optional;
+
+/**
+ * Loads users by email through Hibernate's natural-id cache, so the lookup done on
+ * every authenticated request is served from memory once the user is cached.
+ */
+public interface UserNaturalIdLookup {
+
+    Optional<User> findByEmail(String email);
+}
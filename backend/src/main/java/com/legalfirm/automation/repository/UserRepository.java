@@ -2,16 +2,48 @@ package com.legalfirm.automation.repository;
 
 import com.legalfirm.automation.entity.User;
 import com.legalfirm.automation.enums.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
-    Optional<User> findByEmail(String email);
+public interface UserRepository extends JpaRepository<User, UUID>, UserNaturalIdLookup {
     boolean existsByEmail(String email);
     List<User> findByRole(Role role);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u.id AS id, u.name AS name, u.email AS email, u.role AS role, u.contactNumber AS contactNumber " +
+           "FROM User u ORDER BY u.name, u.id")
+    Stream<UserSummaryView> streamAllSummaries();
+
+    @Query("SELECT u.id FROM User u WHERE u.id > :after ORDER BY u.id")
+    List<UUID> findIdsAfter(@Param("after") UUID after, Pageable pageable);
+
+    /**
+     * Locks the rows of the given users until the transaction ends, in id order so
+     * two transactions locking overlapping sets cannot deadlock.
+     */
+    @Query(value = "SELECT id FROM users WHERE id IN (:ids) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<UUID> lockByIds(@Param("ids") Collection<UUID> ids);
+
+    interface UserSummaryView {
+        UUID getId();
+        String getName();
+        String getEmail();
+        Role getRole();
+        String getContactNumber();
+    }
 }
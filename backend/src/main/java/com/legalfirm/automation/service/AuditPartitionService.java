@@ -0,0 +1,182 @@
+package com.legalfirm.automation.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Keeps the monthly partitions of the audit tables ({@code case_history},
+ * {@code case_activities}) in shape once migration V2 has partitioned them.
+ * <p>
+ * Partitions for the coming months are created ahead of time, so inserts never
+ * fall into the default partition. Optionally, partitions older than the retention
+ * window are detached and moved into an archive schema (and tablespace): they stop
+ * being visible to the application but stay queryable for audits. Tables that are
+ * not partitioned, including everything on H2, are left alone.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuditPartitionService {
+
+    private static final List<PartitionedTable> TABLES = List.of(
+            new PartitionedTable("case_history"),
+            new PartitionedTable("case_activities"));
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final String IDENTIFIER = "[a-z_][a-z0-9_]*";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.audit.partitioning.enabled:true}")
+    private boolean enabled;
+
+    @Value("${application.audit.partitioning.premake-months:3}")
+    private int premakeMonths;
+
+    @Value("${application.audit.partitioning.detach-after-months:0}")
+    private int detachAfterMonths;
+
+    @Value("${application.audit.partitioning.archive-schema:audit_archive}")
+    private String archiveSchema;
+
+    @Value("${application.audit.partitioning.archive-tablespace:}")
+    private String archiveTablespace;
+
+    private Boolean postgres;
+
+    @PostConstruct
+    public void init() {
+        if (!archiveSchema.matches(IDENTIFIER)
+                || (!archiveTablespace.isEmpty() && !archiveTablespace.matches(IDENTIFIER))) {
+            throw new IllegalStateException("application.audit.partitioning archive schema and tablespace must be lower-case SQL identifiers");
+        }
+        if (detachAfterMonths > 0 && detachAfterMonths <= premakeMonths) {
+            throw new IllegalStateException("application.audit.partitioning.detach-after-months must be greater than premake-months");
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${application.audit.partitioning.maintenance-cron:0 15 2 * * *}")
+    public void maintain() {
+        if (!enabled || !isPostgres()) {
+            return;
+        }
+        for (PartitionedTable table : TABLES) {
+            if (!isPartitioned(table)) {
+                log.debug("{} is not partitioned, skipping partition maintenance", table.name());
+                continue;
+            }
+            createUpcomingPartitions(table);
+            if (detachAfterMonths > 0) {
+                detachExpiredPartitions(table);
+            }
+        }
+    }
+
+    private void createUpcomingPartitions(PartitionedTable table) {
+        YearMonth current = YearMonth.now();
+        for (int ahead = 0; ahead <= premakeMonths; ahead++) {
+            YearMonth month = current.plusMonths(ahead);
+            String partition = table.partitionName(month);
+            if (relationExists(partition)) {
+                continue;
+            }
+            try {
+                jdbcTemplate.execute("CREATE TABLE " + partition + " PARTITION OF " + table.name()
+                        + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+                meterRegistry.counter("audit.partitions.created", "table", table.name()).increment();
+                log.info("Created audit partition {}", partition);
+            } catch (DataAccessException ex) {
+                // Typically rows for that month already sit in the default partition
+                log.warn("Could not create audit partition {}: {}", partition, ex.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    private void detachExpiredPartitions(PartitionedTable table) {
+        YearMonth cutoff = YearMonth.now().minusMonths(detachAfterMonths);
+        List<String> partitions = jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = to_regclass(?)
+                ORDER BY c.relname
+                """, String.class, table.name());
+
+        for (String partition : partitions) {
+            YearMonth month = table.monthOf(partition);
+            if (month == null || !month.isBefore(cutoff)) {
+                continue;
+            }
+            jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + archiveSchema);
+            jdbcTemplate.execute("ALTER TABLE " + table.name() + " DETACH PARTITION " + partition);
+            jdbcTemplate.execute("ALTER TABLE " + partition + " SET SCHEMA " + archiveSchema);
+            String archived = archiveSchema + "." + partition;
+            // Detached partitions keep their foreign keys, which would block deleting or archiving the cases
+            for (String foreignKey : jdbcTemplate.queryForList(
+                    "SELECT conname FROM pg_constraint WHERE conrelid = to_regclass(?) AND contype = 'f'",
+                    String.class, archived)) {
+                jdbcTemplate.execute("ALTER TABLE " + archived + " DROP CONSTRAINT \"" + foreignKey + "\"");
+            }
+            if (!archiveTablespace.isEmpty()) {
+                jdbcTemplate.execute("ALTER TABLE " + archived + " SET TABLESPACE " + archiveTablespace);
+            }
+            meterRegistry.counter("audit.partitions.detached", "table", table.name()).increment();
+            log.info("Detached audit partition {} into schema {}", partition, archiveSchema);
+        }
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = "PostgreSQL".equals(jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+        }
+        return postgres;
+    }
+
+    private boolean isPartitioned(PartitionedTable table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(?))",
+                Boolean.class, table.name()));
+    }
+
+    private boolean relationExists(String name) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regclass(?) IS NOT NULL", Boolean.class, name));
+    }
+
+    private record PartitionedTable(String name) {
+
+        String partitionName(YearMonth month) {
+            return name + "_p" + month.format(PARTITION_SUFFIX);
+        }
+
+        /**
+         * The month a partition covers, or {@code null} for the default partition
+         * and anything not named by this service or migration V2.
+         */
+        YearMonth monthOf(String partition) {
+            String prefix = name + "_p";
+            if (!partition.startsWith(prefix) || !partition.substring(prefix.length()).matches("\\d{6}")) {
+                return null;
+            }
+            return YearMonth.parse(partition.substring(prefix.length()), PARTITION_SUFFIX);
+        }
+    }
+}
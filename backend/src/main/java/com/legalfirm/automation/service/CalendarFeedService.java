@@ -0,0 +1,293 @@
+package com.legalfirm.automation.service;
+
+import com.legalfirm.automation.cache.EntityCacheInvalidation;
+import com.legalfirm.automation.cache.EntityCacheInvalidationBroker;
+import com.legalfirm.automation.dto.response.CalendarSubscriptionResponse;
+import com.legalfirm.automation.entity.User;
+import com.legalfirm.automation.enums.Role;
+import com.legalfirm.automation.event.CalendarEntriesChangedEvent;
+import com.legalfirm.automation.event.HearingChangedEvent;
+import com.legalfirm.automation.event.LawyerScheduleChangedEvent;
+import com.legalfirm.automation.exception.ResourceNotFoundException;
+import com.legalfirm.automation.exception.UnauthorizedException;
+import com.legalfirm.automation.repository.HearingRepository;
+import com.legalfirm.automation.repository.UserRepository;
+import com.legalfirm.automation.util.ICalendarWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Serves each lawyer's hearings as an iCalendar subscription feed.
+ * <p>
+ * Calendar clients poll every few minutes, so feeds are rendered once and kept
+ * with their ETag until a hearing of that lawyer, or the case or client shown on
+ * one, changes. A poll with a matching {@code If-None-Match} is answered from
+ * memory without touching the database. Each lawyer has a generation number that
+ * is bumped on invalidation; a feed rendered from data read before the bump is
+ * never kept. Invalidations are sent to the other nodes under {@link #CACHE_NAME}.
+ * <p>
+ * Clients cannot send a JWT, so the feed URL carries an HMAC of the lawyer id and
+ * their calendar token version instead, keyed with a secret of its own. Bumping the
+ * version revokes that lawyer's URL; changing the secret revokes everyone's.
+ */
+@Service
+@RequiredArgsConstructor
+public class CalendarFeedService {
+
+    public static final String CACHE_NAME = "calendar-feeds";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String PRODUCT_ID = "-//Legal Case Management//Hearings//EN";
+    private static final String UID_DOMAIN = "@legal-case-management";
+
+    private final HearingRepository hearingRepository;
+    private final UserRepository userRepository;
+    private final HearingScheduleIndex scheduleIndex;
+    private final MeterRegistry meterRegistry;
+    private final EntityCacheInvalidationBroker invalidationBroker;
+
+    @Value("${application.calendar.feed-secret}")
+    private String feedSecret;
+
+    @Value("${application.calendar.past-days:90}")
+    private int pastDays;
+
+    @Value("${application.calendar.cache-ttl:PT1H}")
+    private Duration cacheTtl;
+
+    private final ConcurrentMap<UUID, Feed> feeds = new ConcurrentHashMap<>();
+    private final ConcurrentMap<UUID, Long> generations = new ConcurrentHashMap<>();
+
+    private SecretKeySpec signingKey;
+    private ZoneId zone;
+    private Counter cacheHits;
+    private Counter cacheMisses;
+
+    @PostConstruct
+    public void init() {
+        if (feedSecret == null || feedSecret.isBlank()) {
+            throw new IllegalStateException("application.calendar.feed-secret must be set");
+        }
+        this.signingKey = new SecretKeySpec(feedSecret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        this.zone = ZoneId.systemDefault();
+        this.cacheHits = Counter.builder("hearings.calendar.feed.cache")
+                .description("Calendar feed requests by cache outcome")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.cacheMisses = Counter.builder("hearings.calendar.feed.cache")
+                .description("Calendar feed requests by cache outcome")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Builds the subscription link for the current user, or for any lawyer when called by an admin.
+     */
+    public CalendarSubscriptionResponse getSubscription(UUID lawyerId, String baseUrl) {
+        return subscription(resolveLawyer(lawyerId), baseUrl);
+    }
+
+    /**
+     * Replaces the subscription link of the current user, or of any lawyer when called by an
+     * admin. The previous link stops working on every node once the transaction commits.
+     */
+    @Transactional
+    public CalendarSubscriptionResponse revokeSubscription(UUID lawyerId, String baseUrl) {
+        User lawyer = resolveLawyer(lawyerId);
+        lawyer.setCalendarTokenVersion(lawyer.getCalendarTokenVersion() + 1);
+        return subscription(userRepository.save(lawyer), baseUrl);
+    }
+
+    private User resolveLawyer(UUID lawyerId) {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        User currentUser = userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
+
+        if (lawyerId == null || lawyerId.equals(currentUser.getId())) {
+            return currentUser;
+        }
+        if (currentUser.getRole() != Role.ADMIN) {
+            throw new UnauthorizedException("Only admins can manage other lawyers' calendar subscriptions");
+        }
+        return userRepository.findById(lawyerId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + lawyerId));
+    }
+
+    private CalendarSubscriptionResponse subscription(User lawyer, String baseUrl) {
+        String token = feedToken(lawyer);
+        return CalendarSubscriptionResponse.builder()
+                .lawyerId(lawyer.getId())
+                .lawyerName(lawyer.getName())
+                .token(token)
+                .url(baseUrl + "/api/calendar/lawyers/" + lawyer.getId() + "/hearings.ics?token=" + token)
+                .build();
+    }
+
+    private String feedToken(User lawyer) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(signingKey);
+            String payload = lawyer.getId() + ":" + lawyer.getCalendarTokenVersion();
+            byte[] signature = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Could not sign calendar feed token", ex);
+        }
+    }
+
+    /**
+     * Returns the current feed for the lawyer, rendering it only when no valid cached copy exists.
+     */
+    public Feed getFeed(UUID lawyerId, String token) {
+        // From the users cache, so a poll still only reaches the database for a render
+        User lawyer = userRepository.findById(lawyerId).orElse(null);
+        if (lawyer == null || token == null || !MessageDigest.isEqual(
+                feedToken(lawyer).getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8))) {
+            throw new UnauthorizedException("Invalid calendar feed token");
+        }
+
+        Feed cached = feeds.get(lawyerId);
+        if (cached != null && cached.renderedAt().plus(cacheTtl).isAfter(LocalDateTime.now())) {
+            cacheHits.increment();
+            return cached;
+        }
+        cacheMisses.increment();
+
+        // Present before rendering, so a concurrent evictAll bumps it too
+        long generation = generations.computeIfAbsent(lawyerId, id -> 0L);
+        Feed feed = render(lawyerId);
+        feeds.put(lawyerId, feed);
+        if (generations.getOrDefault(lawyerId, 0L) != generation) {
+            // Invalidated while rendering: serve what we have, but don't keep it
+            feeds.remove(lawyerId, feed);
+        }
+        return feed;
+    }
+
+    @TransactionalEventListener
+    public void onHearingChanged(HearingChangedEvent event) {
+        if (event.lawyerId() != null) {
+            invalidate(event.lawyerId());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onLawyerScheduleChanged(LawyerScheduleChangedEvent event) {
+        invalidate(event.lawyerIds());
+    }
+
+    @TransactionalEventListener
+    public void onCalendarEntriesChanged(CalendarEntriesChangedEvent event) {
+        invalidate(event.lawyerIds());
+    }
+
+    /**
+     * Drops feeds another node invalidated.
+     */
+    @EventListener
+    public void onInvalidation(EntityCacheInvalidation invalidation) {
+        if (!CACHE_NAME.equals(invalidation.entityName())) {
+            return;
+        }
+        if (invalidation.id() == null) {
+            evictAll();
+        } else {
+            evict(UUID.fromString(invalidation.id()));
+        }
+    }
+
+    private void invalidate(Set<UUID> lawyerIds) {
+        if (lawyerIds == null || lawyerIds.isEmpty()) {
+            evictAll();
+            invalidationBroker.publish(EntityCacheInvalidation.all(CACHE_NAME));
+        } else {
+            lawyerIds.forEach(this::invalidate);
+        }
+    }
+
+    private void invalidate(UUID lawyerId) {
+        evict(lawyerId);
+        invalidationBroker.publish(EntityCacheInvalidation.of(CACHE_NAME, lawyerId));
+    }
+
+    private void evict(UUID lawyerId) {
+        generations.merge(lawyerId, 1L, Long::sum);
+        feeds.remove(lawyerId);
+    }
+
+    private void evictAll() {
+        generations.replaceAll((lawyerId, generation) -> generation + 1);
+        feeds.clear();
+    }
+
+    private Feed render(UUID lawyerId) {
+        List<HearingRepository.HearingDetailView> entries =
+                hearingRepository.findCalendarEntries(lawyerId, LocalDateTime.now().minusDays(pastDays));
+
+        ICalendarWriter calendar = new ICalendarWriter(zone)
+                .begin("VCALENDAR")
+                .property("VERSION", "2.0")
+                .property("PRODID", PRODUCT_ID)
+                .property("CALSCALE", "GREGORIAN")
+                .property("METHOD", "PUBLISH")
+                .text("X-WR-CALNAME", "Hearings");
+        for (HearingRepository.HearingDetailView entry : entries) {
+            LocalDateTime end = entry.getDate().plusMinutes(scheduleIndex.effectiveDuration(entry.getDurationMinutes()));
+            calendar.begin("VEVENT")
+                    .property("UID", entry.getId() + UID_DOMAIN)
+                    // Stable stamp so an unchanged calendar renders to identical bytes and keeps its ETag
+                    .dateTime("DTSTAMP", entry.getCreatedAt() != null ? entry.getCreatedAt() : entry.getDate())
+                    .dateTime("DTSTART", entry.getDate())
+                    .dateTime("DTEND", end)
+                    .text("SUMMARY", "Hearing: " + entry.getCaseTitle())
+                    .text("DESCRIPTION", describe(entry))
+                    .end("VEVENT");
+        }
+        byte[] body = calendar.end("VCALENDAR").toBytes();
+        return new Feed(etag(body), body, LocalDateTime.now());
+    }
+
+    private static String describe(HearingRepository.HearingDetailView entry) {
+        StringBuilder description = new StringBuilder("Client: ").append(entry.getClientName());
+        if (entry.getNotes() != null && !entry.getNotes().isBlank()) {
+            description.append('\n').append(entry.getNotes());
+        }
+        return description.toString();
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    public record Feed(String etag, byte[] body, LocalDateTime renderedAt) {
+    }
+}
@@ -0,0 +1,186 @@
+package com.legalfirm.automation.service;
+
+import com.legalfirm.automation.config.CacheConfig;
+import com.legalfirm.automation.dto.response.CaseDetailResponse;
+import com.legalfirm.automation.dto.response.CaseNoteResponse;
+import com.legalfirm.automation.entity.ArchivedDocument;
+import com.legalfirm.automation.entity.Case;
+import com.legalfirm.automation.entity.Document;
+import com.legalfirm.automation.enums.CaseStatus;
+import com.legalfirm.automation.event.CaseArchivedEvent;
+import com.legalfirm.automation.event.LawyerScheduleChangedEvent;
+import com.legalfirm.automation.repository.ArchivedDocumentRepository;
+import com.legalfirm.automation.repository.CaseActivityRepository;
+import com.legalfirm.automation.repository.CaseHistoryRepository;
+import com.legalfirm.automation.repository.CaseNoteRepository;
+import com.legalfirm.automation.repository.CaseRepository;
+import com.legalfirm.automation.repository.DocumentRepository;
+import com.legalfirm.automation.repository.HearingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Moves closed cases that have not changed for {@code closed-after} out of the
+ * hot tables, so case queries no longer wade through them.
+ * <p>
+ * Each case is archived in its own transaction. The case row is locked first, which
+ * keeps notes, hearings and documents from being added meanwhile. Its details, full
+ * history, activities and notes are then written to the archive as one bundle, and
+ * the dependent rows and the case are deleted. Document files stay in place and are
+ * recorded in {@code archived_documents}, through which they can still be downloaded.
+ * Cases with hearings still ahead are skipped. Once a case's archival commits, the
+ * cached details of its client and the recent cases are evicted.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CaseArchiveService {
+
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private final CaseRepository caseRepository;
+    private final CaseHistoryRepository caseHistoryRepository;
+    private final CaseActivityRepository caseActivityRepository;
+    private final CaseNoteRepository caseNoteRepository;
+    private final HearingRepository hearingRepository;
+    private final DocumentRepository documentRepository;
+    private final ArchivedDocumentRepository archivedDocumentRepository;
+    private final CaseService caseService;
+    private final CaseActivityService caseActivityService;
+    private final CaseNoteService caseNoteService;
+    private final CaseArchiveStore caseArchiveStore;
+    private final StorageUsageService storageUsageService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.cases.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${application.cases.archive.closed-after:P365D}")
+    private Duration closedAfter;
+
+    @Value("${application.cases.archive.batch-size:100}")
+    private int batchSize;
+
+    private TransactionTemplate transactionTemplate;
+    private Counter archivedCases;
+
+    @PostConstruct
+    public void init() {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archivedCases = Counter.builder("cases.archived")
+                .description("Closed cases moved to the archive")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${application.cases.archive.cron:0 30 1 * * *}")
+    public void archiveClosedCases() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(closedAfter);
+        int archived = 0;
+        int skipped = 0;
+        UUID after = FIRST_ID;
+        List<UUID> batch;
+        while (!(batch = caseRepository.findIdsByStatusUpdatedBefore(
+                CaseStatus.CLOSED, cutoff, after, Limit.of(batchSize))).isEmpty()) {
+            for (UUID caseId : batch) {
+                try {
+                    if (Boolean.TRUE.equals(transactionTemplate.execute(status -> archive(caseId, cutoff)))) {
+                        archived++;
+                    } else {
+                        skipped++;
+                    }
+                } catch (RuntimeException ex) {
+                    log.warn("Could not archive case {}", caseId, ex);
+                    skipped++;
+                }
+            }
+            after = batch.get(batch.size() - 1);
+        }
+        log.info("Case archival complete, {} cases archived, {} skipped", archived, skipped);
+    }
+
+    /**
+     * Drops the cached client details and recent cases that still list the case,
+     * once its archival has committed.
+     */
+    @TransactionalEventListener
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CLIENT_DETAILS, key = "#event.clientId()"),
+            @CacheEvict(cacheNames = CacheConfig.RECENT_CASES, allEntries = true)
+    })
+    public void onCaseArchived(CaseArchivedEvent event) {
+        log.debug("Evicting cached views of archived case {}", event.caseId());
+    }
+
+    private boolean archive(UUID caseId, LocalDateTime cutoff) {
+        Case caseEntity = caseRepository.findByIdForUpdate(caseId).orElse(null);
+        if (caseEntity == null || caseEntity.getStatus() != CaseStatus.CLOSED
+                || !caseEntity.getUpdatedAt().isBefore(cutoff)) {
+            // Changed since it was selected
+            return false;
+        }
+        CaseDetailResponse details = caseService.getCaseDetails(caseId);
+        if (details.getNextHearingDate() != null) {
+            return false;
+        }
+
+        List<Document> documents = documentRepository.findByCaseEntityId(caseId);
+        List<CaseNoteResponse> notes = caseNoteService.getCaseNotesPaginated(caseId, Pageable.unpaged()).getContent();
+        caseArchiveStore.save(new CaseArchiveStore.Bundle(
+                details,
+                caseService.getCaseHistory(caseId),
+                caseActivityService.getCaseActivities(caseId),
+                notes));
+        archivedDocumentRepository.saveAll(documents.stream()
+                .map(document -> ArchivedDocument.builder()
+                        .id(document.getId())
+                        .caseId(caseId)
+                        .filePath(document.getFilePath())
+                        .fileSize(document.getFileSize())
+                        .compressionCodec(document.getCompressionCodec())
+                        .build())
+                .toList());
+
+        storageUsageService.releaseCase(caseId, caseEntity.getClient().getId());
+        caseNoteRepository.deleteByCaseId(caseId);
+        caseActivityRepository.deleteByCaseId(caseId);
+        caseHistoryRepository.deleteByCaseId(caseId);
+        hearingRepository.deleteByCaseId(caseId);
+        documentRepository.deleteByCaseId(caseId);
+        caseRepository.deleteRowById(caseId);
+
+        eventPublisher.publishEvent(new CaseArchivedEvent(caseId, caseEntity.getClient().getId(),
+                documents.stream().map(Document::getId).toList(),
+                notes.stream().map(CaseNoteResponse::getId).toList()));
+        if (!details.getHearings().isEmpty() && details.getAssignedLawyer() != null) {
+            eventPublisher.publishEvent(new LawyerScheduleChangedEvent(Set.of(details.getAssignedLawyer().getId())));
+        }
+        archivedCases.increment();
+        log.debug("Archived case {}", caseId);
+        return true;
+    }
+}
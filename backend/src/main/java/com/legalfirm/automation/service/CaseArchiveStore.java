@@ -0,0 +1,139 @@
+package com.legalfirm.automation.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.legalfirm.automation.dto.response.CaseActivityResponse;
+import com.legalfirm.automation.dto.response.CaseDetailResponse;
+import com.legalfirm.automation.dto.response.CaseHistoryResponse;
+import com.legalfirm.automation.dto.response.CaseNoteResponse;
+import com.legalfirm.automation.entity.ArchivedCase;
+import com.legalfirm.automation.repository.ArchivedCaseRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Reads and writes the gzipped JSON bundles of archived cases.
+ * <p>
+ * Archived cases never change, so decoded details are kept in a bounded LRU cache
+ * without any invalidation; repeated opens of an old case are served from memory.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class CaseArchiveStore {
+
+    private final ArchivedCaseRepository archivedCaseRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.cases.archive.cache-size:500}")
+    private int cacheSize;
+
+    private Map<UUID, CaseDetailResponse> cache;
+    private Counter cacheHits;
+    private Counter cacheMisses;
+
+    @PostConstruct
+    public void init() {
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, CaseDetailResponse> eldest) {
+                return size() > cacheSize;
+            }
+        });
+        this.cacheHits = Counter.builder("cases.archive.cache")
+                .description("Archived case lookups by cache outcome")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.cacheMisses = Counter.builder("cases.archive.cache")
+                .description("Archived case lookups by cache outcome")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Details of an archived case as they were when it was archived, with
+     * {@code archivedAt} set, or empty when the id is not in the archive.
+     */
+    public Optional<CaseDetailResponse> findCaseDetails(UUID caseId) {
+        CaseDetailResponse cached = cache.get(caseId);
+        if (cached != null) {
+            cacheHits.increment();
+            return Optional.of(cached);
+        }
+
+        Optional<CaseDetailResponse> details = archivedCaseRepository.findById(caseId).map(archived -> {
+            CaseDetailResponse decoded = decode(archived).details();
+            decoded.setArchivedAt(archived.getArchivedAt());
+            return decoded;
+        });
+        details.ifPresent(decoded -> {
+            cacheMisses.increment();
+            cache.put(caseId, decoded);
+        });
+        return details;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void save(Bundle bundle) {
+        CaseDetailResponse details = bundle.details();
+        archivedCaseRepository.save(ArchivedCase.builder()
+                .id(details.getId())
+                .title(details.getTitle())
+                .clientId(details.getClient().getId())
+                .assignedLawyerId(details.getAssignedLawyer() != null ? details.getAssignedLawyer().getId() : null)
+                .createdAt(details.getCreatedAt())
+                .closedAt(details.getUpdatedAt())
+                .archivedAt(LocalDateTime.now())
+                .bundle(encode(bundle))
+                .build());
+    }
+
+    private byte[] encode(Bundle bundle) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, bundle);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not encode archive bundle for case " + bundle.details().getId(), ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    private Bundle decode(ArchivedCase archived) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(archived.getBundle()))) {
+            return objectMapper.readValue(in, Bundle.class);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not decode archive bundle for case " + archived.getId(), ex);
+        }
+    }
+
+    /**
+     * Everything kept of an archived case. Document files are not included; they
+     * stay in the upload directory.
+     */
+    public record Bundle(CaseDetailResponse details,
+                         List<CaseHistoryResponse> history,
+                         List<CaseActivityResponse> activities,
+                         List<CaseNoteResponse> notes) {
+    }
+}
@@ -7,12 +7,15 @@ import com.legalfirm.automation.dto.response.UserResponse;
 import com.legalfirm.automation.entity.Case;
 import com.legalfirm.automation.entity.CaseNote;
 import com.legalfirm.automation.entity.User;
+import com.legalfirm.automation.event.CaseNoteDeletedEvent;
+import com.legalfirm.automation.event.CaseNoteSavedEvent;
 import com.legalfirm.automation.exception.ResourceNotFoundException;
 import com.legalfirm.automation.exception.UnauthorizedException;
 import com.legalfirm.automation.repository.CaseNoteRepository;
 import com.legalfirm.automation.repository.CaseRepository;
 import com.legalfirm.automation.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -31,6 +34,7 @@ public class CaseNoteService {
     private final CaseRepository caseRepository;
     private final UserRepository userRepository;
     private final CaseActivityService caseActivityService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public CaseNoteResponse addNote(CaseNoteRequest request, UUID userId) {
@@ -48,6 +52,7 @@ public class CaseNoteService {
                 .build();
         
         CaseNote savedNote = caseNoteRepository.save(note);
+        eventPublisher.publishEvent(new CaseNoteSavedEvent(savedNote.getId()));
         
         // Log activity
         caseActivityService.logActivity(
@@ -91,6 +96,7 @@ public class CaseNoteService {
         
         note.setContent(content);
         CaseNote updatedNote = caseNoteRepository.save(note);
+        eventPublisher.publishEvent(new CaseNoteSavedEvent(updatedNote.getId()));
         
         return mapToResponse(updatedNote);
     }
@@ -109,6 +115,7 @@ public class CaseNoteService {
         }
         
         caseNoteRepository.deleteById(noteId);
+        eventPublisher.publishEvent(new CaseNoteDeletedEvent(noteId));
     }
 
     private CaseNoteResponse mapToResponse(CaseNote note) {
@@ -1,17 +1,24 @@
 package com.legalfirm.automation.service;
 
+import com.legalfirm.automation.config.CacheConfig;
 import com.legalfirm.automation.dto.request.CaseRequest;
 import com.legalfirm.automation.dto.request.CaseStatistics;
 import com.legalfirm.automation.dto.response.*;
 import com.legalfirm.automation.entity.*;
 import com.legalfirm.automation.enums.CaseStatus;
 import com.legalfirm.automation.enums.Role;
+import com.legalfirm.automation.event.CalendarEntriesChangedEvent;
+import com.legalfirm.automation.event.LawyerScheduleChangedEvent;
 import com.legalfirm.automation.exception.BadRequestException;
 import com.legalfirm.automation.exception.ResourceNotFoundException;
 import com.legalfirm.automation.exception.UnauthorizedException;
 import com.legalfirm.automation.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -37,6 +44,9 @@ public class CaseService {
     private final CaseHistoryRepository caseHistoryRepository;
     private final DocumentRepository documentRepository;
     private final HearingRepository hearingRepository;
+    private final StorageUsageService storageUsageService;
+    private final CaseArchiveStore caseArchiveStore;
+    private final ApplicationEventPublisher eventPublisher;
 
     public PageResponse<CaseResponse> getAllCases(Pageable pageable) {
         Page<Case> casePage = caseRepository.findAll(pageable);
@@ -110,13 +120,16 @@ public class CaseService {
     }
 
     public CaseDetailResponse getCaseDetails(UUID id) {
-        Case caseEntity = caseRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Case not found with id: " + id));
+        Case caseEntity = caseRepository.findWithPartiesById(id).orElse(null);
+        if (caseEntity == null) {
+            // Closed cases past the archive age are only in the archive
+            return caseArchiveStore.findCaseDetails(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Case not found with id: " + id));
+        }
 
         List<Document> documents = documentRepository.findByCaseEntityId(id);
         List<Hearing> hearings = hearingRepository.findByCaseEntityId(id);
-        List<CaseHistory> recentHistory = caseHistoryRepository.findByCaseEntityIdOrderByTimestampDesc(id)
-                .stream().limit(10).collect(Collectors.toList());
+        List<CaseHistory> recentHistory = caseHistoryRepository.findByCaseEntityIdOrderByTimestampDesc(id, Limit.of(10));
 
         LocalDateTime nextHearingDate = hearings.stream()
                 .filter(h -> h.getDate().isAfter(LocalDateTime.now()))
@@ -177,6 +190,10 @@ public class CaseService {
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CLIENT_DETAILS, key = "#request.clientId"),
+            @CacheEvict(cacheNames = CacheConfig.RECENT_CASES, allEntries = true)
+    })
     public CaseResponse createCase(CaseRequest request) {
         validateCaseRequest(request);
 
@@ -206,7 +223,12 @@ public class CaseService {
         return mapToCaseResponse(savedCase);
     }
 
+    // The client may change, and the previous one is not known up front
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CLIENT_DETAILS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.RECENT_CASES, allEntries = true)
+    })
     public CaseResponse updateCase(UUID id, CaseRequest request) {
         validateCaseRequest(request);
 
@@ -218,7 +240,9 @@ public class CaseService {
         String oldStatus = caseEntity.getStatus().toString();
         UUID oldLawyerId = caseEntity.getAssignedLawyer() != null ? caseEntity.getAssignedLawyer().getId() : null;
 
+        boolean calendarChanged = !oldTitle.equals(request.getTitle());
         if (request.getClientId() != null && !request.getClientId().equals(caseEntity.getClient().getId())) {
+            calendarChanged = true;
             Client client = clientRepository.findById(request.getClientId())
                     .orElseThrow(() -> new ResourceNotFoundException("Client not found with id: " + request.getClientId()));
             caseEntity.setClient(client);
@@ -236,6 +260,7 @@ public class CaseService {
             caseEntity.setAssignedLawyer(assignedLawyer);
             createHistoryEntry(caseEntity, "LAWYER_ASSIGNED", "Lawyer assignment changed",
                     oldLawyerName, assignedLawyer.getName());
+            publishLawyerChange(oldLawyerId, assignedLawyer.getId());
         }
 
         if (!oldTitle.equals(request.getTitle())) {
@@ -253,10 +278,18 @@ public class CaseService {
         caseEntity.setStatus(request.getStatus());
 
         Case updatedCase = caseRepository.save(caseEntity);
+        // Hearing calendar entries show the case title and client name
+        if (calendarChanged && updatedCase.getAssignedLawyer() != null) {
+            eventPublisher.publishEvent(new CalendarEntriesChangedEvent(Set.of(updatedCase.getAssignedLawyer().getId())));
+        }
         return mapToCaseResponse(updatedCase);
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CLIENT_DETAILS, key = "#result.client.id"),
+            @CacheEvict(cacheNames = CacheConfig.RECENT_CASES, allEntries = true)
+    })
     public CaseResponse updateCaseStatus(UUID id, CaseStatus newStatus, String reason) {
         Case caseEntity = caseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Case not found with id: " + id));
@@ -278,6 +311,10 @@ public class CaseService {
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CLIENT_DETAILS, key = "#result.client.id"),
+            @CacheEvict(cacheNames = CacheConfig.RECENT_CASES, allEntries = true)
+    })
     public CaseResponse assignCase(UUID id, UUID lawyerId) {
         Case caseEntity = caseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Case not found with id: " + id));
@@ -289,8 +326,10 @@ public class CaseService {
 
         String oldLawyerName = caseEntity.getAssignedLawyer() != null ?
                 caseEntity.getAssignedLawyer().getName() : "Unassigned";
+        UUID oldLawyerId = caseEntity.getAssignedLawyer() != null ? caseEntity.getAssignedLawyer().getId() : null;
 
         caseEntity.setAssignedLawyer(lawyer);
+        publishLawyerChange(oldLawyerId, lawyer.getId());
         Case updatedCase = caseRepository.save(caseEntity);
 
         createHistoryEntry(updatedCase, "LAWYER_ASSIGNED",
@@ -300,6 +339,10 @@ public class CaseService {
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CLIENT_DETAILS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.RECENT_CASES, allEntries = true)
+    })
     public void deleteCase(UUID id) {
         Case caseEntity = caseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Case not found with id: " + id));
@@ -313,6 +356,7 @@ public class CaseService {
             throw new BadRequestException("Cannot delete case with scheduled hearings");
         }
 
+        storageUsageService.releaseCase(id, caseEntity.getClient().getId());
         caseRepository.deleteById(id);
         log.info("Case {} deleted by user {}", id, getCurrentUser().getEmail());
     }
@@ -401,6 +445,15 @@ public class CaseService {
         caseHistoryRepository.save(history);
     }
 
+    private void publishLawyerChange(UUID oldLawyerId, UUID newLawyerId) {
+        Set<UUID> lawyerIds = new HashSet<>();
+        lawyerIds.add(newLawyerId);
+        if (oldLawyerId != null) {
+            lawyerIds.add(oldLawyerId);
+        }
+        eventPublisher.publishEvent(new LawyerScheduleChangedEvent(lawyerIds));
+    }
+
     private User getCurrentUser() {
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
         return userRepository.findByEmail(email)
@@ -437,7 +490,7 @@ public class CaseService {
     }
 
     private Double calculateAverageCaseDuration() {
-        List<Case> closedCases = caseRepository.findByStatus(CaseStatus.CLOSED, Pageable.unpaged()).getContent();
+        List<Case> closedCases = caseRepository.findAllByStatus(CaseStatus.CLOSED);
         if (closedCases.isEmpty()) return 0.0;
 
         double totalDays = closedCases.stream()
@@ -449,6 +502,32 @@ public class CaseService {
 
     // Mapping methods
     private CaseResponse mapToCaseResponse(Case caseEntity) {
+        return mapToCaseResponses(List.of(caseEntity)).get(0);
+    }
+
+    /**
+     * Maps cases loaded with {@link Case#WITH_PARTIES}. Hearing and document
+     * totals come from one grouped query each rather than from the collections.
+     */
+    private List<CaseResponse> mapToCaseResponses(List<Case> cases) {
+        if (cases.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> caseIds = cases.stream().map(Case::getId).toList();
+        Map<UUID, Long> hearingCounts = toCountMap(hearingRepository.countByCaseIds(caseIds));
+        Map<UUID, Long> documentCounts = toCountMap(documentRepository.countByCaseIds(caseIds));
+        return cases.stream()
+                .map(caseEntity -> mapToCaseResponse(caseEntity,
+                        hearingCounts.getOrDefault(caseEntity.getId(), 0L).intValue(),
+                        documentCounts.getOrDefault(caseEntity.getId(), 0L).intValue()))
+                .collect(Collectors.toList());
+    }
+
+    private static Map<UUID, Long> toCountMap(List<CaseCountView> counts) {
+        return counts.stream().collect(Collectors.toMap(CaseCountView::getCaseId, CaseCountView::getCount));
+    }
+
+    private CaseResponse mapToCaseResponse(Case caseEntity, int totalHearings, int totalDocuments) {
         return CaseResponse.builder()
                 .id(caseEntity.getId())
                 .title(caseEntity.getTitle())
@@ -457,8 +536,8 @@ public class CaseService {
                 .client(mapToClientResponse(caseEntity.getClient()))
                 .assignedLawyer(caseEntity.getAssignedLawyer() != null ?
                         mapToUserResponse(caseEntity.getAssignedLawyer()) : null)
-                .totalHearings(caseEntity.getHearings() != null ? caseEntity.getHearings().size() : 0)
-                .totalDocuments(caseEntity.getDocuments() != null ? caseEntity.getDocuments().size() : 0)
+                .totalHearings(totalHearings)
+                .totalDocuments(totalDocuments)
                 .createdAt(caseEntity.getCreatedAt())
                 .updatedAt(caseEntity.getUpdatedAt())
                 .build();
@@ -525,7 +604,7 @@ public class CaseService {
 
     private PageResponse<CaseResponse> mapToPageResponse(Page<Case> page) {
         return PageResponse.<CaseResponse>builder()
-                .content(page.getContent().stream().map(this::mapToCaseResponse).collect(Collectors.toList()))
+                .content(mapToCaseResponses(page.getContent()))
                 .pageNumber(page.getNumber())
                 .pageSize(page.getSize())
                 .totalElements(page.getTotalElements())
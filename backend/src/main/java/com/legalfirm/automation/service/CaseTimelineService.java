@@ -0,0 +1,186 @@
+package com.legalfirm.automation.service;
+
+import com.legalfirm.automation.dto.response.CursorPageResponse;
+import com.legalfirm.automation.dto.response.TimelineEntryResponse;
+import com.legalfirm.automation.enums.TimelineEntryType;
+import com.legalfirm.automation.exception.BadRequestException;
+import com.legalfirm.automation.exception.ResourceNotFoundException;
+import com.legalfirm.automation.repository.CaseActivityRepository;
+import com.legalfirm.automation.repository.CaseHistoryRepository;
+import com.legalfirm.automation.repository.CaseNoteRepository;
+import com.legalfirm.automation.repository.CaseRepository;
+import com.legalfirm.automation.repository.DocumentRepository;
+import com.legalfirm.automation.repository.HearingRepository;
+import com.legalfirm.automation.repository.TimelineEntryView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * Merges a case's history, activities, notes, documents and hearings into one
+ * timeline, newest first.
+ * <p>
+ * Entries are ordered by {@code (timestamp, type, id)} descending and paged with
+ * a cursor on that key. Each source is read with its own keyset query, limited to
+ * one page, over its {@code (case_id, timestamp, id)} index; the pages are then
+ * merged in memory. A page therefore costs five small range scans however long
+ * the case has been open. Hearings are placed at their hearing date, so upcoming
+ * hearings appear first.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class CaseTimelineService {
+
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+    private static final UUID MAX_ID = new UUID(-1L, -1L);
+    private static final Comparator<Entry> NEWEST_FIRST = Comparator
+            .comparing((Entry entry) -> entry.view().getTimestamp())
+            .thenComparing(Entry::type)
+            .reversed();
+
+    private final CaseRepository caseRepository;
+    private final CaseHistoryRepository caseHistoryRepository;
+    private final CaseActivityRepository caseActivityRepository;
+    private final CaseNoteRepository caseNoteRepository;
+    private final DocumentRepository documentRepository;
+    private final HearingRepository hearingRepository;
+
+    public CursorPageResponse<TimelineEntryResponse> getTimeline(UUID caseId, UUID userId, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw BadRequestException.Builder.invalidField("size", size);
+        }
+        if (!caseRepository.existsById(caseId)) {
+            throw new ResourceNotFoundException("Case not found with id: " + caseId);
+        }
+        TimelineCursor position = cursor == null || cursor.isBlank() ? null : TimelineCursor.decode(cursor);
+
+        // One extra entry tells whether another page follows
+        Limit limit = Limit.of(size + 1);
+        List<List<Entry>> sources = new ArrayList<>();
+        for (TimelineEntryType type : TimelineEntryType.values()) {
+            sources.add(fetch(type, caseId, userId, position, limit).stream()
+                    .map(view -> new Entry(type, view))
+                    .toList());
+        }
+
+        List<Entry> merged = mergeNewestFirst(sources, size + 1);
+        boolean hasMore = merged.size() > size;
+        List<Entry> page = hasMore ? merged.subList(0, size) : merged;
+        Entry last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return CursorPageResponse.<TimelineEntryResponse>builder()
+                .content(page.stream()
+                        .map(entry -> TimelineEntryResponse.builder()
+                                .type(entry.type())
+                                .id(entry.view().getId())
+                                .timestamp(entry.view().getTimestamp())
+                                .title(entry.view().getTitle())
+                                .description(entry.view().getDescription())
+                                .performedBy(entry.view().getPerformedBy())
+                                .oldValue(entry.view().getOldValue())
+                                .newValue(entry.view().getNewValue())
+                                .build())
+                        .toList())
+                .pageSize(size)
+                .hasMore(hasMore)
+                .nextCursor(hasMore
+                        ? new TimelineCursor(last.view().getTimestamp(), last.type(), last.view().getId()).encode()
+                        : null)
+                .build();
+    }
+
+    /**
+     * Reads the next entries of one source after the cursor. Entries of a source
+     * ordered before the cursor's type may share its timestamp, and those ordered
+     * after it may not, so the id bound becomes the largest or smallest possible id.
+     */
+    private List<TimelineEntryView> fetch(TimelineEntryType type, UUID caseId, UUID userId,
+                                          TimelineCursor position, Limit limit) {
+        if (position == null) {
+            return switch (type) {
+                case HISTORY -> caseHistoryRepository.findLatestTimeline(caseId, limit);
+                case ACTIVITY -> caseActivityRepository.findLatestTimeline(caseId, limit);
+                case NOTE -> caseNoteRepository.findLatestVisibleTimeline(caseId, userId, limit);
+                case DOCUMENT -> documentRepository.findLatestTimeline(caseId, limit);
+                case HEARING -> hearingRepository.findLatestTimeline(caseId, limit);
+            };
+        }
+
+        int byType = type.compareTo(position.type());
+        UUID beforeId = byType == 0 ? position.id() : byType < 0 ? MAX_ID : MIN_ID;
+        LocalDateTime before = position.timestamp();
+        return switch (type) {
+            case HISTORY -> caseHistoryRepository.findTimelineBefore(caseId, before, beforeId, limit);
+            case ACTIVITY -> caseActivityRepository.findTimelineBefore(caseId, before, beforeId, limit);
+            case NOTE -> caseNoteRepository.findVisibleTimelineBefore(caseId, userId, before, beforeId, limit);
+            case DOCUMENT -> documentRepository.findTimelineBefore(caseId, before, beforeId, limit);
+            case HEARING -> hearingRepository.findTimelineBefore(caseId, before, beforeId, limit);
+        };
+    }
+
+    /**
+     * k-way merge of the per-source pages. Each source is already in timeline
+     * order, so only the head of each source is compared.
+     */
+    private static List<Entry> mergeNewestFirst(List<List<Entry>> sources, int limit) {
+        PriorityQueue<SourceHead> heads = new PriorityQueue<>(sources.size(),
+                Comparator.comparing(SourceHead::entry, NEWEST_FIRST));
+        for (List<Entry> source : sources) {
+            if (!source.isEmpty()) {
+                heads.add(new SourceHead(source, 0));
+            }
+        }
+
+        List<Entry> merged = new ArrayList<>(limit);
+        while (merged.size() < limit && !heads.isEmpty()) {
+            SourceHead head = heads.poll();
+            merged.add(head.entry());
+            if (head.position() + 1 < head.source().size()) {
+                heads.add(new SourceHead(head.source(), head.position() + 1));
+            }
+        }
+        return merged;
+    }
+
+    private record Entry(TimelineEntryType type, TimelineEntryView view) {
+    }
+
+    private record SourceHead(List<Entry> source, int position) {
+
+        Entry entry() {
+            return source.get(position);
+        }
+    }
+
+    private record TimelineCursor(LocalDateTime timestamp, TimelineEntryType type, UUID id) {
+
+        String encode() {
+            String raw = timestamp + "|" + type + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static TimelineCursor decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                return new TimelineCursor(
+                        LocalDateTime.parse(parts[0]),
+                        TimelineEntryType.valueOf(parts[1]),
+                        UUID.fromString(parts[2]));
+            } catch (RuntimeException ex) {
+                throw BadRequestException.Builder.invalidField("cursor", cursor);
+            }
+        }
+    }
+}
@@ -1,17 +1,26 @@
 package com.legalfirm.automation.service;
 
+import com.legalfirm.automation.config.CacheConfig;
 import com.legalfirm.automation.dto.request.ClientRequest;
 import com.legalfirm.automation.dto.response.ClientResponse;
 import com.legalfirm.automation.dto.response.PageResponse;
 import com.legalfirm.automation.entity.Client;
+import com.legalfirm.automation.event.CalendarEntriesChangedEvent;
+import com.legalfirm.automation.event.LawyerScheduleChangedEvent;
 import com.legalfirm.automation.exception.ResourceNotFoundException;
 import com.legalfirm.automation.repository.ClientRepository;
+import com.legalfirm.automation.repository.ClientSummaryView;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -20,21 +29,24 @@ import java.util.stream.Collectors;
 public class ClientService {
     
     private final ClientRepository clientRepository;
+    private final StorageUsageService storageUsageService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public PageResponse<ClientResponse> getAllClients(Pageable pageable) {
-        Page<Client> clientPage = clientRepository.findAll(pageable);
+        Page<ClientSummaryView> clientPage = clientRepository.findAllSummaries(pageable);
         return mapToPageResponse(clientPage);
     }
 
     public PageResponse<ClientResponse> searchClients(String search, Pageable pageable) {
-        Page<Client> clientPage = clientRepository.searchClients(search, pageable);
+        Page<ClientSummaryView> clientPage = clientRepository.searchSummaries(search, pageable);
         return mapToPageResponse(clientPage);
     }
 
+    @Cacheable(CacheConfig.CLIENT_DETAILS)
     public ClientResponse getClientById(UUID id) {
-        Client client = clientRepository.findById(id)
+        return clientRepository.findSummaryById(id)
+                .map(this::mapToClientResponse)
                 .orElseThrow(() -> new ResourceNotFoundException("Client not found with id: " + id));
-        return mapToClientResponse(client);
     }
 
     @Transactional
@@ -50,37 +62,81 @@ public class ClientService {
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CLIENT_DETAILS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.RECENT_CASES, allEntries = true)
+    })
     public ClientResponse updateClient(UUID id, ClientRequest request) {
         Client client = clientRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Client not found with id: " + id));
         
+        boolean renamed = !client.getName().equals(request.getName());
         client.setName(request.getName());
         client.setContactInfo(request.getContactInfo());
         client.setAddress(request.getAddress());
         
-        Client updatedClient = clientRepository.save(client);
-        return mapToClientResponse(updatedClient);
+        clientRepository.save(client);
+        // Hearing calendar entries show the client name
+        if (renamed) {
+            Set<UUID> lawyerIds = assignedLawyerIds(client);
+            if (!lawyerIds.isEmpty()) {
+                eventPublisher.publishEvent(new CalendarEntriesChangedEvent(lawyerIds));
+            }
+        }
+        return getClientById(id);
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CLIENT_DETAILS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.RECENT_CASES, allEntries = true)
+    })
     public void deleteClient(UUID id) {
-        if (!clientRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Client not found with id: " + id);
+        Client client = clientRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Client not found with id: " + id));
+
+        // Hearings of the client's cases are deleted with them
+        Set<UUID> lawyerIds = assignedLawyerIds(client);
+
+        storageUsageService.releaseClient(id);
+        clientRepository.delete(client);
+        if (!lawyerIds.isEmpty()) {
+            eventPublisher.publishEvent(new LawyerScheduleChangedEvent(lawyerIds));
         }
-        clientRepository.deleteById(id);
+    }
+
+    private static Set<UUID> assignedLawyerIds(Client client) {
+        return client.getCases().stream()
+                .filter(caseEntity -> caseEntity.getAssignedLawyer() != null)
+                .map(caseEntity -> caseEntity.getAssignedLawyer().getId())
+                .collect(Collectors.toSet());
     }
 
     private ClientResponse mapToClientResponse(Client client) {
+        // Only used for a client just created, which has no cases yet
+        return ClientResponse.builder()
+                .id(client.getId())
+                .name(client.getName())
+                .contactInfo(client.getContactInfo())
+                .address(client.getAddress())
+                .totalCases(0)
+                .openCases(0)
+                .build();
+    }
+
+    private ClientResponse mapToClientResponse(ClientSummaryView client) {
         return ClientResponse.builder()
                 .id(client.getId())
                 .name(client.getName())
                 .contactInfo(client.getContactInfo())
                 .address(client.getAddress())
-                .totalCases(client.getCases() != null ? client.getCases().size() : 0)
+                .totalCases((int) client.getTotalCases())
+                .openCases((int) client.getOpenCases())
+                .lastActivityAt(client.getLastActivityAt())
                 .build();
     }
 
-    private PageResponse<ClientResponse> mapToPageResponse(Page<Client> page) {
+    private PageResponse<ClientResponse> mapToPageResponse(Page<ClientSummaryView> page) {
         return PageResponse.<ClientResponse>builder()
                 .content(page.getContent().stream().map(this::mapToClientResponse).collect(Collectors.toList()))
                 .pageNumber(page.getNumber())
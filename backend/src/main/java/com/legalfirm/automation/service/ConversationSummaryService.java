@@ -0,0 +1,315 @@
+package com.legalfirm.automation.service;
+
+import com.legalfirm.automation.dto.response.ConversationSummaryResponse;
+import com.legalfirm.automation.dto.response.PageResponse;
+import com.legalfirm.automation.dto.response.UserResponse;
+import com.legalfirm.automation.entity.ConversationSummary;
+import com.legalfirm.automation.entity.Message;
+import com.legalfirm.automation.entity.User;
+import com.legalfirm.automation.repository.ConversationSummaryRepository;
+import com.legalfirm.automation.repository.MessageRepository;
+import com.legalfirm.automation.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Maintains the inbox: one {@link ConversationSummary} per user and conversation
+ * partner, updated in the same transaction as every message change so listing
+ * the inbox never reads the messages table. Missing summaries are created by the
+ * {@link CounterSeeder}. A periodic rebuild recomputes the summaries from the
+ * messages table, and fills an empty table on startup.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ConversationSummaryService {
+
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+    private static final int PREVIEW_LENGTH = 200;
+
+    private final ConversationSummaryRepository summaryRepository;
+    private final MessageRepository messageRepository;
+    private final UserRepository userRepository;
+    private final CounterSeeder counterSeeder;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.messages.inbox.rebuild-batch-size:200}")
+    private int rebuildBatchSize;
+
+    @Value("${application.messages.inbox.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    private TransactionTemplate transactionTemplate;
+    private Counter driftCorrections;
+
+    @PostConstruct
+    public void init() {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.driftCorrections = Counter.builder("messages.inbox.summary.drift")
+                .description("Conversation summaries corrected by the periodic rebuild")
+                .register(meterRegistry);
+    }
+
+    public PageResponse<ConversationSummaryResponse> getInbox(UUID userId, Pageable pageable) {
+        Page<ConversationSummary> page = summaryRepository.findByUserIdAndLastMessageAtIsNotNull(userId, pageable);
+        Map<UUID, UserResponse> partners = userRepository.findAllById(
+                        page.getContent().stream().map(ConversationSummary::getPartnerId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(User::getId, this::mapToUserResponse));
+
+        return PageResponse.<ConversationSummaryResponse>builder()
+                .content(page.getContent().stream()
+                        .map(summary -> ConversationSummaryResponse.builder()
+                                .partner(partners.get(summary.getPartnerId()))
+                                .lastMessageId(summary.getLastMessageId())
+                                .lastSenderId(summary.getLastSenderId())
+                                .lastMessagePreview(summary.getLastMessagePreview())
+                                .lastMessageAt(summary.getLastMessageAt())
+                                .unreadCount(summary.getUnreadCount())
+                                .build())
+                        .collect(Collectors.toList()))
+                .pageNumber(page.getNumber())
+                .pageSize(page.getSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .last(page.isLast())
+                .build();
+    }
+
+    /**
+     * Creates the summaries of both sides of the conversation if they are missing.
+     * Called before the conversation's messages are written, which then apply
+     * their change on top.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void seed(UUID userId, UUID partnerId) {
+        LocalDateTime now = LocalDateTime.now();
+        seedSummary(userId, partnerId, now);
+        seedSummary(partnerId, userId, now);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordMessageSent(Message message) {
+        UUID senderId = message.getSender().getId();
+        UUID receiverId = message.getReceiver().getId();
+        applyMessage(senderId, receiverId, message, 0);
+        applyMessage(receiverId, senderId, message, 1);
+    }
+
+    /**
+     * Records that {@code count} messages from {@code senderId} were read by {@code receiverId}.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRead(UUID receiverId, UUID senderId, long count) {
+        if (count > 0) {
+            applyUnreadDelta(receiverId, senderId, -count);
+        }
+    }
+
+    /**
+     * Called after the message was deleted and flushed, so the replacement last
+     * message is read from what remains of the conversation.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordMessageDeleted(Message message) {
+        UUID senderId = message.getSender().getId();
+        UUID receiverId = message.getReceiver().getId();
+        if (!Boolean.TRUE.equals(message.getIsRead())) {
+            applyUnreadDelta(receiverId, senderId, -1);
+        }
+        replaceLastMessage(senderId, receiverId, message.getId());
+        replaceLastMessage(receiverId, senderId, message.getId());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (rebuildOnStartup && summaryRepository.count() == 0) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Recomputes the summaries of every user. Each batch locks the users' summary
+     * rows before reading their messages, so concurrent message changes either land
+     * before the read or wait and apply their update on top of it.
+     */
+    @Scheduled(cron = "${application.messages.inbox.rebuild-cron:0 0 4 * * *}")
+    public void rebuild() {
+        int corrected = 0;
+        UUID after = FIRST_ID;
+        List<UUID> batch;
+        while (!(batch = userRepository.findIdsAfter(after, PageRequest.of(0, rebuildBatchSize))).isEmpty()) {
+            List<UUID> userIds = batch;
+            try {
+                Integer batchCorrected = transactionTemplate.execute(status -> rebuildBatch(userIds));
+                corrected += batchCorrected != null ? batchCorrected : 0;
+            } catch (DataIntegrityViolationException ex) {
+                log.warn("Conversation summary rebuild batch raced with a concurrent update, will retry next run");
+            }
+            after = batch.get(batch.size() - 1);
+        }
+        log.info("Conversation summary rebuild complete, {} summaries corrected", corrected);
+    }
+
+    private void applyMessage(UUID userId, UUID partnerId, Message message, long unreadDelta) {
+        applyUnreadDelta(userId, partnerId, unreadDelta);
+        summaryRepository.applyLastMessage(userId, partnerId, message.getId(), message.getSender().getId(),
+                preview(message.getContent()), message.getTimestamp(), LocalDateTime.now());
+    }
+
+    private void applyUnreadDelta(UUID userId, UUID partnerId, long delta) {
+        summaryRepository.applyUnreadDelta(userId, partnerId, delta, LocalDateTime.now());
+    }
+
+    private void seedSummary(UUID userId, UUID partnerId, LocalDateTime now) {
+        counterSeeder.seed("conversation_summaries", "user_id = :userId AND partner_id = :partnerId",
+                "(id, user_id, partner_id, unread_count, last_message_id, last_sender_id, last_message_preview, " +
+                "last_message_at, updated_at) " +
+                "SELECT :id, :userId, :partnerId, " +
+                "(SELECT COUNT(*) FROM messages m WHERE m.sender_id = :partnerId AND m.receiver_id = :userId " +
+                "AND m.is_read = false), " +
+                "l.id, l.sender_id, SUBSTRING(l.content, 1, :previewLength), l.timestamp, :now " +
+                "FROM (SELECT 1 AS one) seed LEFT JOIN (" +
+                "SELECT m.id, m.sender_id, m.content, m.timestamp FROM messages m " +
+                "WHERE m.sender_id IN (:userId, :partnerId) AND m.receiver_id IN (:userId, :partnerId) " +
+                "ORDER BY m.timestamp DESC, m.id DESC LIMIT 1) l ON 1 = 1",
+                Map.of("id", UUID.randomUUID(), "userId", userId, "partnerId", partnerId,
+                        "previewLength", PREVIEW_LENGTH, "now", now));
+    }
+
+    private void replaceLastMessage(UUID userId, UUID partnerId, UUID deletedMessageId) {
+        summaryRepository.lockByUserIdAndPartnerId(userId, partnerId)
+                .filter(summary -> deletedMessageId.equals(summary.getLastMessageId()))
+                .ifPresent(summary -> {
+                    MessageRepository.ConversationMessageView latest = findLatest(userId, partnerId);
+                    if (latest == null) {
+                        summaryRepository.delete(summary);
+                        return;
+                    }
+                    summary.setLastMessageId(latest.getId());
+                    summary.setLastSenderId(latest.getSenderId());
+                    summary.setLastMessagePreview(preview(latest.getContent()));
+                    summary.setLastMessageAt(latest.getTimestamp());
+                    summary.setUpdatedAt(LocalDateTime.now());
+                });
+    }
+
+    private MessageRepository.ConversationMessageView findLatest(UUID userId, UUID partnerId) {
+        return Stream.concat(
+                        messageRepository.findLatestSent(userId, partnerId, Limit.of(1)).stream(),
+                        messageRepository.findLatestSent(partnerId, userId, Limit.of(1)).stream())
+                .max((a, b) -> a.getTimestamp().compareTo(b.getTimestamp()))
+                .orElse(null);
+    }
+
+    private int rebuildBatch(List<UUID> userIds) {
+        Map<String, ConversationSummary> summaries = summaryRepository.lockAllByUserIds(userIds).stream()
+                .collect(Collectors.toMap(summary -> key(summary.getUserId(), summary.getPartnerId()), Function.identity()));
+        Map<String, LatestMessage> actual = new HashMap<>();
+        for (MessageRepository.ConversationLatest row : messageRepository.findConversationLatest(userIds)) {
+            LatestMessage latest = LatestMessage.of(row);
+            // The union also lists partners outside this batch; they are rebuilt with their own batch
+            if (userIds.contains(latest.userId())) {
+                actual.put(key(latest.userId(), latest.partnerId()), latest);
+            }
+        }
+
+        int corrected = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<String, LatestMessage> entry : actual.entrySet()) {
+            LatestMessage latest = entry.getValue();
+            ConversationSummary summary = summaries.remove(entry.getKey());
+            if (summary == null) {
+                summaryRepository.save(ConversationSummary.builder()
+                        .userId(latest.userId())
+                        .partnerId(latest.partnerId())
+                        .lastMessageId(latest.messageId())
+                        .lastSenderId(latest.senderId())
+                        .lastMessagePreview(preview(latest.content()))
+                        .lastMessageAt(latest.timestamp())
+                        .unreadCount(latest.unreadCount())
+                        .updatedAt(now)
+                        .build());
+            } else if (!Objects.equals(summary.getLastMessageId(), latest.messageId())
+                    || summary.getUnreadCount() != latest.unreadCount()) {
+                log.warn("Conversation summary drift for user {} and partner {}: last message {} / {} unread, expected {} / {}",
+                        latest.userId(), latest.partnerId(), summary.getLastMessageId(), summary.getUnreadCount(),
+                        latest.messageId(), latest.unreadCount());
+                summary.setLastMessageId(latest.messageId());
+                summary.setLastSenderId(latest.senderId());
+                summary.setLastMessagePreview(preview(latest.content()));
+                summary.setLastMessageAt(latest.timestamp());
+                summary.setUnreadCount(latest.unreadCount());
+                summary.setUpdatedAt(now);
+                driftCorrections.increment();
+                corrected++;
+            }
+        }
+        // Conversations whose messages are all gone
+        summaryRepository.deleteAll(summaries.values());
+        return corrected + summaries.size();
+    }
+
+    private static String key(UUID userId, UUID partnerId) {
+        return userId + ":" + partnerId;
+    }
+
+    private static String preview(String content) {
+        if (content == null || content.length() <= PREVIEW_LENGTH) {
+            return content;
+        }
+        return content.substring(0, PREVIEW_LENGTH);
+    }
+
+    private UserResponse mapToUserResponse(User user) {
+        return UserResponse.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .role(user.getRole())
+                .build();
+    }
+
+    private record LatestMessage(UUID userId, UUID partnerId, UUID messageId, UUID senderId,
+                                 String content, LocalDateTime timestamp, long unreadCount) {
+
+        static LatestMessage of(MessageRepository.ConversationLatest row) {
+            return new LatestMessage(
+                    UUID.fromString(row.getUserId()),
+                    UUID.fromString(row.getPartnerId()),
+                    UUID.fromString(row.getLastMessageId()),
+                    UUID.fromString(row.getLastSenderId()),
+                    row.getContent(),
+                    row.getLastMessageAt(),
+                    row.getUnreadCount());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.legalfirm.automation.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+/**
+ * Creates missing rows of the counters kept next to the rows they count, such as
+ * the storage usage, unread message counters and conversation summaries.
+ * <p>
+ * A missing row is computed from the counted rows and inserted with a single
+ * {@code INSERT ... SELECT ... ON CONFLICT DO NOTHING} in the caller's
+ * transaction. Callers seed before writing the counted rows and apply their own
+ * change as a delta afterwards, so it is counted exactly once. A transaction
+ * seeding the same row concurrently makes the insert wait for it and then do
+ * nothing; its count already covers everything committed before ours.
+ */
+@Component
+@RequiredArgsConstructor
+public class CounterSeeder {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * @param table  counter table
+     * @param key    condition on {@code table} matching the row, e.g. {@code user_id = :userId}
+     * @param insert column list and the SELECT computing the row, without a WHERE clause of its own
+     * @return whether the row was created
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean seed(String table, String key, String insert, Map<String, ?> params) {
+        // The counting SELECT only runs while the row is missing
+        return jdbcTemplate.update("INSERT INTO " + table + " " + insert
+                + " WHERE NOT EXISTS (SELECT 1 FROM " + table + " WHERE " + key + ") ON CONFLICT DO NOTHING", params) > 0;
+    }
+}
@@ -0,0 +1,33 @@
+package com.legalfirm.automation.service;
+
+import com.legalfirm.automation.config.CacheConfig;
+import com.legalfirm.automation.dto.response.RecentCaseResponse;
+import com.legalfirm.automation.repository.CaseRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class DashboardService {
+
+    private final CaseRepository caseRepository;
+
+    @Cacheable(CacheConfig.RECENT_CASES)
+    public List<RecentCaseResponse> getRecentCases() {
+        return caseRepository.findTop5ByOrderByCreatedAtDesc().stream()
+                .map(caseEntity -> RecentCaseResponse.builder()
+                        .id(caseEntity.getId())
+                        .title(caseEntity.getTitle())
+                        .status(caseEntity.getStatus())
+                        .client(caseEntity.getClient().getName())
+                        .createdAt(caseEntity.getCreatedAt())
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
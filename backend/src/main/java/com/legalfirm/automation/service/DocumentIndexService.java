@@ -0,0 +1,295 @@
+package com.legalfirm.automation.service;
+
+import com.legalfirm.automation.cache.EntityCacheInvalidation;
+import com.legalfirm.automation.cache.EntityCacheInvalidationBroker;
+import com.legalfirm.automation.event.CaseArchivedEvent;
+import com.legalfirm.automation.event.DocumentDeletedEvent;
+import com.legalfirm.automation.event.DocumentStoredEvent;
+import com.legalfirm.automation.repository.DocumentRepository;
+import com.legalfirm.automation.util.DocumentTextExtractor;
+import com.legalfirm.automation.util.FileStorageUtil;
+import com.legalfirm.automation.util.LuceneIndex;
+import com.legalfirm.automation.util.SearchSnippets;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Maintains the full-text index over document contents.
+ * Extraction runs on the indexing executor after the upload transaction commits,
+ * so it never adds latency to {@link DocumentService#uploadDocument}.
+ * <p>
+ * Every node keeps its own index. A node that indexes or removes a document sends
+ * its id through the {@link EntityCacheInvalidationBroker} under {@link #INDEX_NAME},
+ * and the other nodes index it again from its current row. The index commit holds
+ * a high-water mark, so a catch-up at startup and every {@code catch-up-interval}
+ * only reads the documents uploaded since; it also covers events and notifications
+ * that were lost.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DocumentIndexService {
+
+    public static final String INDEX_NAME = "document-index";
+
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_CASE_ID = "caseId";
+    private static final String FIELD_CONTENT = "content";
+    private static final int SNIPPET_RADIUS = 120;
+    private static final int BACKFILL_BATCH_SIZE = 200;
+    private static final String INDEXED_THROUGH = "indexedThrough";
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private final DocumentRepository documentRepository;
+    private final FileStorageUtil fileStorageUtil;
+    private final DocumentTextExtractor textExtractor;
+    private final EntityCacheInvalidationBroker invalidationBroker;
+
+    @Value("${application.search.index-dir}")
+    private String indexDir;
+
+    @Value("${application.search.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @Value("${application.search.catch-up-overlap:PT10M}")
+    private Duration catchUpOverlap;
+
+    private LuceneIndex index;
+
+    @PostConstruct
+    public void init() {
+        this.index = new LuceneIndex(Paths.get(indexDir, "documents").toAbsolutePath().normalize(), FIELD_ID);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        index.close();
+    }
+
+    @Async("documentIndexExecutor")
+    @TransactionalEventListener
+    public void onDocumentStored(DocumentStoredEvent event) {
+        indexDocument(event.documentId(), event.caseId(), event.filePath(), event.compressionCodec(), event.type());
+        publishChanged(event.documentId());
+    }
+
+    @Async("documentIndexExecutor")
+    @TransactionalEventListener
+    public void onDocumentDeleted(DocumentDeletedEvent event) {
+        removeDocument(event.documentId());
+        publishChanged(event.documentId());
+    }
+
+    @Async("documentIndexExecutor")
+    @TransactionalEventListener
+    public void onCaseArchived(CaseArchivedEvent event) {
+        event.documentIds().forEach(documentId -> {
+            removeDocument(documentId);
+            publishChanged(documentId);
+        });
+    }
+
+    /**
+     * Applies a change another node made: the document is indexed again from its
+     * current row, or removed when the row is gone.
+     */
+    @Async("documentIndexExecutor")
+    @EventListener(condition = "#invalidation.entityName() == '" + INDEX_NAME + "'")
+    public void onInvalidation(EntityCacheInvalidation invalidation) {
+        if (invalidation.id() == null) {
+            return;
+        }
+        UUID documentId = UUID.fromString(invalidation.id());
+        documentRepository.findIndexableDocumentById(documentId).ifPresentOrElse(
+                document -> indexDocument(document.getId(), document.getCaseId(), document.getFilePath(),
+                        document.getCompressionCodec(), document.getType()),
+                () -> removeDocument(documentId));
+    }
+
+    @Async("documentIndexExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUpOnStartup() {
+        if (backfillOnStartup) {
+            catchUp();
+        }
+    }
+
+    /**
+     * Indexes the documents uploaded since the mark, less {@code catch-up-overlap}
+     * for uploads that committed late, then moves the mark to the start of this run.
+     * An index without a mark gets a full pass.
+     */
+    @Scheduled(initialDelayString = "${application.search.catch-up-interval:PT15M}",
+               fixedDelayString = "${application.search.catch-up-interval:PT15M}")
+    public synchronized void catchUp() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        String mark = index.getCommitData(INDEXED_THROUGH);
+        int indexed = mark == null ? indexAll() : indexUploadedSince(LocalDateTime.parse(mark).minus(catchUpOverlap));
+        try {
+            index.putCommitData(INDEXED_THROUGH, startedAt.toString());
+        } catch (IOException ex) {
+            log.error("Failed to record the document index mark", ex);
+        }
+        log.info("Document index catch-up complete, {} documents indexed", indexed);
+    }
+
+    public List<Hit> search(String queryText, UUID caseId, int limit) {
+        SimpleQueryParser parser = new SimpleQueryParser(index.getAnalyzer(), FIELD_CONTENT);
+        Query contentQuery = parser.parse(queryText);
+        if (contentQuery == null) {
+            return List.of();
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder().add(contentQuery, BooleanClause.Occur.MUST);
+        if (caseId != null) {
+            query.add(new TermQuery(new Term(FIELD_CASE_ID, caseId.toString())), BooleanClause.Occur.FILTER);
+        }
+
+        try {
+            return index.search(searcher -> {
+                TopDocs topDocs = searcher.search(query.build(), limit);
+                List<Hit> hits = new ArrayList<>(topDocs.scoreDocs.length);
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    org.apache.lucene.document.Document stored = searcher.storedFields().document(scoreDoc.doc);
+                    hits.add(new Hit(
+                            UUID.fromString(stored.get(FIELD_ID)),
+                            scoreDoc.score,
+                            SearchSnippets.build(stored.get(FIELD_CONTENT), queryText, SNIPPET_RADIUS)));
+                }
+                return hits;
+            });
+        } catch (IOException ex) {
+            throw new IllegalStateException("Document search failed", ex);
+        }
+    }
+
+    /**
+     * Drops index entries whose document row no longer exists, e.g. when a delete
+     * committed while the upload was still being indexed.
+     */
+    public void removeStale(List<UUID> documentIds) {
+        documentIds.forEach(this::removeDocument);
+    }
+
+    private int indexAll() {
+        int indexed = 0;
+        int pageNumber = 0;
+        Page<DocumentRepository.IndexableDocument> page;
+        do {
+            page = documentRepository.findIndexableDocuments(PageRequest.of(pageNumber++, BACKFILL_BATCH_SIZE));
+            indexed += indexMissing(page.getContent());
+        } while (page.hasNext());
+        return indexed;
+    }
+
+    private int indexUploadedSince(LocalDateTime since) {
+        int indexed = 0;
+        UUID after = FIRST_ID;
+        List<DocumentRepository.IndexableDocument> batch;
+        while (!(batch = documentRepository.findIndexableDocumentsUploadedSince(
+                since, after, Limit.of(BACKFILL_BATCH_SIZE))).isEmpty()) {
+            indexed += indexMissing(batch);
+            DocumentRepository.IndexableDocument last = batch.get(batch.size() - 1);
+            since = last.getUploadDate();
+            after = last.getId();
+        }
+        return indexed;
+    }
+
+    // Documents never change once stored, so an entry already in the index is current
+    private int indexMissing(List<DocumentRepository.IndexableDocument> documents) {
+        int indexed = 0;
+        for (DocumentRepository.IndexableDocument document : documents) {
+            if (!textExtractor.supports(document.getType()) || isIndexed(document.getId())) {
+                continue;
+            }
+            indexDocument(document.getId(), document.getCaseId(), document.getFilePath(),
+                    document.getCompressionCodec(), document.getType());
+            indexed++;
+        }
+        return indexed;
+    }
+
+    private void indexDocument(UUID documentId, UUID caseId, String filePath, String codec, String type) {
+        if (!textExtractor.supports(type) || filePath == null) {
+            return;
+        }
+        try (InputStream content = fileStorageUtil.loadFileAsResource(filePath, codec).getInputStream()) {
+            Optional<String> text = textExtractor.extract(content, type);
+            if (text.isEmpty()) {
+                log.debug("No text extracted from document {}", documentId);
+                return;
+            }
+            if (!documentRepository.existsById(documentId)) {
+                // Deleted while we were extracting; the delete event may already have been processed
+                return;
+            }
+
+            org.apache.lucene.document.Document indexDocument = new org.apache.lucene.document.Document();
+            indexDocument.add(new StringField(FIELD_ID, documentId.toString(), Field.Store.YES));
+            indexDocument.add(new StringField(FIELD_CASE_ID, caseId.toString(), Field.Store.YES));
+            indexDocument.add(new TextField(FIELD_CONTENT, text.get(), Field.Store.YES));
+            index.upsert(documentId.toString(), indexDocument);
+            log.debug("Indexed document {}", documentId);
+        } catch (Exception ex) {
+            log.error("Failed to index document {}", documentId, ex);
+        }
+    }
+
+    private void removeDocument(UUID documentId) {
+        try {
+            index.delete(documentId.toString());
+            log.debug("Removed document {} from index", documentId);
+        } catch (IOException ex) {
+            log.error("Failed to remove document {} from index", documentId, ex);
+        }
+    }
+
+    private void publishChanged(UUID documentId) {
+        invalidationBroker.publish(EntityCacheInvalidation.of(INDEX_NAME, documentId));
+    }
+
+    private boolean isIndexed(UUID documentId) {
+        try {
+            return index.contains(documentId.toString());
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    public record Hit(UUID documentId, float score, String snippet) {
+    }
+}
@@ -1,37 +1,55 @@
 package com.legalfirm.automation.service;
 
 import com.legalfirm.automation.dto.response.DocumentResponse;
+import com.legalfirm.automation.dto.response.DocumentSearchResult;
 import com.legalfirm.automation.dto.response.PageResponse;
 import com.legalfirm.automation.dto.response.UserResponse;
+import com.legalfirm.automation.entity.ArchivedDocument;
 import com.legalfirm.automation.entity.Case;
 import com.legalfirm.automation.entity.Document;
 import com.legalfirm.automation.entity.User;
+import com.legalfirm.automation.event.DocumentDeletedEvent;
+import com.legalfirm.automation.event.DocumentStoredEvent;
 import com.legalfirm.automation.exception.BadRequestException;
 import com.legalfirm.automation.exception.ResourceNotFoundException;
+import com.legalfirm.automation.repository.ArchivedDocumentRepository;
 import com.legalfirm.automation.repository.CaseRepository;
 import com.legalfirm.automation.repository.DocumentRepository;
 import com.legalfirm.automation.util.FileStorageUtil;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class DocumentService {
     
     private final DocumentRepository documentRepository;
+    private final ArchivedDocumentRepository archivedDocumentRepository;
     private final CaseRepository caseRepository;
+    private final CaseArchiveStore caseArchiveStore;
     private final FileStorageUtil fileStorageUtil;
+    private final DocumentIndexService documentIndexService;
+    private final StorageUsageService storageUsageService;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Value("${application.file.allowed-extensions}")
     private String allowedExtensions;
@@ -48,9 +66,10 @@ public class DocumentService {
     }
 
     public DocumentResponse getDocumentById(UUID id) {
-        Document document = documentRepository.findById(id)
+        return documentRepository.findWithCaseAndUploaderById(id)
+                .map(this::mapToDocumentResponse)
+                .or(() -> findArchivedDocument(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Document not found with id: " + id));
-        return mapToDocumentResponse(document);
     }
 
     @Transactional
@@ -60,26 +79,68 @@ public class DocumentService {
         
         validateFile(file);
         
-        String filePath = fileStorageUtil.storeFile(file);
+        String extension = getFileExtension(file.getOriginalFilename());
+        FileStorageUtil.StoredFile storedFile = fileStorageUtil.storeFile(file, extension);
         
         Document document = Document.builder()
                 .name(file.getOriginalFilename())
-                .type(getFileExtension(file.getOriginalFilename()))
-                .filePath(filePath)
+                .type(extension)
+                .filePath(storedFile.fileName())
+                .compressionCodec(storedFile.codec())
                 .fileSize(file.getSize())
                 .caseEntity(caseEntity)
                 .uploadedBy(User.builder().id(userId).build())
                 .build();
         
+        storageUsageService.recordDocumentAdded(caseId, caseEntity.getClient().getId(), document.getFileSize());
         Document savedDocument = documentRepository.save(document);
+        eventPublisher.publishEvent(new DocumentStoredEvent(
+                savedDocument.getId(), caseId, savedDocument.getFilePath(),
+                savedDocument.getCompressionCodec(), savedDocument.getType()));
         return mapToDocumentResponse(savedDocument);
     }
 
+    public List<DocumentSearchResult> searchDocuments(String query, UUID caseId, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query is required");
+        }
+
+        List<DocumentIndexService.Hit> hits = documentIndexService.search(query, caseId, limit);
+        Map<UUID, Document> documents = documentRepository.findWithCaseAndUploaderByIdIn(
+                        hits.stream().map(DocumentIndexService.Hit::documentId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Document::getId, Function.identity()));
+
+        List<DocumentSearchResult> results = new ArrayList<>(hits.size());
+        List<UUID> stale = new ArrayList<>();
+        for (DocumentIndexService.Hit hit : hits) {
+            Document document = documents.get(hit.documentId());
+            if (document == null) {
+                stale.add(hit.documentId());
+                continue;
+            }
+            results.add(DocumentSearchResult.builder()
+                    .document(mapToDocumentResponse(document))
+                    .score(hit.score())
+                    .snippet(hit.snippet())
+                    .build());
+        }
+        if (!stale.isEmpty()) {
+            documentIndexService.removeStale(stale);
+        }
+        return results;
+    }
+
     public Resource downloadDocument(UUID id) {
-        Document document = documentRepository.findById(id)
+        Document document = documentRepository.findById(id).orElse(null);
+        if (document != null) {
+            return fileStorageUtil.loadFileAsResource(document.getFilePath(), document.getCompressionCodec());
+        }
+
+        // Archived cases keep the files of their documents
+        ArchivedDocument archived = archivedDocumentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Document not found with id: " + id));
-        
-        return fileStorageUtil.loadFileAsResource(document.getFilePath());
+        return fileStorageUtil.loadFileAsResource(archived.getFilePath(), archived.getCompressionCodec());
     }
 
     @Transactional
@@ -87,8 +148,39 @@ public class DocumentService {
         Document document = documentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Document not found with id: " + id));
         
-        fileStorageUtil.deleteFile(document.getFilePath());
+        storageUsageService.recordDocumentRemoved(document.getCaseEntity().getId(),
+                document.getCaseEntity().getClient().getId(), document.getFileSize());
         documentRepository.deleteById(id);
+        eventPublisher.publishEvent(new DocumentDeletedEvent(
+                id, document.getCaseEntity().getId(), document.getFilePath()));
+    }
+
+    /**
+     * Removes the file only once the row deletion has committed, so a rollback never
+     * leaves a row pointing at a deleted file. Failures here leave an orphan for the
+     * reconciliation job to quarantine.
+     */
+    @TransactionalEventListener
+    public void onDocumentDeleted(DocumentDeletedEvent event) {
+        if (event.filePath() == null) {
+            return;
+        }
+        try {
+            fileStorageUtil.deleteFile(event.filePath());
+        } catch (BadRequestException ex) {
+            log.warn("Could not delete file {} for document {}", event.filePath(), event.documentId());
+        }
+    }
+
+    /**
+     * A document of an archived case, as listed in the case's archive bundle.
+     */
+    private Optional<DocumentResponse> findArchivedDocument(UUID id) {
+        return archivedDocumentRepository.findById(id)
+                .flatMap(archived -> caseArchiveStore.findCaseDetails(archived.getCaseId()))
+                .flatMap(details -> details.getDocuments().stream()
+                        .filter(document -> id.equals(document.getId()))
+                        .findFirst());
     }
 
     private void validateFile(MultipartFile file) {
@@ -117,6 +209,7 @@ public class DocumentService {
                 .name(document.getName())
                 .type(document.getType())
                 .fileSize(document.getFileSize())
+                .fileMissing(document.getFileMissing())
                 .uploadDate(document.getUploadDate())
                 .caseId(document.getCaseEntity().getId())
                 .caseTitle(document.getCaseEntity().getTitle())
@@ -0,0 +1,300 @@
+package com.legalfirm.automation.service;
+
+import com.legalfirm.automation.entity.Hearing;
+import com.legalfirm.automation.entity.HearingReminderLog;
+import com.legalfirm.automation.entity.User;
+import com.legalfirm.automation.event.HearingChangedEvent;
+import com.legalfirm.automation.notification.HearingReminder;
+import com.legalfirm.automation.notification.HearingReminderNotifier;
+import com.legalfirm.automation.repository.HearingReminderLogRepository;
+import com.legalfirm.automation.repository.HearingRepository;
+import com.legalfirm.automation.util.TimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends hearing reminders at the configured lead times.
+ * <p>
+ * Hearings are loaded into a {@link TimingWheel} one time window at a time via
+ * {@link HearingRepository#findSlotsBetween}, so neither startup nor the
+ * periodic refresh scans the whole table, and a single clock thread ticking once a
+ * second is enough for any number of pending reminders. Hearing changes re-arm
+ * the affected reminders. Sent reminders are recorded in
+ * {@link HearingReminderLog}, which makes sending idempotent across restarts.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HearingReminderService {
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_LEVELS = 4;
+
+    private final HearingRepository hearingRepository;
+    private final HearingReminderLogRepository reminderLogRepository;
+    private final List<HearingReminderNotifier> notifiers;
+    private final Executor hearingReminderExecutor;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.reminders.enabled:true}")
+    private boolean enabled;
+
+    @Value("${application.reminders.lead-times:P1D,PT1H}")
+    private String leadTimes;
+
+    @Value("${application.reminders.horizon:PT48H}")
+    private Duration horizon;
+
+    @Value("${application.reminders.tick-millis:1000}")
+    private long tickMillis;
+
+    @Value("${application.reminders.log-retention:P30D}")
+    private Duration logRetention;
+
+    private final Map<UUID, List<TimingWheel.Timeout<PendingReminder>>> scheduled = new HashMap<>();
+
+    private List<Duration> leadTimesAscending;
+    private Duration maxLeadTime;
+    private TimingWheel<PendingReminder> wheel;
+    private TransactionTemplate transactionTemplate;
+    private ScheduledExecutorService clock;
+    private Counter remindersSent;
+    private volatile LocalDateTime loadedUntil;
+
+    @PostConstruct
+    public void init() {
+        this.leadTimesAscending = Arrays.stream(leadTimes.split(","))
+                .map(String::trim)
+                .filter(lead -> !lead.isEmpty())
+                .map(Duration::parse)
+                .sorted(Comparator.naturalOrder())
+                .toList();
+        this.maxLeadTime = leadTimesAscending.isEmpty() ? Duration.ZERO : leadTimesAscending.get(leadTimesAscending.size() - 1);
+        this.wheel = new TimingWheel<>(tickMillis, WHEEL_BITS, WHEEL_LEVELS, System.currentTimeMillis());
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Gauge.builder("hearings.reminders.pending", wheel, TimingWheel::size)
+                .description("Hearing reminders waiting in the timing wheel")
+                .register(meterRegistry);
+        this.remindersSent = Counter.builder("hearings.reminders.sent")
+                .description("Hearing reminders delivered")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || leadTimesAscending.isEmpty()) {
+            return;
+        }
+        loadedUntil = LocalDateTime.now();
+        loadWindow();
+
+        clock = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hearing-reminder-clock");
+            thread.setDaemon(true);
+            return thread;
+        });
+        clock.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        log.info("Hearing reminders started with lead times {}, {} pending", leadTimesAscending, wheel.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (clock != null) {
+            clock.shutdownNow();
+        }
+    }
+
+    /**
+     * Slides the loaded window forward so the wheel always covers the next
+     * {@code horizon} of reminders, and purges old reminder log entries.
+     */
+    @Scheduled(initialDelayString = "${application.reminders.refresh-interval:PT1H}",
+            fixedDelayString = "${application.reminders.refresh-interval:PT1H}")
+    public void refresh() {
+        if (loadedUntil == null) {
+            return;
+        }
+        loadWindow();
+        Integer purged = transactionTemplate.execute(status ->
+                reminderLogRepository.deleteByHearingDateBefore(LocalDateTime.now().minus(logRetention)));
+        log.debug("Reminder window extended to {}, {} old reminder log entries purged", loadedUntil, purged);
+    }
+
+    @TransactionalEventListener
+    public void onHearingChanged(HearingChangedEvent event) {
+        if (loadedUntil == null) {
+            return;
+        }
+        if (event.deleted() || event.date().isAfter(loadedUntil)) {
+            // Hearings beyond the window are picked up when the window reaches them
+            cancel(event.hearingId());
+        } else {
+            scheduleHearing(event.hearingId(), event.date());
+        }
+    }
+
+    private void loadWindow() {
+        LocalDateTime from = loadedUntil;
+        LocalDateTime until = LocalDateTime.now().plus(horizon).plus(maxLeadTime);
+        if (!until.isAfter(from)) {
+            return;
+        }
+        List<HearingRepository.LawyerHearingSlotView> hearings = transactionTemplate.execute(status ->
+                hearingRepository.findSlotsBetween(from, until));
+        if (hearings != null) {
+            hearings.forEach(hearing -> scheduleHearing(hearing.getId(), hearing.getDate()));
+        }
+        loadedUntil = until;
+    }
+
+    private synchronized void scheduleHearing(UUID hearingId, LocalDateTime hearingDate) {
+        cancel(hearingId);
+        LocalDateTime now = LocalDateTime.now();
+        if (!hearingDate.isAfter(now)) {
+            return;
+        }
+
+        List<TimingWheel.Timeout<PendingReminder>> timeouts = new ArrayList<>();
+        boolean overdueScheduled = false;
+        for (Duration leadTime : leadTimesAscending) {
+            LocalDateTime fireAt = hearingDate.minus(leadTime);
+            if (!fireAt.isAfter(now)) {
+                // Only the most specific of the reminders missed while we were down is sent
+                if (overdueScheduled) {
+                    continue;
+                }
+                overdueScheduled = true;
+            }
+            PendingReminder reminder = new PendingReminder(hearingId, hearingDate, leadTime);
+            timeouts.add(wheel.schedule(toEpochMillis(fireAt), reminder));
+        }
+        scheduled.put(hearingId, timeouts);
+    }
+
+    private synchronized void cancel(UUID hearingId) {
+        List<TimingWheel.Timeout<PendingReminder>> timeouts = scheduled.remove(hearingId);
+        if (timeouts != null) {
+            timeouts.forEach(TimingWheel.Timeout::cancel);
+        }
+    }
+
+    private synchronized void forget(PendingReminder reminder) {
+        List<TimingWheel.Timeout<PendingReminder>> timeouts = scheduled.get(reminder.hearingId());
+        if (timeouts != null) {
+            timeouts.removeIf(timeout -> timeout.payload() == reminder);
+            if (timeouts.isEmpty()) {
+                scheduled.remove(reminder.hearingId());
+            }
+        }
+    }
+
+    private void tick() {
+        try {
+            for (PendingReminder reminder : wheel.advanceTo(System.currentTimeMillis())) {
+                forget(reminder);
+                hearingReminderExecutor.execute(() -> fire(reminder));
+            }
+        } catch (Exception ex) {
+            log.error("Hearing reminder tick failed", ex);
+        }
+    }
+
+    private void fire(PendingReminder pending) {
+        HearingReminder reminder;
+        try {
+            reminder = transactionTemplate.execute(status -> claim(pending));
+        } catch (DataIntegrityViolationException ex) {
+            // Another node or a previous run already sent it
+            return;
+        }
+        if (reminder == null) {
+            return;
+        }
+
+        for (HearingReminderNotifier notifier : notifiers) {
+            try {
+                notifier.notify(reminder);
+            } catch (Exception ex) {
+                log.error("Reminder notifier {} failed for hearing {}",
+                        notifier.getClass().getSimpleName(), reminder.hearingId(), ex);
+            }
+        }
+        remindersSent.increment();
+    }
+
+    /**
+     * Re-reads the hearing and records the reminder as sent. Returns {@code null}
+     * when the hearing was deleted or moved since it was scheduled, has no lawyer,
+     * or the reminder was already sent.
+     */
+    private HearingReminder claim(PendingReminder pending) {
+        Hearing hearing = hearingRepository.findWithCaseById(pending.hearingId()).orElse(null);
+        if (hearing == null || !hearing.getDate().equals(pending.hearingDate())) {
+            return null;
+        }
+        User lawyer = hearing.getCaseEntity().getAssignedLawyer();
+        if (lawyer == null) {
+            return null;
+        }
+        long leadMinutes = pending.leadTime().toMinutes();
+        if (reminderLogRepository.existsByHearingIdAndLeadMinutesAndHearingDate(
+                hearing.getId(), leadMinutes, hearing.getDate())) {
+            return null;
+        }
+        reminderLogRepository.saveAndFlush(HearingReminderLog.builder()
+                .hearingId(hearing.getId())
+                .leadMinutes(leadMinutes)
+                .hearingDate(hearing.getDate())
+                .sentAt(LocalDateTime.now())
+                .build());
+
+        return new HearingReminder(
+                hearing.getId(),
+                hearing.getDate(),
+                pending.leadTime(),
+                hearing.getCaseEntity().getId(),
+                hearing.getCaseEntity().getTitle(),
+                hearing.getCaseEntity().getClient().getName(),
+                lawyer.getId(),
+                lawyer.getName(),
+                lawyer.getEmail());
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record PendingReminder(UUID hearingId, LocalDateTime hearingDate, Duration leadTime) {
+    }
+}
@@ -0,0 +1,436 @@
+package com.legalfirm.automation.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.legalfirm.automation.cache.EntityCacheInvalidation;
+import com.legalfirm.automation.cache.EntityCacheInvalidationBroker;
+import com.legalfirm.automation.event.LawyerScheduleChangedEvent;
+import com.legalfirm.automation.exception.BadRequestException;
+import com.legalfirm.automation.repository.HearingRepository;
+import com.legalfirm.automation.repository.UserRepository;
+import com.legalfirm.automation.util.LawyerSchedule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory per-lawyer index of hearing slots used for double-booking checks.
+ * <p>
+ * A lawyer's schedule is loaded on first use from committed data, starting from
+ * the hearings that can still reach into today; questions about earlier times are
+ * answered from a one-off load. Schedules are dropped when the index is full or
+ * one goes unused for {@code idle-timeout}. Writes are applied while the hearing
+ * transaction is still open, so a concurrent booking sees the reservation
+ * immediately; a rollback drops the schedule.
+ * <p>
+ * Writers first {@link #lock(Collection) lock} their lawyers, which serializes
+ * bookings of a lawyer across nodes. The schedule is the fast path that rejects
+ * most conflicts; an accepted booking is confirmed against the committed hearings
+ * of the lawyer.
+ * <p>
+ * Every node keeps its own index. Once a change of a lawyer's hearings commits,
+ * the other nodes are told through the {@link EntityCacheInvalidationBroker} to
+ * drop that lawyer's schedule and load it again on next use.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HearingScheduleIndex {
+
+    public static final String CONFLICT_ERROR_CODE = "HEARING_CONFLICT";
+
+    /** Name of the lawyer schedules in {@link EntityCacheInvalidation}s. */
+    public static final String CACHE_NAME = "lawyer-schedules";
+
+    private final HearingRepository hearingRepository;
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityCacheInvalidationBroker invalidationBroker;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.hearings.default-duration-minutes:60}")
+    private int defaultDurationMinutes;
+
+    @Value("${application.hearings.max-duration-minutes:720}")
+    private int maxDurationMinutes;
+
+    @Value("${application.hearings.availability.slot-minutes:15}")
+    private int slotMinutes;
+
+    @Value("${application.hearings.schedule-index.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${application.hearings.schedule-index.idle-timeout:PT2H}")
+    private Duration idleTimeout;
+
+    private Cache<UUID, LawyerSchedule> schedules;
+
+    private TransactionTemplate loadTemplate;
+
+    @PostConstruct
+    public void init() {
+        if (slotMinutes <= 0 || LawyerSchedule.MINUTES_PER_DAY % slotMinutes != 0) {
+            throw new IllegalStateException("application.hearings.availability.slot-minutes must divide a day evenly");
+        }
+        this.schedules = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(idleTimeout)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, schedules, CACHE_NAME);
+        // Joins the caller's transaction, so a load does not take a second connection
+        this.loadTemplate = new TransactionTemplate(transactionManager);
+        // Not read-only, which would route to a replica that may lack a hearing committed a moment ago
+        this.loadTemplate.setReadOnly(false);
+    }
+
+    /**
+     * Serializes hearing changes of the given lawyers across all nodes until the
+     * caller's transaction ends, by locking their user rows, and loads their
+     * schedules. Call it in the write transaction before writing any hearing, so
+     * the loaded schedules hold committed hearings only.
+     */
+    public void lock(Collection<UUID> lawyerIds) {
+        if (lawyerIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Lawyer schedules can only be locked within a transaction");
+        }
+        userRepository.lockByIds(lawyerIds);
+        schedulesFor(lawyerIds);
+    }
+
+    /**
+     * Adds or moves a hearing in its lawyer's schedule, rejecting it when it
+     * overlaps another hearing of the same lawyer. The caller holds the
+     * {@link #lock(Collection) lock} of the lawyer.
+     */
+    public void reserve(UUID lawyerId, LawyerSchedule.Slot slot) {
+        LawyerSchedule schedule = scheduleFor(lawyerId);
+        synchronized (schedule) {
+            List<LawyerSchedule.Slot> conflicts = schedule.findOverlapping(slot.start(), slot.end(), slot.hearingId());
+            if (!conflicts.isEmpty()) {
+                throw conflict(lawyerId, conflicts.get(0), conflicts.stream()
+                        .map(LawyerSchedule.Slot::hearingId)
+                        .collect(Collectors.toList()));
+            }
+            schedule.put(slot);
+        }
+        onCompletion(lawyerId, () -> {
+            // The schedule may have been reloaded before our commit became visible
+            LawyerSchedule current = schedules.getIfPresent(lawyerId);
+            if (current != null) {
+                current.put(slot);
+            }
+        });
+
+        List<LawyerSchedule.Slot> missed = committedOverlaps(lawyerId, List.of(slot)).get(slot.hearingId());
+        if (missed != null) {
+            throw conflict(lawyerId, missed.get(0), missed.stream()
+                    .map(LawyerSchedule.Slot::hearingId)
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * Moves several hearings of one lawyer at once. The moved hearings are checked
+     * against the lawyer's other hearings and against each other. Either all of
+     * them are moved, or none is moved and the conflicts are returned, keyed by
+     * moved hearing id. The caller holds the {@link #lock(Collection) lock} of the
+     * lawyer.
+     */
+    public Map<UUID, List<UUID>> reserveAll(UUID lawyerId, List<LawyerSchedule.Slot> slots) {
+        LawyerSchedule schedule = scheduleFor(lawyerId);
+        Map<UUID, List<UUID>> conflicts = new LinkedHashMap<>();
+        synchronized (schedule) {
+            Map<UUID, LawyerSchedule.Slot> previous = new HashMap<>();
+            for (LawyerSchedule.Slot slot : slots) {
+                LawyerSchedule.Slot removed = schedule.remove(slot.hearingId());
+                if (removed != null) {
+                    previous.put(slot.hearingId(), removed);
+                }
+            }
+            List<LawyerSchedule.Slot> placed = new ArrayList<>(slots.size());
+            for (LawyerSchedule.Slot slot : slots) {
+                List<LawyerSchedule.Slot> overlapping = schedule.findOverlapping(slot.start(), slot.end(), slot.hearingId());
+                if (overlapping.isEmpty()) {
+                    schedule.put(slot);
+                    placed.add(slot);
+                } else {
+                    conflicts.put(slot.hearingId(), overlapping.stream()
+                            .map(LawyerSchedule.Slot::hearingId)
+                            .collect(Collectors.toList()));
+                }
+            }
+            if (!conflicts.isEmpty()) {
+                placed.forEach(slot -> schedule.remove(slot.hearingId()));
+                schedule.putAll(previous.values());
+                return conflicts;
+            }
+        }
+        onCompletion(lawyerId, () -> {
+            LawyerSchedule current = schedules.getIfPresent(lawyerId);
+            if (current != null) {
+                synchronized (current) {
+                    slots.forEach(current::put);
+                }
+            }
+        });
+
+        committedOverlaps(lawyerId, slots).forEach((hearingId, missed) -> conflicts.put(hearingId, missed.stream()
+                .map(LawyerSchedule.Slot::hearingId)
+                .collect(Collectors.toList())));
+        return conflicts;
+    }
+
+    public void release(UUID lawyerId, UUID hearingId) {
+        // A schedule that is not loaded will not hold the hearing once loaded
+        LawyerSchedule schedule = schedules.getIfPresent(lawyerId);
+        if (schedule != null) {
+            schedule.remove(hearingId);
+        }
+        onCompletion(lawyerId, () -> {
+            LawyerSchedule current = schedules.getIfPresent(lawyerId);
+            if (current != null) {
+                current.remove(hearingId);
+            }
+        });
+    }
+
+    public List<LawyerSchedule.Conflict> findConflicts(UUID lawyerId, LocalDateTime from, LocalDateTime to) {
+        LawyerSchedule schedule = from.isBefore(indexedFrom())
+                ? loadTemplate.execute(status -> load(lawyerId, loadFrom(from)))
+                : scheduleFor(lawyerId);
+        return schedule.findConflicts(from, to);
+    }
+
+    /**
+     * Returns the busy bitset of each lawyer for the day; lawyers without hearings that day are omitted.
+     */
+    public Map<UUID, long[]> busySlots(Collection<UUID> lawyerIds, LocalDate day) {
+        Map<UUID, long[]> busy = new HashMap<>();
+        LocalDateTime start = day.atStartOfDay();
+        Map<UUID, LawyerSchedule> schedulesByLawyer = start.isBefore(indexedFrom())
+                ? loadAll(lawyerIds, loadFrom(start))
+                : schedulesFor(lawyerIds);
+        schedulesByLawyer.forEach((lawyerId, schedule) -> {
+            long[] bits = schedule.busySlots(day);
+            if (bits != null) {
+                busy.put(lawyerId, bits);
+            }
+        });
+        return busy;
+    }
+
+    public int getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    public LawyerSchedule.Slot toSlot(UUID hearingId, UUID caseId, LocalDateTime start, Integer durationMinutes) {
+        return new LawyerSchedule.Slot(hearingId, caseId, start, start.plusMinutes(effectiveDuration(durationMinutes)));
+    }
+
+    public int effectiveDuration(Integer durationMinutes) {
+        return durationMinutes != null ? durationMinutes : defaultDurationMinutes;
+    }
+
+    @TransactionalEventListener
+    public void onLawyerScheduleChanged(LawyerScheduleChangedEvent event) {
+        if (event.lawyerIds() == null || event.lawyerIds().isEmpty()) {
+            schedules.invalidateAll();
+            invalidationBroker.publish(EntityCacheInvalidation.all(CACHE_NAME));
+        } else {
+            event.lawyerIds().forEach(lawyerId -> {
+                schedules.invalidate(lawyerId);
+                publishChanged(lawyerId);
+            });
+        }
+    }
+
+    /**
+     * Drops schedules another node changed.
+     */
+    @EventListener
+    public void onInvalidation(EntityCacheInvalidation invalidation) {
+        if (!CACHE_NAME.equals(invalidation.entityName())) {
+            return;
+        }
+        if (invalidation.id() == null) {
+            schedules.invalidateAll();
+        } else {
+            schedules.invalidate(UUID.fromString(invalidation.id()));
+        }
+    }
+
+    private void publishChanged(UUID lawyerId) {
+        invalidationBroker.publish(EntityCacheInvalidation.of(CACHE_NAME, lawyerId));
+    }
+
+    /**
+     * Start of the time every cached schedule covers. Schedules hold the hearings
+     * that can reach into the day they were loaded, so today is always covered.
+     */
+    private LocalDateTime indexedFrom() {
+        return LocalDate.now().atStartOfDay();
+    }
+
+    /**
+     * Earliest start of a hearing that can still reach {@code from}.
+     */
+    private LocalDateTime loadFrom(LocalDateTime from) {
+        return from.minusMinutes(maxDurationMinutes);
+    }
+
+    /**
+     * Checks slots against the committed hearings of the lawyer, other than the
+     * slots themselves. The in-memory schedule answers first but may lack a hearing
+     * another node booked a moment ago, before its invalidation arrived; under the
+     * lawyer's lock the database answer is final. Returns the overlapping hearings
+     * keyed by slot hearing id.
+     */
+    private Map<UUID, List<LawyerSchedule.Slot>> committedOverlaps(UUID lawyerId, List<LawyerSchedule.Slot> slots) {
+        Set<UUID> moved = slots.stream().map(LawyerSchedule.Slot::hearingId).collect(Collectors.toSet());
+        LocalDateTime from = slots.stream().map(LawyerSchedule.Slot::start).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime to = slots.stream().map(LawyerSchedule.Slot::end).max(Comparator.naturalOrder()).orElseThrow();
+        LawyerSchedule committed = new LawyerSchedule(slotMinutes);
+        committed.putAll(hearingRepository.findSlotsByLawyerIdBetween(lawyerId, loadFrom(from), to).stream()
+                .filter(hearing -> !moved.contains(hearing.getId()))
+                .map(hearing -> toSlot(hearing.getId(), hearing.getCaseId(), hearing.getDate(), hearing.getDurationMinutes()))
+                .collect(Collectors.toList()));
+
+        Map<UUID, List<LawyerSchedule.Slot>> overlaps = new LinkedHashMap<>();
+        for (LawyerSchedule.Slot slot : slots) {
+            List<LawyerSchedule.Slot> overlapping = committed.findOverlapping(slot.start(), slot.end(), slot.hearingId());
+            if (!overlapping.isEmpty()) {
+                overlaps.put(slot.hearingId(), overlapping);
+            }
+        }
+        if (!overlaps.isEmpty()) {
+            log.info("Schedule of lawyer {} missed {} committed hearings, dropping it", lawyerId, overlaps.size());
+        }
+        return overlaps;
+    }
+
+    private BadRequestException conflict(UUID lawyerId, LawyerSchedule.Slot first, List<UUID> conflictingHearingIds) {
+        return new BadRequestException(
+                "Lawyer already has a hearing between " + first.start() + " and " + first.end(),
+                CONFLICT_ERROR_CODE,
+                Map.of("lawyerId", lawyerId, "conflictingHearingIds", conflictingHearingIds),
+                null);
+    }
+
+    private LawyerSchedule scheduleFor(UUID lawyerId) {
+        LawyerSchedule schedule = schedules.getIfPresent(lawyerId);
+        if (schedule != null) {
+            return schedule;
+        }
+        // Writers load through lock() before their first write; a schedule dropped since
+        // then may hold their uncommitted hearings, which a rollback discards with it
+        LawyerSchedule loaded = loadTemplate.execute(status -> load(lawyerId, loadFrom(indexedFrom())));
+        LawyerSchedule existing = schedules.asMap().putIfAbsent(lawyerId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    /**
+     * Returns the schedules of several lawyers, loading all missing ones with a single query.
+     */
+    private Map<UUID, LawyerSchedule> schedulesFor(Collection<UUID> lawyerIds) {
+        Map<UUID, LawyerSchedule> result = new HashMap<>();
+        Set<UUID> missing = new HashSet<>();
+        for (UUID lawyerId : lawyerIds) {
+            LawyerSchedule schedule = schedules.getIfPresent(lawyerId);
+            if (schedule != null) {
+                result.put(lawyerId, schedule);
+            } else {
+                missing.add(lawyerId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        loadAll(missing, loadFrom(indexedFrom())).forEach((lawyerId, loaded) -> {
+            LawyerSchedule existing = schedules.asMap().putIfAbsent(lawyerId, loaded);
+            result.put(lawyerId, existing != null ? existing : loaded);
+        });
+        return result;
+    }
+
+    /**
+     * Loads the schedules of several lawyers from hearings starting at or after {@code from}, with a single query.
+     */
+    private Map<UUID, LawyerSchedule> loadAll(Collection<UUID> lawyerIds, LocalDateTime from) {
+        Map<UUID, List<LawyerSchedule.Slot>> slotsByLawyer = new HashMap<>();
+        loadTemplate.executeWithoutResult(status -> hearingRepository.findSlotsByLawyerIds(lawyerIds, from).forEach(hearing ->
+                slotsByLawyer.computeIfAbsent(hearing.getLawyerId(), id -> new ArrayList<>())
+                        .add(toSlot(hearing.getId(), hearing.getCaseId(), hearing.getDate(), hearing.getDurationMinutes()))));
+        Map<UUID, LawyerSchedule> loaded = new HashMap<>();
+        for (UUID lawyerId : lawyerIds) {
+            LawyerSchedule schedule = new LawyerSchedule(slotMinutes);
+            schedule.putAll(slotsByLawyer.getOrDefault(lawyerId, List.of()));
+            loaded.put(lawyerId, schedule);
+        }
+        log.debug("Loaded schedules of {} lawyers from {}", lawyerIds.size(), from);
+        return loaded;
+    }
+
+    private LawyerSchedule load(UUID lawyerId, LocalDateTime from) {
+        LawyerSchedule schedule = new LawyerSchedule(slotMinutes);
+        List<HearingRepository.HearingSlotView> hearings = hearingRepository.findSlotsByLawyerId(lawyerId, from);
+        schedule.putAll(hearings.stream()
+                .map(hearing -> toSlot(hearing.getId(), hearing.getCaseId(), hearing.getDate(), hearing.getDurationMinutes()))
+                .collect(Collectors.toList()));
+        log.debug("Loaded schedule of lawyer {} with {} hearings from {}", lawyerId, hearings.size(), from);
+        return schedule;
+    }
+
+    /**
+     * Runs {@code onCommit} and tells the other nodes once the caller's transaction
+     * commits. On rollback the lawyer's schedule is dropped instead, as it may hold
+     * hearings that were never committed.
+     */
+    private void onCompletion(UUID lawyerId, Runnable onCommit) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            onCommit.run();
+            publishChanged(lawyerId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    onCommit.run();
+                    publishChanged(lawyerId);
+                } else {
+                    schedules.invalidate(lawyerId);
+                }
+            }
+        });
+    }
+}
@@ -1,23 +1,49 @@
 package com.legalfirm.automation.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.legalfirm.automation.dto.request.BulkRescheduleRequest;
 import com.legalfirm.automation.dto.request.HearingRequest;
+import com.legalfirm.automation.dto.response.BulkRescheduleResponse;
+import com.legalfirm.automation.dto.response.HearingConflictResponse;
 import com.legalfirm.automation.dto.response.HearingResponse;
 import com.legalfirm.automation.dto.response.PageResponse;
+import com.legalfirm.automation.dto.response.RescheduledHearingResponse;
 import com.legalfirm.automation.entity.Case;
+import com.legalfirm.automation.entity.CaseHistory;
 import com.legalfirm.automation.entity.Hearing;
+import com.legalfirm.automation.entity.User;
+import com.legalfirm.automation.event.HearingChangedEvent;
+import com.legalfirm.automation.exception.BadRequestException;
 import com.legalfirm.automation.exception.ResourceNotFoundException;
+import com.legalfirm.automation.repository.CaseHistoryRepository;
 import com.legalfirm.automation.repository.CaseRepository;
 import com.legalfirm.automation.repository.HearingRepository;
+import com.legalfirm.automation.repository.UserRepository;
+import com.legalfirm.automation.util.JsonArrayWriter;
+import com.legalfirm.automation.util.LawyerSchedule;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -25,13 +51,50 @@ public class HearingService {
     
     private final HearingRepository hearingRepository;
     private final CaseRepository caseRepository;
+    private final UserRepository userRepository;
+    private final HearingScheduleIndex scheduleIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final CaseHistoryRepository caseHistoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final int BULK_BATCH_SIZE = 100;
+
+    @Value("${application.hearings.max-duration-minutes:720}")
+    private int maxDurationMinutes;
+
+    @Value("${application.hearings.bulk-reschedule-max:1000}")
+    private int bulkRescheduleMax;
 
     public List<HearingResponse> getAllHearings() {
-        return hearingRepository.findAll().stream()
+        return hearingRepository.findAllDetails().stream()
                 .map(this::mapToHearingResponse)
                 .collect(Collectors.toList());
     }
 
+    public PageResponse<HearingResponse> getHearings(Pageable pageable) {
+        Page<HearingRepository.HearingDetailView> page = hearingRepository.findAllDetails(pageable);
+        return PageResponse.<HearingResponse>builder()
+                .content(page.getContent().stream().map(this::mapToHearingResponse).collect(Collectors.toList()))
+                .pageNumber(page.getNumber())
+                .pageSize(page.getSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .last(page.isLast())
+                .build();
+    }
+
+    /**
+     * Writes every hearing to {@code out} as a JSON array while the rows are still
+     * being read, so memory use does not grow with the table.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllHearings(OutputStream out) {
+        try (Stream<HearingRepository.HearingDetailView> hearings = hearingRepository.streamAllDetails()) {
+            JsonArrayWriter.write(objectMapper, out, hearings, this::mapToHearingResponse);
+        }
+    }
+
     public PageResponse<HearingResponse> getUpcomingHearings(Pageable pageable) {
         Page<Hearing> hearingPage = hearingRepository.findUpcomingHearings(pageable);
         return mapToPageResponse(hearingPage);
@@ -50,7 +113,7 @@ public class HearingService {
     }
 
     public HearingResponse getHearingById(UUID id) {
-        Hearing hearing = hearingRepository.findById(id)
+        Hearing hearing = hearingRepository.findWithCaseById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Hearing not found with id: " + id));
         return mapToHearingResponse(hearing);
     }
@@ -60,13 +123,19 @@ public class HearingService {
         Case caseEntity = caseRepository.findById(request.getCaseId())
                 .orElseThrow(() -> new ResourceNotFoundException("Case not found with id: " + request.getCaseId()));
         
+        validateDuration(request.getDurationMinutes());
+        lockSchedule(caseEntity);
+
         Hearing hearing = Hearing.builder()
                 .date(request.getDate())
+                .durationMinutes(request.getDurationMinutes())
                 .notes(request.getNotes())
                 .caseEntity(caseEntity)
                 .build();
         
         Hearing savedHearing = hearingRepository.save(hearing);
+        reserveSlot(savedHearing);
+        publishHearingChanged(savedHearing, false);
         return mapToHearingResponse(savedHearing);
     }
 
@@ -75,25 +144,249 @@ public class HearingService {
         Hearing hearing = hearingRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Hearing not found with id: " + id));
         
+        validateDuration(request.getDurationMinutes());
+        lockSchedule(hearing.getCaseEntity());
+
         hearing.setDate(request.getDate());
         hearing.setNotes(request.getNotes());
+        if (request.getDurationMinutes() != null) {
+            hearing.setDurationMinutes(request.getDurationMinutes());
+        }
         
         Hearing updatedHearing = hearingRepository.save(hearing);
+        reserveSlot(updatedHearing);
+        publishHearingChanged(updatedHearing, false);
         return mapToHearingResponse(updatedHearing);
     }
 
     @Transactional
     public void deleteHearing(UUID id) {
-        if (!hearingRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Hearing not found with id: " + id);
+        Hearing hearing = hearingRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Hearing not found with id: " + id));
+        hearingRepository.delete(hearing);
+
+        User lawyer = hearing.getCaseEntity().getAssignedLawyer();
+        if (lawyer != null) {
+            scheduleIndex.release(lawyer.getId(), id);
+        }
+        publishHearingChanged(hearing, true);
+    }
+
+    /**
+     * Moves every selected hearing in one go, e.g. when a court adjourns a day.
+     * Conflicts are checked against the in-memory lawyer schedules and confirmed
+     * against the database while the lawyers are locked. The dates are
+     * written with a single JDBC batch and the case history entries with batched
+     * inserts. Nothing is changed if any moved hearing would overlap another
+     * hearing of its lawyer.
+     */
+    @Transactional
+    public BulkRescheduleResponse bulkReschedule(BulkRescheduleRequest request) {
+        validateBulkReschedule(request);
+
+        List<HearingRepository.LawyerHearingSlotView> hearings = findRescheduleTargets(request);
+        if (hearings.size() > bulkRescheduleMax) {
+            throw BadRequestException.Builder.businessRuleViolation("BULK_RESCHEDULE_LIMIT",
+                    hearings.size() + " hearings match, at most " + bulkRescheduleMax + " can be rescheduled at once");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<RescheduledHearingResponse> moves = new ArrayList<>(hearings.size());
+        Map<UUID, List<LawyerSchedule.Slot>> slotsByLawyer = new LinkedHashMap<>();
+        Map<UUID, UUID> lawyerByHearing = new HashMap<>();
+        for (HearingRepository.LawyerHearingSlotView hearing : hearings) {
+            LocalDateTime newDate = request.getShiftMinutes() != null
+                    ? hearing.getDate().plusMinutes(request.getShiftMinutes())
+                    : request.getNewDate().atTime(hearing.getDate().toLocalTime());
+            if (!newDate.isAfter(now)) {
+                throw new BadRequestException("Hearing " + hearing.getId() + " would be moved into the past (" + newDate + ")");
+            }
+            moves.add(RescheduledHearingResponse.builder()
+                    .hearingId(hearing.getId())
+                    .caseId(hearing.getCaseId())
+                    .previousDate(hearing.getDate())
+                    .newDate(newDate)
+                    .build());
+            if (hearing.getLawyerId() != null) {
+                lawyerByHearing.put(hearing.getId(), hearing.getLawyerId());
+                slotsByLawyer.computeIfAbsent(hearing.getLawyerId(), id -> new ArrayList<>())
+                        .add(scheduleIndex.toSlot(hearing.getId(), hearing.getCaseId(), newDate, hearing.getDurationMinutes()));
+            }
+        }
+
+        scheduleIndex.lock(slotsByLawyer.keySet());
+        // Schedules of lawyers already moved are dropped by the rollback if a later lawyer conflicts
+        Map<UUID, List<UUID>> conflicts = new LinkedHashMap<>();
+        slotsByLawyer.forEach((lawyerId, slots) -> conflicts.putAll(scheduleIndex.reserveAll(lawyerId, slots)));
+        if (!conflicts.isEmpty()) {
+            throw new BadRequestException(
+                    conflicts.size() + " of the rescheduled hearings would overlap other hearings of the same lawyer",
+                    HearingScheduleIndex.CONFLICT_ERROR_CODE,
+                    Map.of("conflicts", conflicts),
+                    null);
+        }
+
+        jdbcTemplate.batchUpdate("UPDATE hearings SET date = ? WHERE hearing_id = ?", moves, BULK_BATCH_SIZE,
+                (statement, move) -> {
+                    statement.setObject(1, move.getNewDate());
+                    statement.setObject(2, move.getHearingId());
+                });
+
+        User currentUser = getCurrentUser();
+        String description = request.getReason() != null && !request.getReason().isBlank()
+                ? "Hearing rescheduled: " + request.getReason()
+                : "Hearing rescheduled";
+        caseHistoryRepository.saveAll(moves.stream()
+                .map(move -> CaseHistory.builder()
+                        .caseEntity(caseRepository.getReferenceById(move.getCaseId()))
+                        .action("HEARING_RESCHEDULED")
+                        .description(description)
+                        .performedBy(currentUser)
+                        .oldValue(move.getPreviousDate().toString())
+                        .newValue(move.getNewDate().toString())
+                        .category("HEARING")
+                        .build())
+                .collect(Collectors.toList()));
+
+        moves.forEach(move -> eventPublisher.publishEvent(new HearingChangedEvent(move.getHearingId(),
+                move.getCaseId(), lawyerByHearing.get(move.getHearingId()), move.getNewDate(), false)));
+
+        return BulkRescheduleResponse.builder()
+                .rescheduledCount(moves.size())
+                .casesAffected((int) moves.stream().map(RescheduledHearingResponse::getCaseId).distinct().count())
+                .lawyersAffected(slotsByLawyer.size())
+                .hearings(moves)
+                .build();
+    }
+
+    /**
+     * Lists pairs of hearings of the same lawyer that overlap within the window.
+     */
+    public List<HearingConflictResponse> getConflicts(LocalDateTime startDate, LocalDateTime endDate) {
+        if (!startDate.isBefore(endDate)) {
+            throw BadRequestException.Builder.invalidDateRange(startDate.toString(), endDate.toString());
+        }
+
+        // A hearing starting up to one maximum duration before the window can still overlap it
+        List<UUID> lawyerIds = hearingRepository.findAssignedLawyerIdsBetween(
+                startDate.minusMinutes(maxDurationMinutes), endDate);
+        Map<UUID, List<LawyerSchedule.Conflict>> conflictsByLawyer = new LinkedHashMap<>();
+        Set<UUID> hearingIds = new HashSet<>();
+        for (UUID lawyerId : lawyerIds) {
+            List<LawyerSchedule.Conflict> conflicts = scheduleIndex.findConflicts(lawyerId, startDate, endDate);
+            if (!conflicts.isEmpty()) {
+                conflictsByLawyer.put(lawyerId, conflicts);
+                conflicts.forEach(conflict -> {
+                    hearingIds.add(conflict.first().hearingId());
+                    hearingIds.add(conflict.second().hearingId());
+                });
+            }
+        }
+        if (conflictsByLawyer.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, HearingResponse> hearings = hearingRepository.findWithCaseByIdIn(hearingIds).stream()
+                .collect(Collectors.toMap(Hearing::getId, this::mapToHearingResponse));
+        Map<UUID, User> lawyers = userRepository.findAllById(conflictsByLawyer.keySet()).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<HearingConflictResponse> responses = new ArrayList<>();
+        conflictsByLawyer.forEach((lawyerId, conflicts) -> {
+            User lawyer = lawyers.get(lawyerId);
+            for (LawyerSchedule.Conflict conflict : conflicts) {
+                responses.add(HearingConflictResponse.builder()
+                        .lawyerId(lawyerId)
+                        .lawyerName(lawyer != null ? lawyer.getName() : null)
+                        .hearing(hearings.get(conflict.first().hearingId()))
+                        .conflictingHearing(hearings.get(conflict.second().hearingId()))
+                        .overlapStart(conflict.overlapStart())
+                        .overlapEnd(conflict.overlapEnd())
+                        .build());
+            }
+        });
+        return responses;
+    }
+
+    private void lockSchedule(Case caseEntity) {
+        User lawyer = caseEntity.getAssignedLawyer();
+        if (lawyer != null) {
+            scheduleIndex.lock(List.of(lawyer.getId()));
+        }
+    }
+
+    private void reserveSlot(Hearing hearing) {
+        User lawyer = hearing.getCaseEntity().getAssignedLawyer();
+        if (lawyer == null) {
+            return;
+        }
+        scheduleIndex.reserve(lawyer.getId(), scheduleIndex.toSlot(
+                hearing.getId(), hearing.getCaseEntity().getId(), hearing.getDate(), hearing.getDurationMinutes()));
+    }
+
+    private void publishHearingChanged(Hearing hearing, boolean deleted) {
+        User lawyer = hearing.getCaseEntity().getAssignedLawyer();
+        eventPublisher.publishEvent(new HearingChangedEvent(hearing.getId(), hearing.getCaseEntity().getId(),
+                lawyer != null ? lawyer.getId() : null, hearing.getDate(), deleted));
+    }
+
+    private void validateBulkReschedule(BulkRescheduleRequest request) {
+        boolean byIds = request.getHearingIds() != null && !request.getHearingIds().isEmpty();
+        boolean byWindow = request.getWindowStart() != null || request.getWindowEnd() != null;
+        if (!byIds && !byWindow) {
+            throw BadRequestException.Builder.missingParameter("hearingIds or windowStart/windowEnd");
+        }
+        if (byWindow) {
+            if (request.getWindowStart() == null || request.getWindowEnd() == null) {
+                throw BadRequestException.Builder.missingParameter(
+                        request.getWindowStart() == null ? "windowStart" : "windowEnd");
+            }
+            if (!request.getWindowStart().isBefore(request.getWindowEnd())) {
+                throw BadRequestException.Builder.invalidDateRange(
+                        request.getWindowStart().toString(), request.getWindowEnd().toString());
+            }
+        }
+        boolean shift = request.getShiftMinutes() != null;
+        if (shift == (request.getNewDate() != null)) {
+            throw new BadRequestException("Exactly one of shiftMinutes or newDate must be given");
+        }
+        if (shift && request.getShiftMinutes() == 0) {
+            throw BadRequestException.Builder.invalidField("shiftMinutes", 0);
+        }
+    }
+
+    private List<HearingRepository.LawyerHearingSlotView> findRescheduleTargets(BulkRescheduleRequest request) {
+        if (request.getWindowStart() == null) {
+            return hearingRepository.findSlotsByIds(new HashSet<>(request.getHearingIds()));
+        }
+        List<HearingRepository.LawyerHearingSlotView> inWindow =
+                hearingRepository.findSlotsBetween(request.getWindowStart(), request.getWindowEnd());
+        if (request.getHearingIds() == null || request.getHearingIds().isEmpty()) {
+            return inWindow;
+        }
+        Set<UUID> selected = new HashSet<>(request.getHearingIds());
+        return inWindow.stream()
+                .filter(hearing -> selected.contains(hearing.getId()))
+                .collect(Collectors.toList());
+    }
+
+    private User getCurrentUser() {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
+    }
+
+    private void validateDuration(Integer durationMinutes) {
+        if (durationMinutes != null && durationMinutes > maxDurationMinutes) {
+            throw new BadRequestException("Hearing duration cannot exceed " + maxDurationMinutes + " minutes");
         }
-        hearingRepository.deleteById(id);
     }
 
     private HearingResponse mapToHearingResponse(Hearing hearing) {
         return HearingResponse.builder()
                 .id(hearing.getId())
                 .date(hearing.getDate())
+                .durationMinutes(scheduleIndex.effectiveDuration(hearing.getDurationMinutes()))
                 .notes(hearing.getNotes())
                 .caseId(hearing.getCaseEntity().getId())
                 .caseTitle(hearing.getCaseEntity().getTitle())
@@ -102,6 +395,19 @@ public class HearingService {
                 .build();
     }
 
+    private HearingResponse mapToHearingResponse(HearingRepository.HearingDetailView hearing) {
+        return HearingResponse.builder()
+                .id(hearing.getId())
+                .date(hearing.getDate())
+                .durationMinutes(scheduleIndex.effectiveDuration(hearing.getDurationMinutes()))
+                .notes(hearing.getNotes())
+                .caseId(hearing.getCaseId())
+                .caseTitle(hearing.getCaseTitle())
+                .clientName(hearing.getClientName())
+                .createdAt(hearing.getCreatedAt())
+                .build();
+    }
+
     private PageResponse<HearingResponse> mapToPageResponse(Page<Hearing> page) {
         return PageResponse.<HearingResponse>builder()
                 .content(page.getContent().stream().map(this::mapToHearingResponse).collect(Collectors.toList()))
@@ -0,0 +1,174 @@
+package com.legalfirm.automation.service;
+
+import com.legalfirm.automation.dto.response.AvailabilityResponse;
+import com.legalfirm.automation.dto.response.LawyerAvailabilityResponse;
+import com.legalfirm.automation.dto.response.TimeSlotResponse;
+import com.legalfirm.automation.entity.User;
+import com.legalfirm.automation.enums.Role;
+import com.legalfirm.automation.exception.BadRequestException;
+import com.legalfirm.automation.exception.ResourceNotFoundException;
+import com.legalfirm.automation.repository.UserRepository;
+import com.legalfirm.automation.util.DayBitset;
+import com.legalfirm.automation.util.LawyerSchedule;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Answers free/busy queries from the per-day busy bitsets kept by
+ * {@link HearingScheduleIndex}: a lawyer's free time for a day is the
+ * working-hours mask with the busy bits cleared. Days before today have no
+ * free time, as hearings cannot be booked there.
+ */
+@Service
+@RequiredArgsConstructor
+public class LawyerAvailabilityService {
+
+    private final HearingScheduleIndex scheduleIndex;
+    private final UserRepository userRepository;
+
+    @Value("${application.hearings.availability.work-day-start:09:00}")
+    private LocalTime workDayStart;
+
+    @Value("${application.hearings.availability.work-day-end:18:00}")
+    private LocalTime workDayEnd;
+
+    @Value("${application.hearings.availability.working-days:MONDAY,TUESDAY,WEDNESDAY,THURSDAY,FRIDAY}")
+    private String workingDays;
+
+    @Value("${application.hearings.availability.max-range-days:92}")
+    private int maxRangeDays;
+
+    @Value("${application.hearings.availability.max-lawyers:100}")
+    private int maxLawyers;
+
+    private Set<DayOfWeek> workingDaySet;
+
+    @PostConstruct
+    public void init() {
+        this.workingDaySet = EnumSet.noneOf(DayOfWeek.class);
+        Arrays.stream(workingDays.split(","))
+                .map(String::trim)
+                .filter(day -> !day.isEmpty())
+                .map(day -> DayOfWeek.valueOf(day.toUpperCase()))
+                .forEach(workingDaySet::add);
+    }
+
+    public AvailabilityResponse getAvailability(List<UUID> lawyerIds, LocalDate startDate, LocalDate endDate,
+                                                Integer minDurationMinutes) {
+        Set<UUID> ids = new LinkedHashSet<>(lawyerIds);
+        validateRequest(ids, startDate, endDate);
+        Map<UUID, User> lawyers = loadLawyers(ids);
+
+        int slotMinutes = scheduleIndex.getSlotMinutes();
+        int slotsPerDay = LawyerSchedule.MINUTES_PER_DAY / slotMinutes;
+        int minSlots = minDurationMinutes != null && minDurationMinutes > 0
+                ? (minDurationMinutes + slotMinutes - 1) / slotMinutes
+                : 1;
+        long[] workingHours = workingHoursMask(slotMinutes, slotsPerDay);
+
+        Map<UUID, List<TimeSlotResponse>> freeByLawyer = new LinkedHashMap<>();
+        ids.forEach(id -> freeByLawyer.put(id, new ArrayList<>()));
+        List<TimeSlotResponse> commonFree = new ArrayList<>();
+
+        LocalDate today = LocalDate.now();
+        for (LocalDate day = startDate.isBefore(today) ? today : startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+            if (!workingDaySet.contains(day.getDayOfWeek())) {
+                continue;
+            }
+            Map<UUID, long[]> busy = scheduleIndex.busySlots(ids, day);
+            long[] anyBusy = DayBitset.create(slotsPerDay);
+            for (UUID lawyerId : ids) {
+                long[] lawyerBusy = busy.get(lawyerId);
+                if (lawyerBusy != null) {
+                    DayBitset.or(anyBusy, lawyerBusy);
+                }
+                collectRuns(DayBitset.andNot(workingHours, lawyerBusy), slotsPerDay, slotMinutes, minSlots, day,
+                        freeByLawyer.get(lawyerId));
+            }
+            collectRuns(DayBitset.andNot(workingHours, anyBusy), slotsPerDay, slotMinutes, minSlots, day, commonFree);
+        }
+
+        return AvailabilityResponse.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .slotMinutes(slotMinutes)
+                .lawyers(freeByLawyer.entrySet().stream()
+                        .map(entry -> LawyerAvailabilityResponse.builder()
+                                .lawyerId(entry.getKey())
+                                .lawyerName(lawyers.get(entry.getKey()).getName())
+                                .freeSlots(entry.getValue())
+                                .build())
+                        .collect(Collectors.toList()))
+                .commonFreeSlots(commonFree)
+                .build();
+    }
+
+    private void validateRequest(Set<UUID> lawyerIds, LocalDate startDate, LocalDate endDate) {
+        if (lawyerIds.isEmpty()) {
+            throw BadRequestException.Builder.missingParameter("lawyerIds");
+        }
+        if (lawyerIds.size() > maxLawyers) {
+            throw new BadRequestException("At most " + maxLawyers + " lawyers can be queried at once");
+        }
+        if (endDate.isBefore(startDate)) {
+            throw BadRequestException.Builder.invalidDateRange(startDate.toString(), endDate.toString());
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= maxRangeDays) {
+            throw new BadRequestException("Date range cannot exceed " + maxRangeDays + " days");
+        }
+    }
+
+    private Map<UUID, User> loadLawyers(Set<UUID> lawyerIds) {
+        Map<UUID, User> lawyers = userRepository.findAllById(lawyerIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        for (UUID lawyerId : lawyerIds) {
+            User lawyer = lawyers.get(lawyerId);
+            if (lawyer == null || lawyer.getRole() != Role.LAWYER) {
+                throw new ResourceNotFoundException("Lawyer not found with id: " + lawyerId);
+            }
+        }
+        return lawyers;
+    }
+
+    private long[] workingHoursMask(int slotMinutes, int slotsPerDay) {
+        long[] mask = DayBitset.create(slotsPerDay);
+        int from = (workDayStart.toSecondOfDay() / 60 + slotMinutes - 1) / slotMinutes;
+        int to = (workDayEnd.toSecondOfDay() / 60) / slotMinutes;
+        if (from < to) {
+            DayBitset.set(mask, from, to);
+        }
+        return mask;
+    }
+
+    private void collectRuns(long[] free, int slotsPerDay, int slotMinutes, int minSlots, LocalDate day,
+                             List<TimeSlotResponse> target) {
+        LocalDateTime midnight = day.atStartOfDay();
+        DayBitset.forEachRun(free, slotsPerDay, (start, end) -> {
+            if (end - start >= minSlots) {
+                target.add(TimeSlotResponse.builder()
+                        .start(midnight.plusMinutes((long) start * slotMinutes))
+                        .end(midnight.plusMinutes((long) end * slotMinutes))
+                        .build());
+            }
+        });
+    }
+}
@@ -0,0 +1,507 @@
+package com.legalfirm.automation.service;
+
+import com.legalfirm.automation.cache.EntityCacheInvalidation;
+import com.legalfirm.automation.cache.EntityCacheInvalidationBroker;
+import com.legalfirm.automation.dto.response.CaseNoteResponse;
+import com.legalfirm.automation.dto.response.CursorPageResponse;
+import com.legalfirm.automation.dto.response.MessageNoteSearchResult;
+import com.legalfirm.automation.dto.response.MessageResponse;
+import com.legalfirm.automation.dto.response.UserResponse;
+import com.legalfirm.automation.entity.User;
+import com.legalfirm.automation.enums.SearchResultType;
+import com.legalfirm.automation.event.CaseArchivedEvent;
+import com.legalfirm.automation.event.CaseNoteDeletedEvent;
+import com.legalfirm.automation.event.CaseNoteSavedEvent;
+import com.legalfirm.automation.event.MessageDeletedEvent;
+import com.legalfirm.automation.event.MessageSentEvent;
+import com.legalfirm.automation.exception.BadRequestException;
+import com.legalfirm.automation.repository.CaseNoteRepository;
+import com.legalfirm.automation.repository.MessageRepository;
+import com.legalfirm.automation.repository.UserRepository;
+import com.legalfirm.automation.util.LuceneIndex;
+import com.legalfirm.automation.util.SearchSnippets;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text search over messages and case notes.
+ * <p>
+ * Both live in one Lucene index next to the document index. Each entry lists the
+ * users allowed to see it, mirroring {@link CaseNoteRepository#findVisibleNotes}:
+ * a message is visible to its sender and receiver, a private note to its creator
+ * and a public note to everyone. Entries are updated after each change commits;
+ * every hit is checked against the database again before it is returned.
+ * <p>
+ * Results are ranked by relevance and paged with a cursor holding the last hit's
+ * score and key, so later pages never re-collect the hits already returned.
+ * <p>
+ * Every node keeps its own index and sends the key of each entry it changes
+ * through the {@link EntityCacheInvalidationBroker} under {@link #INDEX_NAME}; the
+ * other nodes re-read that row. As for documents, a high-water mark in the index
+ * commit limits the startup and periodic catch-up to rows changed since.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MessageNoteSearchService {
+
+    public static final String INDEX_NAME = "message-note-index";
+
+    private static final String FIELD_KEY = "key";
+    private static final String FIELD_TYPE = "type";
+    private static final String FIELD_VISIBLE_TO = "visibleTo";
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_CONTENT = "content";
+    private static final String EVERYONE = "*";
+    private static final int SNIPPET_RADIUS = 120;
+    private static final int BACKFILL_BATCH_SIZE = 500;
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+    private static final String INDEXED_THROUGH = "indexedThrough";
+    private static final Sort RANKING = new Sort(SortField.FIELD_SCORE, new SortField(FIELD_KEY, SortField.Type.STRING));
+
+    private final MessageRepository messageRepository;
+    private final CaseNoteRepository caseNoteRepository;
+    private final UserRepository userRepository;
+    private final EntityCacheInvalidationBroker invalidationBroker;
+
+    @Value("${application.search.index-dir}")
+    private String indexDir;
+
+    @Value("${application.search.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @Value("${application.search.catch-up-overlap:PT10M}")
+    private Duration catchUpOverlap;
+
+    private LuceneIndex index;
+
+    @PostConstruct
+    public void init() {
+        this.index = new LuceneIndex(Paths.get(indexDir, "messages-notes").toAbsolutePath().normalize(), FIELD_KEY);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        index.close();
+    }
+
+    @Async("documentIndexExecutor")
+    @TransactionalEventListener
+    public void onMessageSent(MessageSentEvent event) {
+        reindex(SearchResultType.MESSAGE, event.message().getId());
+        publishChanged(key(SearchResultType.MESSAGE, event.message().getId()));
+    }
+
+    @Async("documentIndexExecutor")
+    @TransactionalEventListener
+    public void onMessageDeleted(MessageDeletedEvent event) {
+        removeAndPublish(key(SearchResultType.MESSAGE, event.messageId()));
+    }
+
+    @Async("documentIndexExecutor")
+    @TransactionalEventListener
+    public void onCaseNoteSaved(CaseNoteSavedEvent event) {
+        reindex(SearchResultType.NOTE, event.noteId());
+        publishChanged(key(SearchResultType.NOTE, event.noteId()));
+    }
+
+    @Async("documentIndexExecutor")
+    @TransactionalEventListener
+    public void onCaseNoteDeleted(CaseNoteDeletedEvent event) {
+        removeAndPublish(key(SearchResultType.NOTE, event.noteId()));
+    }
+
+    @Async("documentIndexExecutor")
+    @TransactionalEventListener
+    public void onCaseArchived(CaseArchivedEvent event) {
+        event.noteIds().forEach(noteId -> removeAndPublish(key(SearchResultType.NOTE, noteId)));
+    }
+
+    /**
+     * Applies a change another node made by re-reading the row behind the key.
+     */
+    @Async("documentIndexExecutor")
+    @EventListener(condition = "#invalidation.entityName() == '" + INDEX_NAME + "'")
+    public void onInvalidation(EntityCacheInvalidation invalidation) {
+        if (invalidation.id() != null) {
+            reindex(typeOf(invalidation.id()), idOf(invalidation.id()));
+        }
+    }
+
+    @Async("documentIndexExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUpOnStartup() {
+        if (backfillOnStartup) {
+            catchUp();
+        }
+    }
+
+    /**
+     * Indexes the messages sent and notes edited since the mark, less
+     * {@code catch-up-overlap} for changes that committed late, then moves the mark
+     * to the start of this run. An index without a mark gets a full pass.
+     */
+    @Scheduled(initialDelayString = "${application.search.catch-up-interval:PT15M}",
+               fixedDelayString = "${application.search.catch-up-interval:PT15M}")
+    public synchronized void catchUp() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        String mark = index.getCommitData(INDEXED_THROUGH);
+        try {
+            int indexed = mark == null ? indexAll() : indexChangedSince(LocalDateTime.parse(mark).minus(catchUpOverlap));
+            index.putCommitData(INDEXED_THROUGH, startedAt.toString());
+            log.info("Message and note index catch-up complete, {} entries indexed", indexed);
+        } catch (IOException ex) {
+            // The mark stays where it was, so the next run covers these rows again
+            log.error("Message and note index catch-up failed", ex);
+        }
+    }
+
+    public CursorPageResponse<MessageNoteSearchResult> search(String queryText, SearchResultType type,
+                                                              UUID userId, String cursor, int size) {
+        if (queryText == null || queryText.isBlank()) {
+            throw new BadRequestException("Search query is required");
+        }
+        SimpleQueryParser parser = new SimpleQueryParser(index.getAnalyzer(), Map.of(FIELD_CONTENT, 1.0f, FIELD_TITLE, 2.0f));
+        Query textQuery = parser.parse(queryText);
+        if (textQuery == null) {
+            return CursorPageResponse.<MessageNoteSearchResult>builder()
+                    .content(List.of())
+                    .pageSize(size)
+                    .hasMore(false)
+                    .build();
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(textQuery, BooleanClause.Occur.MUST)
+                .add(new BooleanQuery.Builder()
+                        .add(new TermQuery(new Term(FIELD_VISIBLE_TO, userId.toString())), BooleanClause.Occur.SHOULD)
+                        .add(new TermQuery(new Term(FIELD_VISIBLE_TO, EVERYONE)), BooleanClause.Occur.SHOULD)
+                        .build(), BooleanClause.Occur.FILTER);
+        if (type != null) {
+            query.add(new TermQuery(new Term(FIELD_TYPE, type.name())), BooleanClause.Occur.FILTER);
+        }
+        SearchCursor after = cursor == null || cursor.isBlank() ? null : SearchCursor.decode(cursor);
+
+        List<Hit> hits;
+        try {
+            hits = index.search(searcher -> {
+                // One extra hit tells whether another page follows
+                FieldDoc afterDoc = after != null ? after.toFieldDoc(searcher.getIndexReader().maxDoc()) : null;
+                TopDocs topDocs = searcher.searchAfter(afterDoc, query.build(), size + 1, RANKING, true);
+                List<Hit> page = new ArrayList<>(topDocs.scoreDocs.length);
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    Document stored = searcher.storedFields().document(scoreDoc.doc);
+                    page.add(new Hit(stored.get(FIELD_KEY), scoreDoc.score,
+                            SearchSnippets.build(stored.get(FIELD_CONTENT), queryText, SNIPPET_RADIUS)));
+                }
+                return page;
+            });
+        } catch (IOException ex) {
+            throw new IllegalStateException("Message and note search failed", ex);
+        }
+
+        boolean hasMore = hits.size() > size;
+        List<Hit> page = hasMore ? hits.subList(0, size) : hits;
+        Hit last = page.isEmpty() ? null : page.get(page.size() - 1);
+        return CursorPageResponse.<MessageNoteSearchResult>builder()
+                .content(toResults(page, userId))
+                .pageSize(size)
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? new SearchCursor(last.score(), last.key()).encode() : null)
+                .build();
+    }
+
+    private List<MessageNoteSearchResult> toResults(List<Hit> hits, UUID userId) {
+        Map<SearchResultType, Set<UUID>> ids = hits.stream().collect(Collectors.groupingBy(
+                hit -> typeOf(hit.key()), Collectors.mapping(hit -> idOf(hit.key()), Collectors.toSet())));
+        Map<UUID, MessageRepository.ConversationMessageView> messages = ids.containsKey(SearchResultType.MESSAGE)
+                ? messageRepository.findViewsByIds(ids.get(SearchResultType.MESSAGE)).stream()
+                        .collect(Collectors.toMap(MessageRepository.ConversationMessageView::getId, Function.identity()))
+                : Map.of();
+        Map<UUID, CaseNoteRepository.NoteView> notes = ids.containsKey(SearchResultType.NOTE)
+                ? caseNoteRepository.findViewsByIds(ids.get(SearchResultType.NOTE)).stream()
+                        .collect(Collectors.toMap(CaseNoteRepository.NoteView::getId, Function.identity()))
+                : Map.of();
+
+        Set<UUID> userIds = new HashSet<>();
+        messages.values().forEach(message -> {
+            userIds.add(message.getSenderId());
+            userIds.add(message.getReceiverId());
+        });
+        notes.values().forEach(note -> userIds.add(note.getCreatedById()));
+        Map<UUID, UserResponse> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, this::mapToUserResponse));
+
+        List<MessageNoteSearchResult> results = new ArrayList<>(hits.size());
+        for (Hit hit : hits) {
+            UUID id = idOf(hit.key());
+            MessageNoteSearchResult.MessageNoteSearchResultBuilder result = MessageNoteSearchResult.builder()
+                    .type(typeOf(hit.key()))
+                    .score(hit.score())
+                    .snippet(hit.snippet());
+            if (typeOf(hit.key()) == SearchResultType.MESSAGE) {
+                MessageRepository.ConversationMessageView message = messages.get(id);
+                if (message == null) {
+                    remove(hit.key());
+                    continue;
+                }
+                if (!userId.equals(message.getSenderId()) && !userId.equals(message.getReceiverId())) {
+                    continue;
+                }
+                result.message(MessageResponse.builder()
+                        .id(message.getId())
+                        .sender(users.get(message.getSenderId()))
+                        .receiver(users.get(message.getReceiverId()))
+                        .content(message.getContent())
+                        .timestamp(message.getTimestamp())
+                        .isRead(message.getIsRead())
+                        .build());
+            } else {
+                CaseNoteRepository.NoteView note = notes.get(id);
+                if (note == null) {
+                    remove(hit.key());
+                    continue;
+                }
+                if (Boolean.TRUE.equals(note.getIsPrivate()) && !userId.equals(note.getCreatedById())) {
+                    continue;
+                }
+                result.note(CaseNoteResponse.builder()
+                        .id(note.getId())
+                        .content(note.getContent())
+                        .isPrivate(note.getIsPrivate())
+                        .createdBy(users.get(note.getCreatedById()))
+                        .caseId(note.getCaseId())
+                        .caseTitle(note.getCaseTitle())
+                        .createdAt(note.getCreatedAt())
+                        .updatedAt(note.getUpdatedAt())
+                        .build());
+            }
+            results.add(result.build());
+        }
+        return results;
+    }
+
+    /**
+     * Re-reads the row and writes its current state, so events handled out of
+     * order still leave the index matching the database.
+     */
+    private void reindex(SearchResultType type, UUID id) {
+        String key = key(type, id);
+        try {
+            Document document = switch (type) {
+                case MESSAGE -> messageRepository.findViewsByIds(List.of(id)).stream()
+                        .findFirst().map(this::toIndexDocument).orElse(null);
+                case NOTE -> caseNoteRepository.findViewsByIds(List.of(id)).stream()
+                        .findFirst().map(this::toIndexDocument).orElse(null);
+            };
+            if (document == null) {
+                index.delete(key);
+            } else {
+                index.upsert(key, document);
+            }
+            log.debug("Indexed {}", key);
+        } catch (Exception ex) {
+            log.error("Failed to index {}", key, ex);
+        }
+    }
+
+    private int indexAll() throws IOException {
+        int indexed = 0;
+        UUID after = FIRST_ID;
+        List<MessageRepository.ConversationMessageView> messages;
+        while (!(messages = messageRepository.findViewsAfter(after, Limit.of(BACKFILL_BATCH_SIZE))).isEmpty()) {
+            indexed += indexMissing(messages.stream().collect(Collectors.toMap(
+                    message -> key(SearchResultType.MESSAGE, message.getId()), this::toIndexDocument)));
+            after = messages.get(messages.size() - 1).getId();
+        }
+        after = FIRST_ID;
+        List<CaseNoteRepository.NoteView> notes;
+        while (!(notes = caseNoteRepository.findViewsAfter(after, Limit.of(BACKFILL_BATCH_SIZE))).isEmpty()) {
+            indexed += indexMissing(notes.stream().collect(Collectors.toMap(
+                    note -> key(SearchResultType.NOTE, note.getId()), this::toIndexDocument)));
+            after = notes.get(notes.size() - 1).getId();
+        }
+        return indexed;
+    }
+
+    // Notes can be edited, so rows in the window are written even when already indexed
+    private int indexChangedSince(LocalDateTime since) throws IOException {
+        int indexed = 0;
+        LocalDateTime from = since;
+        UUID after = FIRST_ID;
+        List<MessageRepository.ConversationMessageView> messages;
+        while (!(messages = messageRepository.findViewsSentSince(from, after, Limit.of(BACKFILL_BATCH_SIZE))).isEmpty()) {
+            indexed += upsertAll(messages.stream().collect(Collectors.toMap(
+                    message -> key(SearchResultType.MESSAGE, message.getId()), this::toIndexDocument)));
+            MessageRepository.ConversationMessageView last = messages.get(messages.size() - 1);
+            from = last.getTimestamp();
+            after = last.getId();
+        }
+        from = since;
+        after = FIRST_ID;
+        List<CaseNoteRepository.NoteView> notes;
+        while (!(notes = caseNoteRepository.findViewsUpdatedSince(from, after, Limit.of(BACKFILL_BATCH_SIZE))).isEmpty()) {
+            indexed += upsertAll(notes.stream().collect(Collectors.toMap(
+                    note -> key(SearchResultType.NOTE, note.getId()), this::toIndexDocument)));
+            CaseNoteRepository.NoteView last = notes.get(notes.size() - 1);
+            from = last.getUpdatedAt();
+            after = last.getId();
+        }
+        return indexed;
+    }
+
+    private void publishChanged(String key) {
+        invalidationBroker.publish(EntityCacheInvalidation.of(INDEX_NAME, key));
+    }
+
+    private void removeAndPublish(String key) {
+        remove(key);
+        publishChanged(key);
+    }
+
+    private void remove(String key) {
+        try {
+            index.delete(key);
+            log.debug("Removed {} from index", key);
+        } catch (IOException ex) {
+            log.error("Failed to remove {} from index", key, ex);
+        }
+    }
+
+    private int indexMissing(Map<String, Document> documents) throws IOException {
+        Map<String, Document> missing = new LinkedHashMap<>();
+        for (Map.Entry<String, Document> entry : documents.entrySet()) {
+            if (!index.contains(entry.getKey())) {
+                missing.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return upsertAll(missing);
+    }
+
+    private int upsertAll(Map<String, Document> documents) throws IOException {
+        index.upsertAll(documents);
+        return documents.size();
+    }
+
+    private Document toIndexDocument(MessageRepository.ConversationMessageView message) {
+        Document document = newIndexDocument(SearchResultType.MESSAGE, message.getId());
+        document.add(new StringField(FIELD_VISIBLE_TO, message.getSenderId().toString(), Field.Store.NO));
+        document.add(new StringField(FIELD_VISIBLE_TO, message.getReceiverId().toString(), Field.Store.NO));
+        document.add(new TextField(FIELD_CONTENT, message.getContent(), Field.Store.YES));
+        return document;
+    }
+
+    private Document toIndexDocument(CaseNoteRepository.NoteView note) {
+        Document document = newIndexDocument(SearchResultType.NOTE, note.getId());
+        String visibleTo = Boolean.TRUE.equals(note.getIsPrivate()) ? note.getCreatedById().toString() : EVERYONE;
+        document.add(new StringField(FIELD_VISIBLE_TO, visibleTo, Field.Store.NO));
+        if (note.getTitle() != null) {
+            document.add(new TextField(FIELD_TITLE, note.getTitle(), Field.Store.NO));
+        }
+        document.add(new TextField(FIELD_CONTENT, note.getContent(), Field.Store.YES));
+        return document;
+    }
+
+    private static Document newIndexDocument(SearchResultType type, UUID id) {
+        String key = key(type, id);
+        Document document = new Document();
+        document.add(new StringField(FIELD_KEY, key, Field.Store.YES));
+        // Tie-break for equal scores, which keeps the cursor order total
+        document.add(new SortedDocValuesField(FIELD_KEY, new BytesRef(key)));
+        document.add(new StringField(FIELD_TYPE, type.name(), Field.Store.NO));
+        return document;
+    }
+
+    private static String key(SearchResultType type, UUID id) {
+        return type.name() + ":" + id;
+    }
+
+    private static SearchResultType typeOf(String key) {
+        return SearchResultType.valueOf(key.substring(0, key.indexOf(':')));
+    }
+
+    private static UUID idOf(String key) {
+        return UUID.fromString(key.substring(key.indexOf(':') + 1));
+    }
+
+    private UserResponse mapToUserResponse(User user) {
+        return UserResponse.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .role(user.getRole())
+                .build();
+    }
+
+    private record Hit(String key, float score, String snippet) {
+    }
+
+    private record SearchCursor(float score, String key) {
+
+        String encode() {
+            String raw = Integer.toHexString(Float.floatToIntBits(score)) + "|" + key;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        FieldDoc toFieldDoc(int maxDoc) {
+            // Keys are unique, so the doc id only has to make an equal key count as already returned
+            return new FieldDoc(Math.max(maxDoc - 1, 0), score, new Object[]{score, new BytesRef(key)});
+        }
+
+        static SearchCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                String key = raw.substring(separator + 1);
+                typeOf(key);
+                idOf(key);
+                return new SearchCursor(Float.intBitsToFloat(Integer.parseUnsignedInt(raw.substring(0, separator), 16)), key);
+            } catch (RuntimeException ex) {
+                throw BadRequestException.Builder.invalidField("cursor", cursor);
+            }
+        }
+    }
+}
@@ -1,22 +1,35 @@
 package com.legalfirm.automation.service;
 
 import com.legalfirm.automation.dto.request.MessageRequest;
+import com.legalfirm.automation.dto.response.ConversationSummaryResponse;
+import com.legalfirm.automation.dto.response.CursorPageResponse;
 import com.legalfirm.automation.dto.response.MessageResponse;
 import com.legalfirm.automation.dto.response.PageResponse;
 import com.legalfirm.automation.dto.response.UserResponse;
 import com.legalfirm.automation.entity.Message;
 import com.legalfirm.automation.entity.User;
+import com.legalfirm.automation.event.ConversationReadEvent;
+import com.legalfirm.automation.event.MessageDeletedEvent;
+import com.legalfirm.automation.event.MessageReadEvent;
+import com.legalfirm.automation.event.MessageSentEvent;
 import com.legalfirm.automation.exception.BadRequestException;
 import com.legalfirm.automation.exception.ResourceNotFoundException;
 import com.legalfirm.automation.repository.MessageRepository;
 import com.legalfirm.automation.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -24,18 +37,67 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class MessageService {
     
+    private static final int MAX_CONVERSATION_PAGE_SIZE = 200;
+
     private final MessageRepository messageRepository;
     private final UserRepository userRepository;
+    private final UnreadMessageCounterService unreadCounterService;
+    private final ConversationSummaryService conversationSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public PageResponse<MessageResponse> getUserMessages(UUID userId, Pageable pageable) {
         Page<Message> messagePage = messageRepository.findUserMessages(userId, pageable);
         return mapToPageResponse(messagePage);
     }
 
-    public List<MessageResponse> getConversation(UUID userId1, UUID userId2) {
-        return messageRepository.findConversation(userId1, userId2).stream()
-                .map(this::mapToMessageResponse)
-                .collect(Collectors.toList());
+    /**
+     * Returns one page of the conversation between two users, newest first.
+     * Pages are keyed on {@code (timestamp, id)} rather than an offset, so every
+     * page costs the same no matter how long the conversation is.
+     */
+    public CursorPageResponse<MessageResponse> getConversation(UUID userId, UUID otherUserId, String cursor, int size) {
+        if (size < 1 || size > MAX_CONVERSATION_PAGE_SIZE) {
+            throw BadRequestException.Builder.invalidField("size", size);
+        }
+        Map<UUID, UserResponse> participants = userRepository.findAllById(List.of(userId, otherUserId)).stream()
+                .collect(Collectors.toMap(User::getId, this::mapToUserResponse));
+        if (!participants.containsKey(otherUserId)) {
+            throw new ResourceNotFoundException("User not found with id: " + otherUserId);
+        }
+
+        // One extra row tells whether another page follows
+        Limit limit = Limit.of(size + 1);
+        List<MessageRepository.ConversationMessageView> sent;
+        List<MessageRepository.ConversationMessageView> received;
+        if (cursor == null || cursor.isBlank()) {
+            sent = messageRepository.findLatestSent(userId, otherUserId, limit);
+            received = messageRepository.findLatestSent(otherUserId, userId, limit);
+        } else {
+            ConversationCursor position = ConversationCursor.decode(cursor);
+            sent = messageRepository.findSentBefore(userId, otherUserId, position.timestamp(), position.id(), limit);
+            received = messageRepository.findSentBefore(otherUserId, userId, position.timestamp(), position.id(), limit);
+        }
+
+        List<MessageRepository.ConversationMessageView> merged = mergeNewestFirst(sent, received, size + 1);
+        boolean hasMore = merged.size() > size;
+        List<MessageRepository.ConversationMessageView> page = hasMore ? merged.subList(0, size) : merged;
+        MessageRepository.ConversationMessageView last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return CursorPageResponse.<MessageResponse>builder()
+                .content(page.stream()
+                        .map(message -> MessageResponse.builder()
+                                .id(message.getId())
+                                .sender(participants.get(message.getSenderId()))
+                                .receiver(participants.get(message.getReceiverId()))
+                                .content(message.getContent())
+                                .timestamp(message.getTimestamp())
+                                .isRead(message.getIsRead())
+                                .build())
+                        .collect(Collectors.toList()))
+                .pageSize(size)
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? new ConversationCursor(last.getTimestamp(), last.getId()).encode() : null)
+                .build();
     }
 
     @Transactional
@@ -57,8 +119,13 @@ public class MessageService {
                 .isRead(false)
                 .build();
         
+        seedCounters(senderId, receiver.getId());
         Message savedMessage = messageRepository.save(message);
-        return mapToMessageResponse(savedMessage);
+        unreadCounterService.increment(receiver.getId());
+        conversationSummaryService.recordMessageSent(savedMessage);
+        MessageResponse response = mapToMessageResponse(savedMessage);
+        eventPublisher.publishEvent(new MessageSentEvent(response));
+        return response;
     }
 
     @Transactional
@@ -66,20 +133,65 @@ public class MessageService {
         Message message = messageRepository.findById(messageId)
                 .orElseThrow(() -> new ResourceNotFoundException("Message not found with id: " + messageId));
         
-        message.setIsRead(true);
-        messageRepository.save(message);
+        seedCounters(message.getSender().getId(), message.getReceiver().getId());
+        if (messageRepository.markAsRead(messageId, LocalDateTime.now()) == 0) {
+            return;
+        }
+        unreadCounterService.decrement(message.getReceiver().getId(), 1);
+        conversationSummaryService.recordRead(message.getReceiver().getId(), message.getSender().getId(), 1);
+        eventPublisher.publishEvent(new MessageReadEvent(
+                message.getId(), message.getSender().getId(), message.getReceiver().getId()));
+    }
+
+    /**
+     * Marks every unread message {@code otherUserId} sent to {@code userId} as read
+     * with one update, and returns how many messages changed.
+     */
+    @Transactional
+    public int markConversationAsRead(UUID userId, UUID otherUserId) {
+        if (!userRepository.existsById(otherUserId)) {
+            throw new ResourceNotFoundException("User not found with id: " + otherUserId);
+        }
+        seedCounters(otherUserId, userId);
+        int markedRead = messageRepository.markConversationAsRead(otherUserId, userId, LocalDateTime.now());
+        if (markedRead > 0) {
+            unreadCounterService.decrement(userId, markedRead);
+            conversationSummaryService.recordRead(userId, otherUserId, markedRead);
+            eventPublisher.publishEvent(new ConversationReadEvent(userId, otherUserId, markedRead));
+        }
+        return markedRead;
     }
 
     @Transactional
     public void deleteMessage(UUID id) {
-        if (!messageRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Message not found with id: " + id);
+        // Locked so a concurrent mark-as-read cannot decrement the counter a second time
+        Message message = messageRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Message not found with id: " + id));
+        seedCounters(message.getSender().getId(), message.getReceiver().getId());
+        if (!Boolean.TRUE.equals(message.getIsRead())) {
+            unreadCounterService.decrement(message.getReceiver().getId(), 1);
         }
-        messageRepository.deleteById(id);
+        messageRepository.delete(message);
+        messageRepository.flush();
+        conversationSummaryService.recordMessageDeleted(message);
+        eventPublisher.publishEvent(new MessageDeletedEvent(id));
+    }
+
+    public PageResponse<ConversationSummaryResponse> getInbox(UUID userId, Pageable pageable) {
+        return conversationSummaryService.getInbox(userId, pageable);
     }
 
     public long getUnreadMessagesCount(UUID userId) {
-        return messageRepository.countUnreadMessages(userId);
+        return unreadCounterService.getUnreadCount(userId);
+    }
+
+    /**
+     * Creates the receiver's unread counter and the conversation's summaries if they
+     * are missing, before the conversation's messages are written.
+     */
+    private void seedCounters(UUID senderId, UUID receiverId) {
+        unreadCounterService.seed(receiverId);
+        conversationSummaryService.seed(senderId, receiverId);
     }
 
     private MessageResponse mapToMessageResponse(Message message) {
@@ -93,6 +205,37 @@ public class MessageService {
                 .build();
     }
 
+    private static List<MessageRepository.ConversationMessageView> mergeNewestFirst(
+            List<MessageRepository.ConversationMessageView> first,
+            List<MessageRepository.ConversationMessageView> second,
+            int limit) {
+        List<MessageRepository.ConversationMessageView> merged = new ArrayList<>(Math.min(limit, first.size() + second.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < first.size() || j < second.size())) {
+            if (j >= second.size() || (i < first.size() && isNewer(first.get(i), second.get(j)))) {
+                merged.add(first.get(i++));
+            } else {
+                merged.add(second.get(j++));
+            }
+        }
+        return merged;
+    }
+
+    private static boolean isNewer(MessageRepository.ConversationMessageView a,
+                                   MessageRepository.ConversationMessageView b) {
+        int byTimestamp = a.getTimestamp().compareTo(b.getTimestamp());
+        if (byTimestamp != 0) {
+            return byTimestamp > 0;
+        }
+        // Same order as the database: UUIDs compare as unsigned 128-bit values
+        int byMostSignificant = Long.compareUnsigned(a.getId().getMostSignificantBits(), b.getId().getMostSignificantBits());
+        if (byMostSignificant != 0) {
+            return byMostSignificant > 0;
+        }
+        return Long.compareUnsigned(a.getId().getLeastSignificantBits(), b.getId().getLeastSignificantBits()) > 0;
+    }
+
     private UserResponse mapToUserResponse(User user) {
         return UserResponse.builder()
                 .id(user.getId())
@@ -112,4 +255,24 @@ public class MessageService {
                 .last(page.isLast())
                 .build();
     }
-}
\ No newline at end of file
+
+    private record ConversationCursor(LocalDateTime timestamp, UUID id) {
+
+        String encode() {
+            String raw = timestamp + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static ConversationCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new ConversationCursor(
+                        LocalDateTime.parse(raw.substring(0, separator)),
+                        UUID.fromString(raw.substring(separator + 1)));
+            } catch (RuntimeException ex) {
+                throw BadRequestException.Builder.invalidField("cursor", cursor);
+            }
+        }
+    }
+}
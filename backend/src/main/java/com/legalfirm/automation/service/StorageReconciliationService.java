@@ -0,0 +1,318 @@
+package com.legalfirm.automation.service;
+
+import com.legalfirm.automation.repository.ArchivedDocumentRepository;
+import com.legalfirm.automation.repository.DocumentRepository;
+import com.legalfirm.automation.util.FileStorageUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the upload directory and the documents table in sync.
+ * <p>
+ * Each run advances two cursors that are checkpointed to disk, so a full pass is
+ * spread over many runs and survives restarts:
+ * <ul>
+ *     <li>a file-name cursor over the upload directory - files no row refers to are
+ *     moved to quarantine once they are older than the grace period;</li>
+ *     <li>a document-id cursor over the table - rows whose file is gone are flagged
+ *     as {@code fileMissing} (and unflagged if the file reappears).</li>
+ * </ul>
+ * Work is done in small batches with a pause in between so the scan never competes
+ * with uploads and downloads for disk bandwidth.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StorageReconciliationService {
+
+    private static final String CHECKPOINT_FILE = "checkpoint.properties";
+    private static final String FILE_CURSOR = "fileCursor";
+    private static final String DOCUMENT_CURSOR = "documentCursor";
+    private static final UUID FIRST_DOCUMENT_ID = new UUID(0L, 0L);
+    private static final Comparator<Path> BY_FILE_NAME = Comparator.comparing(path -> path.getFileName().toString());
+
+    private final DocumentRepository documentRepository;
+    private final ArchivedDocumentRepository archivedDocumentRepository;
+    private final FileStorageUtil fileStorageUtil;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.file.reconciliation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${application.file.reconciliation.state-dir:./uploads/reconciliation/}")
+    private String stateDir;
+
+    @Value("${application.file.reconciliation.files-per-run:5000}")
+    private int filesPerRun;
+
+    @Value("${application.file.reconciliation.documents-per-run:5000}")
+    private int documentsPerRun;
+
+    @Value("${application.file.reconciliation.batch-size:100}")
+    private int batchSize;
+
+    @Value("${application.file.reconciliation.batch-pause:PT0.2S}")
+    private Duration batchPause;
+
+    @Value("${application.file.reconciliation.orphan-grace-period:PT1H}")
+    private Duration orphanGracePeriod;
+
+    @Value("${application.file.reconciliation.quarantine-retention:P30D}")
+    private Duration quarantineRetention;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private Path statePath;
+    private Path quarantinePath;
+    private Counter orphansQuarantined;
+    private Counter quarantinePurged;
+    private Counter documentsFlaggedMissing;
+    private Counter documentsRecovered;
+
+    @PostConstruct
+    public void init() {
+        this.statePath = Paths.get(stateDir).toAbsolutePath().normalize();
+        this.quarantinePath = statePath.resolve("quarantine");
+        try {
+            Files.createDirectories(quarantinePath);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not create the storage reconciliation directory.", ex);
+        }
+
+        this.orphansQuarantined = Counter.builder("documents.storage.reconciliation.orphans")
+                .description("Stored files without a document row moved to quarantine")
+                .register(meterRegistry);
+        this.quarantinePurged = Counter.builder("documents.storage.reconciliation.purged")
+                .description("Quarantined files deleted after the retention period")
+                .register(meterRegistry);
+        this.documentsFlaggedMissing = Counter.builder("documents.storage.reconciliation.missing")
+                .description("Document rows flagged because their file is missing")
+                .register(meterRegistry);
+        this.documentsRecovered = Counter.builder("documents.storage.reconciliation.recovered")
+                .description("Document rows unflagged because their file reappeared")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${application.file.reconciliation.initial-delay:PT5M}",
+            fixedDelayString = "${application.file.reconciliation.interval:PT15M}")
+    public void reconcile() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Properties checkpoint = loadCheckpoint();
+
+            String fileCursor = scanFiles(checkpoint.getProperty(FILE_CURSOR, ""));
+            checkpoint.setProperty(FILE_CURSOR, fileCursor);
+            saveCheckpoint(checkpoint);
+
+            String documentCursor = checkpoint.getProperty(DOCUMENT_CURSOR, FIRST_DOCUMENT_ID.toString());
+            checkpoint.setProperty(DOCUMENT_CURSOR, scanDocuments(UUID.fromString(documentCursor)).toString());
+            saveCheckpoint(checkpoint);
+
+            purgeQuarantine();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            log.error("Storage reconciliation failed", ex);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Checks the next {@code filesPerRun} file names after the cursor against the table.
+     * Returns the new cursor, or an empty string once the end of the directory is reached.
+     */
+    private String scanFiles(String cursor) throws IOException, InterruptedException {
+        List<Path> files = nextFiles(cursor);
+        Instant orphanCutoff = Instant.now().minus(orphanGracePeriod);
+        int quarantined = 0;
+
+        for (List<Path> batch : partition(files)) {
+            Set<String> names = new HashSet<>();
+            batch.forEach(file -> names.add(file.getFileName().toString()));
+            Set<String> referenced = new HashSet<>(documentRepository.findExistingFilePaths(names));
+            referenced.addAll(archivedDocumentRepository.findExistingFilePaths(names));
+
+            for (Path file : batch) {
+                String name = file.getFileName().toString();
+                if (referenced.contains(name)) {
+                    continue;
+                }
+                // Young files may belong to an upload whose transaction has not committed yet
+                if (Files.getLastModifiedTime(file).toInstant().isAfter(orphanCutoff)) {
+                    continue;
+                }
+                if (quarantine(file)) {
+                    quarantined++;
+                }
+            }
+            pause();
+        }
+
+        if (quarantined > 0) {
+            log.info("Storage reconciliation quarantined {} orphaned files", quarantined);
+        }
+        return files.size() < filesPerRun ? "" : files.get(files.size() - 1).getFileName().toString();
+    }
+
+    /**
+     * Picks the smallest {@code filesPerRun} names greater than the cursor without
+     * sorting the whole directory.
+     */
+    private List<Path> nextFiles(String cursor) throws IOException {
+        PriorityQueue<Path> window = new PriorityQueue<>(BY_FILE_NAME.reversed());
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(fileStorageUtil.getFileStorageLocation(),
+                entry -> entry.getFileName().toString().compareTo(cursor) > 0 && Files.isRegularFile(entry))) {
+            for (Path entry : stream) {
+                if (window.size() < filesPerRun) {
+                    window.add(entry);
+                } else if (BY_FILE_NAME.compare(entry, window.peek()) < 0) {
+                    window.poll();
+                    window.add(entry);
+                }
+            }
+        }
+        List<Path> files = new ArrayList<>(window);
+        files.sort(BY_FILE_NAME);
+        return files;
+    }
+
+    /**
+     * Checks the next {@code documentsPerRun} rows after the cursor for a file on disk.
+     * Returns the new cursor, wrapping around to the first id at the end of the table.
+     */
+    private UUID scanDocuments(UUID cursor) throws InterruptedException {
+        Path storageLocation = fileStorageUtil.getFileStorageLocation();
+        UUID position = cursor;
+        int scanned = 0;
+
+        while (scanned < documentsPerRun) {
+            List<DocumentRepository.StoredFileReference> batch = documentRepository
+                    .findStoredFilesAfter(position, PageRequest.of(0, Math.min(batchSize, documentsPerRun - scanned)));
+            if (batch.isEmpty()) {
+                return FIRST_DOCUMENT_ID;
+            }
+
+            List<UUID> missing = new ArrayList<>();
+            List<UUID> recovered = new ArrayList<>();
+            for (DocumentRepository.StoredFileReference document : batch) {
+                boolean exists = document.getFilePath() != null
+                        && Files.exists(storageLocation.resolve(document.getFilePath()).normalize());
+                boolean flagged = Boolean.TRUE.equals(document.getFileMissing());
+                if (!exists && !flagged) {
+                    missing.add(document.getId());
+                } else if (exists && flagged) {
+                    recovered.add(document.getId());
+                }
+            }
+            if (!missing.isEmpty()) {
+                documentRepository.updateFileMissing(missing, true);
+                documentsFlaggedMissing.increment(missing.size());
+                log.warn("Flagged {} documents whose file is missing: {}", missing.size(), missing);
+            }
+            if (!recovered.isEmpty()) {
+                documentRepository.updateFileMissing(recovered, false);
+                documentsRecovered.increment(recovered.size());
+            }
+
+            scanned += batch.size();
+            position = batch.get(batch.size() - 1).getId();
+            pause();
+        }
+        return position;
+    }
+
+    private boolean quarantine(Path file) {
+        try {
+            Path target = quarantinePath.resolve(file.getFileName());
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+            // Restart the retention clock from the moment the file was quarantined
+            Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+            orphansQuarantined.increment();
+            log.debug("Quarantined orphaned file {}", file.getFileName());
+            return true;
+        } catch (IOException ex) {
+            log.warn("Could not quarantine orphaned file {}", file.getFileName(), ex);
+            return false;
+        }
+    }
+
+    private void purgeQuarantine() throws IOException {
+        Instant cutoff = Instant.now().minus(quarantineRetention);
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(quarantinePath, Files::isRegularFile)) {
+            for (Path file : stream) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                    Files.deleteIfExists(file);
+                    quarantinePurged.increment();
+                }
+            }
+        }
+    }
+
+    private List<List<Path>> partition(List<Path> files) {
+        List<List<Path>> batches = new ArrayList<>();
+        for (int i = 0; i < files.size(); i += batchSize) {
+            batches.add(files.subList(i, Math.min(files.size(), i + batchSize)));
+        }
+        return batches;
+    }
+
+    private void pause() throws InterruptedException {
+        if (!batchPause.isZero()) {
+            Thread.sleep(batchPause);
+        }
+    }
+
+    private Properties loadCheckpoint() {
+        Properties checkpoint = new Properties();
+        Path file = statePath.resolve(CHECKPOINT_FILE);
+        if (Files.exists(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                checkpoint.load(in);
+            } catch (IOException | IllegalArgumentException ex) {
+                log.warn("Could not read reconciliation checkpoint, starting from the beginning", ex);
+                checkpoint.clear();
+            }
+        }
+        return checkpoint;
+    }
+
+    private void saveCheckpoint(Properties checkpoint) throws IOException {
+        Path temp = statePath.resolve(CHECKPOINT_FILE + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            checkpoint.store(out, "Storage reconciliation cursors");
+        }
+        Files.move(temp, statePath.resolve(CHECKPOINT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,288 @@
+package com.legalfirm.automation.service;
+
+import com.legalfirm.automation.dto.response.PageResponse;
+import com.legalfirm.automation.dto.response.StorageUsageResponse;
+import com.legalfirm.automation.entity.StorageUsage;
+import com.legalfirm.automation.enums.StorageOwnerType;
+import com.legalfirm.automation.exception.ResourceNotFoundException;
+import com.legalfirm.automation.repository.CaseRepository;
+import com.legalfirm.automation.repository.ClientRepository;
+import com.legalfirm.automation.repository.DocumentRepository;
+import com.legalfirm.automation.repository.StorageUsageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains per-case and per-client storage counters.
+ * Upload and delete paths apply their delta with a single atomic UPDATE inside
+ * their own transaction, so reads are a primary key lookup regardless of how many
+ * documents exist. Missing counters are created by the {@link CounterSeeder}. A periodic rebuild recomputes the totals from the documents
+ * table to correct any drift.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StorageUsageService {
+
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private final StorageUsageRepository storageUsageRepository;
+    private final DocumentRepository documentRepository;
+    private final CaseRepository caseRepository;
+    private final ClientRepository clientRepository;
+    private final CounterSeeder counterSeeder;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.storage.usage.rebuild-batch-size:500}")
+    private int rebuildBatchSize;
+
+    @Value("${application.storage.usage.metrics-top-clients:20}")
+    private int metricsTopClients;
+
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final AtomicLong totalDocuments = new AtomicLong();
+
+    private TransactionTemplate transactionTemplate;
+    private MultiGauge clientBytes;
+    private Counter driftCorrections;
+
+    @PostConstruct
+    public void init() {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Gauge.builder("documents.storage.usage.bytes", totalBytes, AtomicLong::get)
+                .description("Total size of all stored documents")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("documents.storage.usage.documents", totalDocuments, AtomicLong::get)
+                .description("Total number of stored documents")
+                .register(meterRegistry);
+        this.clientBytes = MultiGauge.builder("documents.storage.usage.client.bytes")
+                .description("Stored document size for the largest clients")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.driftCorrections = Counter.builder("documents.storage.usage.drift")
+                .description("Storage counters corrected by the periodic rebuild")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Called before the document is inserted, so a counter created here does not
+     * count it yet.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDocumentAdded(UUID caseId, UUID clientId, long bytes) {
+        applyDelta(caseId, StorageOwnerType.CASE, bytes, 1);
+        applyDelta(clientId, StorageOwnerType.CLIENT, bytes, 1);
+    }
+
+    /**
+     * Called before the document is deleted, so a counter created here still
+     * counts it.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDocumentRemoved(UUID caseId, UUID clientId, long bytes) {
+        applyDelta(caseId, StorageOwnerType.CASE, -bytes, -1);
+        applyDelta(clientId, StorageOwnerType.CLIENT, -bytes, -1);
+    }
+
+    /**
+     * Moves a case's documents out of its client's total before the case and its
+     * documents are deleted.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void releaseCase(UUID caseId, UUID clientId) {
+        documentRepository.sumUsageByCase(List.of(caseId)).stream().findFirst().ifPresent(usage ->
+                applyDelta(clientId, StorageOwnerType.CLIENT, -usage.getTotalBytes(), -usage.getDocumentCount()));
+        storageUsageRepository.findById(caseId).ifPresent(storageUsageRepository::delete);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void releaseClient(UUID clientId) {
+        storageUsageRepository.deleteClientAndCases(clientId);
+    }
+
+    public StorageUsageResponse getCaseUsage(UUID caseId) {
+        return storageUsageRepository.findById(caseId)
+                .map(this::mapToStorageUsageResponse)
+                .orElseGet(() -> {
+                    if (!caseRepository.existsById(caseId)) {
+                        throw new ResourceNotFoundException("Case not found with id: " + caseId);
+                    }
+                    return emptyUsage(caseId, StorageOwnerType.CASE);
+                });
+    }
+
+    public StorageUsageResponse getClientUsage(UUID clientId) {
+        return storageUsageRepository.findById(clientId)
+                .map(this::mapToStorageUsageResponse)
+                .orElseGet(() -> {
+                    if (!clientRepository.existsById(clientId)) {
+                        throw new ResourceNotFoundException("Client not found with id: " + clientId);
+                    }
+                    return emptyUsage(clientId, StorageOwnerType.CLIENT);
+                });
+    }
+
+    public PageResponse<StorageUsageResponse> getClientUsages(Pageable pageable) {
+        Page<StorageUsage> page = storageUsageRepository.findByOwnerType(StorageOwnerType.CLIENT, pageable);
+        return PageResponse.<StorageUsageResponse>builder()
+                .content(page.getContent().stream().map(this::mapToStorageUsageResponse).collect(Collectors.toList()))
+                .pageNumber(page.getNumber())
+                .pageSize(page.getSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .last(page.isLast())
+                .build();
+    }
+
+    /**
+     * Recomputes every counter from the documents table. Each batch locks its
+     * counter rows before summing, so concurrent uploads either land before the
+     * sum or wait and apply their delta on top of it.
+     */
+    @Scheduled(cron = "${application.storage.usage.rebuild-cron:0 30 3 * * *}")
+    public void rebuild() {
+        int corrected = rebuildOwners(StorageOwnerType.CASE, caseRepository::findIdsAfter,
+                documentRepository::sumUsageByCase);
+        corrected += rebuildOwners(StorageOwnerType.CLIENT, clientRepository::findIdsAfter,
+                documentRepository::sumUsageByClient);
+        Integer removed = transactionTemplate.execute(status -> storageUsageRepository.deleteOrphaned());
+        log.info("Storage usage rebuild complete, {} counters corrected, {} stale counters removed", corrected, removed);
+        refreshMetrics();
+    }
+
+    @Scheduled(initialDelayString = "${application.storage.usage.metrics-refresh:PT1M}",
+            fixedDelayString = "${application.storage.usage.metrics-refresh:PT1M}")
+    public void refreshMetrics() {
+        StorageUsageRepository.UsageTotals totals = storageUsageRepository.sumByOwnerType(StorageOwnerType.CLIENT);
+        totalBytes.set(totals.getTotalBytes());
+        totalDocuments.set(totals.getDocumentCount());
+
+        List<StorageUsage> largest = storageUsageRepository.findByOwnerType(StorageOwnerType.CLIENT,
+                PageRequest.of(0, metricsTopClients, Sort.by(Sort.Direction.DESC, "totalBytes"))).getContent();
+        clientBytes.register(largest.stream()
+                .map(usage -> MultiGauge.Row.of(Tags.of("clientId", usage.getOwnerId().toString()), usage.getTotalBytes()))
+                .collect(Collectors.toList()), true);
+    }
+
+    private void applyDelta(UUID ownerId, StorageOwnerType ownerType, long bytes, long documents) {
+        LocalDateTime now = LocalDateTime.now();
+        counterSeeder.seed("storage_usage", "owner_id = :ownerId",
+                "(owner_id, owner_type, total_bytes, document_count, updated_at) " +
+                "SELECT :ownerId, :ownerType, " +
+                "(SELECT COALESCE(SUM(d.file_size), 0) FROM documents d WHERE " + documentsOf(ownerType) + "), " +
+                "(SELECT COUNT(*) FROM documents d WHERE " + documentsOf(ownerType) + "), :now",
+                Map.of("ownerId", ownerId, "ownerType", ownerType.name(), "now", now));
+        storageUsageRepository.applyDelta(ownerId, bytes, documents, now);
+    }
+
+    private static String documentsOf(StorageOwnerType ownerType) {
+        return ownerType == StorageOwnerType.CASE
+                ? "d.case_id = :ownerId"
+                : "d.case_id IN (SELECT c.id FROM cases c WHERE c.client_id = :ownerId)";
+    }
+
+    private int rebuildOwners(StorageOwnerType ownerType,
+                              BiFunction<UUID, Pageable, List<UUID>> idsAfter,
+                              Function<Collection<UUID>, List<DocumentRepository.UsageSum>> sums) {
+        int corrected = 0;
+        UUID after = FIRST_ID;
+        List<UUID> batch;
+        while (!(batch = idsAfter.apply(after, PageRequest.of(0, rebuildBatchSize))).isEmpty()) {
+            List<UUID> ownerIds = batch;
+            try {
+                Integer batchCorrected = transactionTemplate.execute(status -> rebuildBatch(ownerType, ownerIds, sums));
+                corrected += batchCorrected != null ? batchCorrected : 0;
+            } catch (DataIntegrityViolationException ex) {
+                log.warn("Storage usage rebuild batch for {} raced with a concurrent update, will retry next run", ownerType);
+            }
+            after = batch.get(batch.size() - 1);
+        }
+        return corrected;
+    }
+
+    private int rebuildBatch(StorageOwnerType ownerType, List<UUID> ownerIds,
+                             Function<Collection<UUID>, List<DocumentRepository.UsageSum>> sums) {
+        Map<UUID, StorageUsage> counters = storageUsageRepository.lockAllById(ownerIds).stream()
+                .collect(Collectors.toMap(StorageUsage::getOwnerId, Function.identity()));
+        Map<UUID, DocumentRepository.UsageSum> actual = sums.apply(ownerIds).stream()
+                .collect(Collectors.toMap(DocumentRepository.UsageSum::getOwnerId, Function.identity()));
+
+        int corrected = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (UUID ownerId : ownerIds) {
+            DocumentRepository.UsageSum sum = actual.get(ownerId);
+            long bytes = sum != null ? sum.getTotalBytes() : 0L;
+            long documents = sum != null ? sum.getDocumentCount() : 0L;
+
+            StorageUsage counter = counters.get(ownerId);
+            if (counter == null) {
+                storageUsageRepository.save(StorageUsage.builder()
+                        .ownerId(ownerId)
+                        .ownerType(ownerType)
+                        .totalBytes(bytes)
+                        .documentCount(documents)
+                        .updatedAt(now)
+                        .build());
+            } else if (counter.getTotalBytes() != bytes || counter.getDocumentCount() != documents) {
+                log.warn("Storage counter drift for {} {}: {} bytes / {} documents, expected {} / {}",
+                        ownerType, ownerId, counter.getTotalBytes(), counter.getDocumentCount(), bytes, documents);
+                counter.setTotalBytes(bytes);
+                counter.setDocumentCount(documents);
+                counter.setUpdatedAt(now);
+                driftCorrections.increment();
+                corrected++;
+            }
+        }
+        return corrected;
+    }
+
+    private StorageUsageResponse emptyUsage(UUID ownerId, StorageOwnerType ownerType) {
+        return StorageUsageResponse.builder()
+                .ownerId(ownerId)
+                .ownerType(ownerType)
+                .totalBytes(0L)
+                .documentCount(0L)
+                .build();
+    }
+
+    private StorageUsageResponse mapToStorageUsageResponse(StorageUsage usage) {
+        return StorageUsageResponse.builder()
+                .ownerId(usage.getOwnerId())
+                .ownerType(usage.getOwnerType())
+                .totalBytes(usage.getTotalBytes())
+                .documentCount(usage.getDocumentCount())
+                .updatedAt(usage.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,152 @@
+package com.legalfirm.automation.service;
+
+import com.legalfirm.automation.entity.UnreadMessageCounter;
+import com.legalfirm.automation.repository.MessageRepository;
+import com.legalfirm.automation.repository.UnreadMessageCounterRepository;
+import com.legalfirm.automation.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the per-user unread message counters.
+ * Message changes apply their delta with a single atomic UPDATE inside their own
+ * transaction, so reading the unread count is a primary key lookup instead of a
+ * count over the messages table. Missing counters are created by the
+ * {@link CounterSeeder}. A periodic rebuild recounts the unread messages to
+ * correct any drift.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UnreadMessageCounterService {
+
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private final UnreadMessageCounterRepository counterRepository;
+    private final MessageRepository messageRepository;
+    private final UserRepository userRepository;
+    private final CounterSeeder counterSeeder;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.messages.unread.rebuild-batch-size:500}")
+    private int rebuildBatchSize;
+
+    private TransactionTemplate transactionTemplate;
+    private Counter driftCorrections;
+
+    @PostConstruct
+    public void init() {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.driftCorrections = Counter.builder("messages.unread.counter.drift")
+                .description("Unread message counters corrected by the periodic rebuild")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Creates the user's counter if it is missing. Called before the user's
+     * received messages are written, which then apply their change as a delta.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void seed(UUID userId) {
+        counterSeeder.seed("unread_message_counters", "user_id = :userId",
+                "(user_id, unread_count, updated_at) " +
+                "SELECT :userId, (SELECT COUNT(*) FROM messages m WHERE m.receiver_id = :userId AND m.is_read = false), :now",
+                Map.of("userId", userId, "now", LocalDateTime.now()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void increment(UUID userId) {
+        applyDelta(userId, 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void decrement(UUID userId, long count) {
+        if (count > 0) {
+            applyDelta(userId, -count);
+        }
+    }
+
+    public long getUnreadCount(UUID userId) {
+        return counterRepository.findById(userId)
+                .map(UnreadMessageCounter::getUnreadCount)
+                // Created by the user's next message change
+                .orElseGet(() -> messageRepository.countUnreadMessages(userId));
+    }
+
+    /**
+     * Recounts every user's unread messages. Each batch locks its counter rows
+     * before counting, so concurrent message changes either land before the count
+     * or wait and apply their delta on top of it.
+     */
+    @Scheduled(cron = "${application.messages.unread.rebuild-cron:0 45 3 * * *}")
+    public void rebuild() {
+        int corrected = 0;
+        UUID after = FIRST_ID;
+        List<UUID> batch;
+        while (!(batch = userRepository.findIdsAfter(after, PageRequest.of(0, rebuildBatchSize))).isEmpty()) {
+            List<UUID> userIds = batch;
+            try {
+                Integer batchCorrected = transactionTemplate.execute(status -> rebuildBatch(userIds));
+                corrected += batchCorrected != null ? batchCorrected : 0;
+            } catch (DataIntegrityViolationException ex) {
+                log.warn("Unread counter rebuild batch raced with a concurrent update, will retry next run");
+            }
+            after = batch.get(batch.size() - 1);
+        }
+        Integer removed = transactionTemplate.execute(status -> counterRepository.deleteOrphaned());
+        log.info("Unread counter rebuild complete, {} counters corrected, {} stale counters removed", corrected, removed);
+    }
+
+    private void applyDelta(UUID userId, long delta) {
+        counterRepository.applyDelta(userId, delta, LocalDateTime.now());
+    }
+
+    private int rebuildBatch(List<UUID> userIds) {
+        Map<UUID, UnreadMessageCounter> counters = counterRepository.lockAllById(userIds).stream()
+                .collect(Collectors.toMap(UnreadMessageCounter::getUserId, Function.identity()));
+        Map<UUID, Long> actual = messageRepository.countUnreadByReceivers(userIds).stream()
+                .collect(Collectors.toMap(MessageRepository.UnreadCount::getUserId,
+                        MessageRepository.UnreadCount::getUnreadCount));
+
+        int corrected = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (UUID userId : userIds) {
+            long unread = actual.getOrDefault(userId, 0L);
+            UnreadMessageCounter counter = counters.get(userId);
+            if (counter == null) {
+                counterRepository.save(UnreadMessageCounter.builder()
+                        .userId(userId)
+                        .unreadCount(unread)
+                        .updatedAt(now)
+                        .build());
+            } else if (counter.getUnreadCount() != unread) {
+                log.warn("Unread counter drift for user {}: {}, expected {}", userId, counter.getUnreadCount(), unread);
+                counter.setUnreadCount(unread);
+                counter.setUpdatedAt(now);
+                driftCorrections.increment();
+                corrected++;
+            }
+        }
+        return corrected;
+    }
+}
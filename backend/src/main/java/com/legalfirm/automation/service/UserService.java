@@ -1,22 +1,33 @@
 package com.legalfirm.automation.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.legalfirm.automation.config.CacheConfig;
+import com.legalfirm.automation.dto.response.PageResponse;
 import com.legalfirm.automation.dto.response.UserResponse;
 import com.legalfirm.automation.entity.User;
 import com.legalfirm.automation.exception.ResourceNotFoundException;
 import com.legalfirm.automation.repository.UserRepository;
+import com.legalfirm.automation.util.JsonArrayWriter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
     
     private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
 
     public List<UserResponse> getAllUsers() {
         return userRepository.findAll().stream()
@@ -24,6 +35,35 @@ public class UserService {
                 .collect(Collectors.toList());
     }
 
+    public PageResponse<UserResponse> getUsers(Pageable pageable) {
+        Page<User> page = userRepository.findAll(pageable);
+        return PageResponse.<UserResponse>builder()
+                .content(page.getContent().stream().map(this::mapToUserResponse).collect(Collectors.toList()))
+                .pageNumber(page.getNumber())
+                .pageSize(page.getSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .last(page.isLast())
+                .build();
+    }
+
+    /**
+     * Writes every user to {@code out} as a JSON array while the rows are still being read.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllUsers(OutputStream out) {
+        try (Stream<UserRepository.UserSummaryView> users = userRepository.streamAllSummaries()) {
+            JsonArrayWriter.write(objectMapper, out, users, user -> UserResponse.builder()
+                    .id(user.getId())
+                    .name(user.getName())
+                    .email(user.getEmail())
+                    .role(user.getRole())
+                    .contactNumber(user.getContactNumber())
+                    .build());
+        }
+    }
+
+    @Cacheable(CacheConfig.USER_DETAILS)
     public UserResponse getUserById(UUID id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
@@ -31,6 +71,7 @@ public class UserService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USER_DETAILS, key = "#id")
     public UserResponse updateUser(UUID id, UserResponse request) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
@@ -43,6 +84,7 @@ public class UserService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USER_DETAILS, key = "#id")
     public void deleteUser(UUID id) {
         if (!userRepository.existsById(id)) {
             throw new ResourceNotFoundException("User not found with id: " + id);
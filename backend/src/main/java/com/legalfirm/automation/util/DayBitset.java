@@ -0,0 +1,100 @@
+package com.legalfirm.automation.util;
+
+/**
+ * Bit operations over a day divided into fixed-size slots, one bit per slot
+ * packed into {@code long} words. Bit {@code i} covers minutes
+ * {@code [i * slotMinutes, (i + 1) * slotMinutes)} after midnight.
+ */
+public final class DayBitset {
+
+    private DayBitset() {
+    }
+
+    public static long[] create(int slots) {
+        return new long[(slots + 63) >>> 6];
+    }
+
+    /**
+     * Sets bits {@code [from, to)}.
+     */
+    public static void set(long[] bits, int from, int to) {
+        for (int i = from; i < to; ) {
+            int word = i >>> 6;
+            int end = Math.min(to, (word + 1) << 6);
+            long mask = (end - i == 64 ? -1L : ((1L << (end - i)) - 1)) << (i & 63);
+            bits[word] |= mask;
+            i = end;
+        }
+    }
+
+    public static void or(long[] target, long[] source) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] |= source[i];
+        }
+    }
+
+    /**
+     * Returns {@code mask & ~busy} as a new bitset.
+     */
+    public static long[] andNot(long[] mask, long[] busy) {
+        long[] result = new long[mask.length];
+        for (int i = 0; i < mask.length; i++) {
+            result[i] = mask[i] & ~(busy != null ? busy[i] : 0L);
+        }
+        return result;
+    }
+
+    public static boolean isEmpty(long[] bits) {
+        for (long word : bits) {
+            if (word != 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Calls the consumer with {@code [start, end)} for every run of set bits below {@code slots}.
+     */
+    public static void forEachRun(long[] bits, int slots, RunConsumer consumer) {
+        int i = nextSetBit(bits, 0, slots);
+        while (i >= 0) {
+            int end = nextClearBit(bits, i, slots);
+            consumer.accept(i, end);
+            i = nextSetBit(bits, end, slots);
+        }
+    }
+
+    private static int nextSetBit(long[] bits, int from, int slots) {
+        if (from >= slots) {
+            return -1;
+        }
+        int word = from >>> 6;
+        long current = bits[word] & (-1L << (from & 63));
+        while (current == 0L) {
+            if (++word == bits.length) {
+                return -1;
+            }
+            current = bits[word];
+        }
+        int index = (word << 6) + Long.numberOfTrailingZeros(current);
+        return index < slots ? index : -1;
+    }
+
+    private static int nextClearBit(long[] bits, int from, int slots) {
+        int word = from >>> 6;
+        long current = ~bits[word] & (-1L << (from & 63));
+        while (current == 0L) {
+            if (++word == bits.length) {
+                return slots;
+            }
+            current = ~bits[word];
+        }
+        return Math.min(slots, (word << 6) + Long.numberOfTrailingZeros(current));
+    }
+
+    @FunctionalInterface
+    public interface RunConsumer {
+        void accept(int start, int end);
+    }
+}
@@ -0,0 +1,126 @@
+package com.legalfirm.automation.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Extracts plain text from uploaded documents for search indexing.
+ * Supports txt, docx and pdf; other types are skipped.
+ */
+@Slf4j
+@Component
+public class DocumentTextExtractor {
+
+    private static final Set<String> SUPPORTED_TYPES = Set.of("txt", "docx", "pdf");
+    private static final String DOCX_BODY_ENTRY = "word/document.xml";
+
+    @Value("${application.search.max-extracted-chars:1000000}")
+    private int maxExtractedChars;
+
+    public boolean supports(String type) {
+        return type != null && SUPPORTED_TYPES.contains(type.toLowerCase());
+    }
+
+    public Optional<String> extract(InputStream inputStream, String type) throws IOException {
+        if (!supports(type)) {
+            return Optional.empty();
+        }
+
+        String text = switch (type.toLowerCase()) {
+            case "txt" -> extractPlainText(inputStream);
+            case "docx" -> extractDocx(inputStream);
+            case "pdf" -> extractPdf(inputStream);
+            default -> null;
+        };
+
+        if (text == null || text.isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.of(truncate(text));
+    }
+
+    private String extractPlainText(InputStream inputStream) throws IOException {
+        StringBuilder text = new StringBuilder();
+        char[] buffer = new char[8192];
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            int read;
+            while ((read = reader.read(buffer)) != -1 && text.length() < maxExtractedChars) {
+                text.append(buffer, 0, read);
+            }
+        }
+        return text.toString();
+    }
+
+    private String extractDocx(InputStream inputStream) throws IOException {
+        try (ZipInputStream zip = new ZipInputStream(inputStream)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (DOCX_BODY_ENTRY.equals(entry.getName())) {
+                    return readWordprocessingText(zip);
+                }
+            }
+        }
+        log.debug("No {} entry found in docx archive", DOCX_BODY_ENTRY);
+        return null;
+    }
+
+    private String readWordprocessingText(InputStream documentXml) throws IOException {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        StringBuilder text = new StringBuilder();
+        try {
+            XMLStreamReader reader = factory.createXMLStreamReader(documentXml);
+            boolean inText = false;
+            while (reader.hasNext() && text.length() < maxExtractedChars) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT && "t".equals(reader.getLocalName())) {
+                    inText = true;
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if ("t".equals(reader.getLocalName())) {
+                        inText = false;
+                    } else if ("p".equals(reader.getLocalName())) {
+                        text.append('\n');
+                    }
+                } else if (inText && event == XMLStreamConstants.CHARACTERS) {
+                    text.append(reader.getText());
+                }
+            }
+            reader.close();
+        } catch (XMLStreamException ex) {
+            throw new IOException("Could not parse docx body", ex);
+        }
+        return text.toString();
+    }
+
+    private String extractPdf(InputStream inputStream) throws IOException {
+        try (PDDocument pdf = Loader.loadPDF(new RandomAccessReadBuffer(inputStream))) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            return stripper.getText(pdf);
+        }
+    }
+
+    private String truncate(String text) {
+        return text.length() > maxExtractedChars ? text.substring(0, maxExtractedChars) : text;
+    }
+}
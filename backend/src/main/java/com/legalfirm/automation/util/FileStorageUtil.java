@@ -1,28 +1,75 @@
 package com.legalfirm.automation.util;
 
 import com.legalfirm.automation.exception.BadRequestException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.annotation.PostConstruct;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.net.MalformedURLException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 @Component
+@RequiredArgsConstructor
 public class FileStorageUtil {
 
+    public static final String CODEC_GZIP = "gzip";
+
+    private static final String GZIP_SUFFIX = ".gz";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final MeterRegistry meterRegistry;
+
     @Value("${application.file.upload-dir}")
     private String uploadDir;
 
+    @Value("${application.file.compression.enabled:true}")
+    private boolean compressionEnabled;
+
+    @Value("${application.file.compression.compressible-extensions:txt,doc,xls,csv,rtf,xml,json,html}")
+    private String compressibleExtensions;
+
+    @Value("${application.file.compression.min-size:1024}")
+    private long compressionMinSize;
+
+    @Value("${application.file.compression.min-ratio:1.1}")
+    private double compressionMinRatio;
+
+    @Value("${application.file.compression.level:6}")
+    private int compressionLevel;
+
     private Path fileStorageLocation;
+    private Set<String> compressibleExtensionSet;
+    private DistributionSummary compressionRatio;
+    private Counter compressionSavedBytes;
+    private Timer compressCpuTime;
+    private Timer decompressCpuTime;
 
     @PostConstruct
     public void init() {
@@ -32,17 +79,51 @@ public class FileStorageUtil {
         } catch (Exception ex) {
             throw new RuntimeException("Could not create the directory for file storage.", ex);
         }
+
+        this.compressibleExtensionSet = Arrays.stream(compressibleExtensions.split(","))
+                .map(ext -> ext.trim().toLowerCase())
+                .filter(ext -> !ext.isEmpty())
+                .collect(Collectors.toSet());
+
+        this.compressionRatio = DistributionSummary.builder("documents.storage.compression.ratio")
+                .description("Original size divided by stored size for compressed documents")
+                .tag("codec", CODEC_GZIP)
+                .register(meterRegistry);
+        this.compressionSavedBytes = Counter.builder("documents.storage.compression.saved")
+                .description("Bytes saved on disk by document compression")
+                .baseUnit("bytes")
+                .tag("codec", CODEC_GZIP)
+                .register(meterRegistry);
+        this.compressCpuTime = Timer.builder("documents.storage.compression.cpu")
+                .description("CPU time spent compressing documents on write")
+                .tags("codec", CODEC_GZIP, "operation", "compress")
+                .register(meterRegistry);
+        this.decompressCpuTime = Timer.builder("documents.storage.compression.cpu")
+                .description("CPU time spent decompressing documents on read")
+                .tags("codec", CODEC_GZIP, "operation", "decompress")
+                .register(meterRegistry);
     }
 
-    public String storeFile(MultipartFile file) {
+    /**
+     * Stores the upload, compressing it when the extension is known to compress well
+     * and the result is actually smaller. The returned codec must be kept with the
+     * file name so reads can decode it.
+     */
+    public StoredFile storeFile(MultipartFile file, String extension) {
         String fileName = UUID.randomUUID().toString() + "_" + file.getOriginalFilename();
         try {
             if (fileName.contains("..")) {
                 throw new BadRequestException("Filename contains invalid path sequence " + fileName);
             }
+            if (shouldCompress(extension, file.getSize())) {
+                StoredFile compressed = storeCompressed(file, fileName + GZIP_SUFFIX);
+                if (compressed != null) {
+                    return compressed;
+                }
+            }
             Path targetLocation = this.fileStorageLocation.resolve(fileName);
             Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-            return fileName;
+            return new StoredFile(fileName, null, file.getSize());
         } catch (IOException ex) {
             throw new BadRequestException("Could not store file " + fileName + ". Please try again!");
         }
@@ -62,6 +143,25 @@ public class FileStorageUtil {
         }
     }
 
+    /**
+     * Loads a stored file, decompressing it on the fly when it was written with a codec.
+     */
+    public Resource loadFileAsResource(String fileName, String codec) {
+        Resource resource = loadFileAsResource(fileName);
+        if (codec == null) {
+            return resource;
+        }
+        try {
+            return new InputStreamResource(openDecodedStream(resource.getInputStream(), codec), fileName);
+        } catch (IOException ex) {
+            throw new BadRequestException("Could not read file " + fileName);
+        }
+    }
+
+    public Path getFileStorageLocation() {
+        return fileStorageLocation;
+    }
+
     public void deleteFile(String fileName) {
         try {
             Path filePath = this.fileStorageLocation.resolve(fileName).normalize();
@@ -70,4 +170,92 @@ public class FileStorageUtil {
             throw new BadRequestException("Could not delete file " + fileName);
         }
     }
-}
\ No newline at end of file
+
+    private boolean shouldCompress(String extension, long size) {
+        return compressionEnabled
+                && extension != null
+                && size >= compressionMinSize
+                && compressibleExtensionSet.contains(extension.toLowerCase());
+    }
+
+    private StoredFile storeCompressed(MultipartFile file, String fileName) throws IOException {
+        Path targetLocation = this.fileStorageLocation.resolve(fileName);
+        long cpuStart = THREAD_MX_BEAN.getCurrentThreadCpuTime();
+        try (InputStream in = file.getInputStream();
+             OutputStream out = new LeveledGzipOutputStream(Files.newOutputStream(targetLocation), compressionLevel)) {
+            in.transferTo(out);
+        }
+        compressCpuTime.record(THREAD_MX_BEAN.getCurrentThreadCpuTime() - cpuStart, TimeUnit.NANOSECONDS);
+
+        long storedSize = Files.size(targetLocation);
+        double ratio = storedSize == 0 ? 1.0 : (double) file.getSize() / storedSize;
+        if (ratio < compressionMinRatio) {
+            Files.deleteIfExists(targetLocation);
+            return null;
+        }
+        compressionRatio.record(ratio);
+        compressionSavedBytes.increment(file.getSize() - storedSize);
+        return new StoredFile(fileName, CODEC_GZIP, storedSize);
+    }
+
+    private InputStream openDecodedStream(InputStream raw, String codec) throws IOException {
+        if (!CODEC_GZIP.equals(codec)) {
+            raw.close();
+            throw new BadRequestException("Unsupported storage codec " + codec);
+        }
+        return new CpuTimedInputStream(new GZIPInputStream(raw, BUFFER_SIZE), decompressCpuTime);
+    }
+
+    public record StoredFile(String fileName, String codec, long storedSize) {
+    }
+
+    private static class LeveledGzipOutputStream extends GZIPOutputStream {
+        LeveledGzipOutputStream(OutputStream out, int level) throws IOException {
+            super(out, BUFFER_SIZE);
+            def.setLevel(Math.max(Deflater.BEST_SPEED, Math.min(Deflater.BEST_COMPRESSION, level)));
+        }
+    }
+
+    /**
+     * Accumulates the CPU time spent inside reads (i.e. decoding) and records it once the stream is closed.
+     */
+    private static class CpuTimedInputStream extends FilterInputStream {
+        private final Timer timer;
+        private long cpuNanos;
+        private boolean closed;
+
+        CpuTimedInputStream(InputStream in, Timer timer) {
+            super(in);
+            this.timer = timer;
+        }
+
+        @Override
+        public int read() throws IOException {
+            long start = THREAD_MX_BEAN.getCurrentThreadCpuTime();
+            try {
+                return super.read();
+            } finally {
+                cpuNanos += THREAD_MX_BEAN.getCurrentThreadCpuTime() - start;
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            long start = THREAD_MX_BEAN.getCurrentThreadCpuTime();
+            try {
+                return super.read(b, off, len);
+            } finally {
+                cpuNanos += THREAD_MX_BEAN.getCurrentThreadCpuTime() - start;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            super.close();
+            if (!closed) {
+                closed = true;
+                timer.record(cpuNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.legalfirm.automation.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Minimal RFC 5545 writer: escapes text values, folds long lines at 75 octets
+ * and writes date-times in UTC so clients need no VTIMEZONE definitions.
+ */
+public class ICalendarWriter {
+
+    private static final String CRLF = "\r\n";
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final DateTimeFormatter UTC_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    private final StringBuilder out = new StringBuilder(4096);
+    private final ZoneId zone;
+
+    public ICalendarWriter(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    public ICalendarWriter begin(String component) {
+        return line("BEGIN", component);
+    }
+
+    public ICalendarWriter end(String component) {
+        return line("END", component);
+    }
+
+    public ICalendarWriter property(String name, String value) {
+        return line(name, value);
+    }
+
+    public ICalendarWriter text(String name, String value) {
+        if (value == null || value.isEmpty()) {
+            return this;
+        }
+        return line(name, escape(value));
+    }
+
+    public ICalendarWriter dateTime(String name, LocalDateTime value) {
+        if (value == null) {
+            return this;
+        }
+        return line(name, value.atZone(zone).withZoneSameInstant(ZoneOffset.UTC).format(UTC_FORMAT));
+    }
+
+    public byte[] toBytes() {
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private ICalendarWriter line(String name, String value) {
+        String content = name + ":" + value;
+        int octets = 0;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            int width = utf8Length(codePoint);
+            if (octets + width > MAX_LINE_OCTETS) {
+                // Continuation lines start with a space, which counts towards the limit
+                out.append(CRLF).append(' ');
+                octets = 1;
+            }
+            out.appendCodePoint(codePoint);
+            octets += width;
+            i += Character.charCount(codePoint);
+        }
+        out.append(CRLF);
+        return this;
+    }
+
+    private static int utf8Length(int codePoint) {
+        if (codePoint < 0x80) {
+            return 1;
+        }
+        if (codePoint < 0x800) {
+            return 2;
+        }
+        return codePoint < 0x10000 ? 3 : 4;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n")
+                .replace("\r", "\\n");
+    }
+}
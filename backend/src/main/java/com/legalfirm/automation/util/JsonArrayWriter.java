@@ -0,0 +1,44 @@
+package com.legalfirm.automation.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream of rows as a JSON array one element at a time, so memory stays
+ * constant however many rows there are. The first element is flushed right away
+ * so clients see bytes before the whole result has been read.
+ */
+public final class JsonArrayWriter {
+
+    private static final int FLUSH_EVERY = 100;
+
+    private JsonArrayWriter() {
+    }
+
+    public static <T, R> long write(ObjectMapper objectMapper, OutputStream out, Stream<T> rows,
+                                    Function<T, R> mapper) {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(mapper.apply(iterator.next()));
+                if (++count == 1 || count % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+            generator.writeEndArray();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return count;
+    }
+}
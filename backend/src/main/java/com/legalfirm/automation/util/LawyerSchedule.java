@@ -0,0 +1,187 @@
+package com.legalfirm.automation.util;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Hearings of a single lawyer ordered by start time.
+ * Overlap lookups only scan slots that start within the longest known duration
+ * before the probe, so a check costs O(log n + k) for k candidates.
+ * <p>
+ * Alongside the slots, each day with hearings keeps a {@link DayBitset} of busy
+ * time slots, recomputed for the affected days on every change, so free/busy
+ * queries never have to walk individual hearings.
+ * <p>
+ * All methods are synchronized on the schedule; callers that need a
+ * check-then-put to be atomic synchronize on the instance themselves.
+ */
+public class LawyerSchedule {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    private static final Comparator<Slot> ORDER = Comparator
+            .comparing(Slot::start)
+            .thenComparing(Slot::hearingId);
+
+    private final NavigableSet<Slot> slots = new TreeSet<>(ORDER);
+    private final Map<UUID, Slot> slotsByHearing = new HashMap<>();
+    private final Map<LocalDate, long[]> busyByDay = new HashMap<>();
+    private final int slotMinutes;
+    private final int slotsPerDay;
+    private long maxDurationMinutes;
+
+    public LawyerSchedule(int slotMinutes) {
+        this.slotMinutes = slotMinutes;
+        this.slotsPerDay = MINUTES_PER_DAY / slotMinutes;
+    }
+
+    public synchronized Slot put(Slot slot) {
+        Slot previous = add(slot);
+        if (previous != null) {
+            refreshDays(previous);
+        }
+        refreshDays(slot);
+        return previous;
+    }
+
+    /**
+     * Bulk load: adds every slot and computes each affected day once.
+     */
+    public synchronized void putAll(Collection<Slot> newSlots) {
+        Set<LocalDate> days = new HashSet<>();
+        for (Slot slot : newSlots) {
+            Slot previous = add(slot);
+            if (previous != null) {
+                collectDays(previous, days);
+            }
+            collectDays(slot, days);
+        }
+        days.forEach(this::rebuildDay);
+    }
+
+    public synchronized Slot remove(UUID hearingId) {
+        Slot previous = slotsByHearing.remove(hearingId);
+        if (previous != null) {
+            slots.remove(previous);
+            refreshDays(previous);
+        }
+        return previous;
+    }
+
+    /**
+     * Returns a copy of the busy bitset for the day, or {@code null} when the day is free.
+     */
+    public synchronized long[] busySlots(LocalDate day) {
+        long[] busy = busyByDay.get(day);
+        return busy != null ? busy.clone() : null;
+    }
+
+    /**
+     * Returns the slots overlapping {@code [start, end)}, ignoring the given hearing.
+     */
+    public synchronized List<Slot> findOverlapping(LocalDateTime start, LocalDateTime end, UUID excludeHearingId) {
+        List<Slot> overlapping = new ArrayList<>();
+        for (Slot candidate : candidates(start, end)) {
+            if (candidate.end().isAfter(start) && !candidate.hearingId().equals(excludeHearingId)) {
+                overlapping.add(candidate);
+            }
+        }
+        return overlapping;
+    }
+
+    /**
+     * Returns every pair of slots that overlap each other within {@code [from, to)},
+     * using a single sweep over the candidates in start order.
+     */
+    public synchronized List<Conflict> findConflicts(LocalDateTime from, LocalDateTime to) {
+        List<Conflict> conflicts = new ArrayList<>();
+        List<Slot> active = new ArrayList<>();
+        for (Slot slot : candidates(from, to)) {
+            Iterator<Slot> iterator = active.iterator();
+            while (iterator.hasNext()) {
+                Slot other = iterator.next();
+                if (!other.end().isAfter(slot.start())) {
+                    iterator.remove();
+                    continue;
+                }
+                LocalDateTime overlapEnd = other.end().isBefore(slot.end()) ? other.end() : slot.end();
+                if (overlapEnd.isAfter(from)) {
+                    conflicts.add(new Conflict(other, slot, slot.start(), overlapEnd));
+                }
+            }
+            active.add(slot);
+        }
+        return conflicts;
+    }
+
+    private Slot add(Slot slot) {
+        Slot previous = slotsByHearing.put(slot.hearingId(), slot);
+        if (previous != null) {
+            slots.remove(previous);
+        }
+        slots.add(slot);
+        maxDurationMinutes = Math.max(maxDurationMinutes, slot.durationMinutes());
+        return previous;
+    }
+
+    private void refreshDays(Slot slot) {
+        Set<LocalDate> days = new HashSet<>();
+        collectDays(slot, days);
+        days.forEach(this::rebuildDay);
+    }
+
+    private void collectDays(Slot slot, Set<LocalDate> days) {
+        LocalDate last = slot.end().minusNanos(1).toLocalDate();
+        for (LocalDate day = slot.start().toLocalDate(); !day.isAfter(last); day = day.plusDays(1)) {
+            days.add(day);
+        }
+    }
+
+    private void rebuildDay(LocalDate day) {
+        LocalDateTime dayStart = day.atStartOfDay();
+        LocalDateTime dayEnd = dayStart.plusDays(1);
+        long[] busy = DayBitset.create(slotsPerDay);
+        for (Slot slot : candidates(dayStart, dayEnd)) {
+            if (!slot.end().isAfter(dayStart)) {
+                continue;
+            }
+            long from = Duration.between(dayStart, slot.start().isBefore(dayStart) ? dayStart : slot.start()).toMinutes();
+            long to = Duration.between(dayStart, slot.end().isAfter(dayEnd) ? dayEnd : slot.end()).toMinutes();
+            // Any overlap makes the whole slot busy
+            DayBitset.set(busy, (int) (from / slotMinutes), (int) ((to + slotMinutes - 1) / slotMinutes));
+        }
+        if (DayBitset.isEmpty(busy)) {
+            busyByDay.remove(day);
+        } else {
+            busyByDay.put(day, busy);
+        }
+    }
+
+    private NavigableSet<Slot> candidates(LocalDateTime start, LocalDateTime end) {
+        Slot lower = new Slot(new UUID(Long.MIN_VALUE, Long.MIN_VALUE), null, start.minusMinutes(maxDurationMinutes), start);
+        Slot upper = new Slot(new UUID(Long.MIN_VALUE, Long.MIN_VALUE), null, end, end);
+        return slots.subSet(lower, true, upper, false);
+    }
+
+    public record Slot(UUID hearingId, UUID caseId, LocalDateTime start, LocalDateTime end) {
+        public long durationMinutes() {
+            return Duration.between(start, end).toMinutes();
+        }
+    }
+
+    public record Conflict(Slot first, Slot second, LocalDateTime overlapStart, LocalDateTime overlapEnd) {
+    }
+}
@@ -0,0 +1,139 @@
+package com.legalfirm.automation.util;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Thin wrapper around an on-disk Lucene index: one writer, near-real-time searchers.
+ * Documents are keyed by a single id term so updates and deletes are incremental.
+ * Small values such as a high-water mark can be kept in the commit user data,
+ * which every later commit carries along.
+ */
+public class LuceneIndex implements Closeable {
+
+    private final String idField;
+    private final Analyzer analyzer;
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public LuceneIndex(Path location, String idField) {
+        this.idField = idField;
+        this.analyzer = new StandardAnalyzer();
+        try {
+            Files.createDirectories(location);
+            this.directory = FSDirectory.open(location);
+            IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+            this.writer = new IndexWriter(directory, config);
+            this.searcherManager = new SearcherManager(writer, null);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not open search index at " + location, ex);
+        }
+    }
+
+    public Analyzer getAnalyzer() {
+        return analyzer;
+    }
+
+    public void upsert(String id, Document document) throws IOException {
+        writer.updateDocument(new Term(idField, id), document);
+        publish();
+    }
+
+    /**
+     * Writes a batch of documents with a single commit, for backfills.
+     */
+    public void upsertAll(Map<String, Document> documents) throws IOException {
+        if (documents.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<String, Document> entry : documents.entrySet()) {
+            writer.updateDocument(new Term(idField, entry.getKey()), entry.getValue());
+        }
+        publish();
+    }
+
+    public void delete(String id) throws IOException {
+        writer.deleteDocuments(new Term(idField, id));
+        publish();
+    }
+
+    /**
+     * Value stored under {@code key} by {@link #putCommitData}, or {@code null}.
+     */
+    public String getCommitData(String key) {
+        Iterable<Map.Entry<String, String>> data = writer.getLiveCommitData();
+        if (data != null) {
+            for (Map.Entry<String, String> entry : data) {
+                if (entry.getKey().equals(key)) {
+                    return entry.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    public synchronized void putCommitData(String key, String value) throws IOException {
+        Map<String, String> data = new HashMap<>();
+        Iterable<Map.Entry<String, String>> current = writer.getLiveCommitData();
+        if (current != null) {
+            current.forEach(entry -> data.put(entry.getKey(), entry.getValue()));
+        }
+        data.put(key, value);
+        writer.setLiveCommitData(data.entrySet());
+        publish();
+    }
+
+    public boolean contains(String id) throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            return searcher.count(new TermQuery(new Term(idField, id))) > 0;
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    public <T> T search(SearchFunction<T> function) throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            return function.apply(searcher);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    private void publish() throws IOException {
+        writer.commit();
+        searcherManager.maybeRefresh();
+    }
+
+    @Override
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    @FunctionalInterface
+    public interface SearchFunction<T> {
+        T apply(IndexSearcher searcher) throws IOException;
+    }
+}
@@ -0,0 +1,32 @@
+package com.legalfirm.automation.util;
+
+import java.util.Locale;
+
+/**
+ * Builds short plain-text excerpts around the first query term found in a search hit.
+ */
+public final class SearchSnippets {
+
+    private SearchSnippets() {
+    }
+
+    public static String build(String content, String queryText, int radius) {
+        if (content == null) {
+            return null;
+        }
+        String lowerContent = content.toLowerCase(Locale.ROOT);
+        int position = -1;
+        for (String term : queryText.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!term.isEmpty()) {
+                position = lowerContent.indexOf(term);
+                if (position >= 0) {
+                    break;
+                }
+            }
+        }
+        int start = Math.max(0, position - radius);
+        int end = Math.min(content.length(), Math.max(position, 0) + radius);
+        String snippet = content.substring(start, end).replaceAll("\\s+", " ").trim();
+        return (start > 0 ? "..." : "") + snippet + (end < content.length() ? "..." : "");
+    }
+}
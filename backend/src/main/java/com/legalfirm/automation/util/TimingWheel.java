@@ -0,0 +1,190 @@
+package com.legalfirm.automation.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel (Varghese &amp; Lauck) for large numbers of timers.
+ * <p>
+ * Level {@code l} has {@code 2^bits} buckets of {@code tickMillis * 2^(bits*l)} each.
+ * Scheduling and cancelling are O(1); advancing the clock touches only the buckets
+ * that become due, and entries cascade to a finer level as their deadline gets close.
+ * Deadlines are rounded up to the next tick, so an entry never fires early.
+ * <p>
+ * The wheel is not tied to a thread: the owner calls {@link #advanceTo(long)} from
+ * its clock and handles the returned payloads. All methods are thread-safe.
+ */
+public class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final int levels;
+    private final Bucket<T>[][] wheels;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int bits, int levels, long startMillis) {
+        if (tickMillis <= 0 || bits <= 0 || levels <= 0 || (long) bits * levels > 62) {
+            throw new IllegalArgumentException("Invalid timing wheel geometry");
+        }
+        this.tickMillis = tickMillis;
+        this.bits = bits;
+        this.mask = (1 << bits) - 1;
+        this.levels = levels;
+        this.wheels = new Bucket[levels][1 << bits];
+        for (int level = 0; level < levels; level++) {
+            for (int index = 0; index <= mask; index++) {
+                wheels[level][index] = new Bucket<>();
+            }
+        }
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    public synchronized Timeout<T> schedule(long deadlineMillis, T payload) {
+        Timeout<T> timeout = new Timeout<>(this, ceilDiv(deadlineMillis, tickMillis), payload);
+        // The current tick's bucket has already been drained, so due entries wait for the next one
+        place(timeout, currentTick + 1);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Moves the clock forward and returns the payloads of every expired entry, in tick order.
+     */
+    public synchronized List<T> advanceTo(long nowMillis) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        List<T> expired = new ArrayList<>();
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            Bucket<T> bucket = wheels[0][(int) (currentTick & mask)];
+            for (Timeout<T> timeout = bucket.poll(); timeout != null; timeout = bucket.poll()) {
+                if (timeout.deadlineTick <= currentTick) {
+                    size--;
+                    expired.add(timeout.payload);
+                } else {
+                    place(timeout, currentTick + 1);
+                }
+            }
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout.bucket == null) {
+            return false;
+        }
+        timeout.bucket.remove(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * When a level wraps, the next bucket of the level above is redistributed
+     * over the finer levels. Higher levels go first so entries can fall through.
+     */
+    private void cascade() {
+        for (int level = levels - 1; level > 0; level--) {
+            long lowerBits = currentTick & ((1L << (bits * level)) - 1);
+            if (lowerBits != 0) {
+                continue;
+            }
+            Bucket<T> bucket = wheels[level][(int) ((currentTick >>> (bits * level)) & mask)];
+            for (Timeout<T> timeout = bucket.poll(); timeout != null; timeout = bucket.poll()) {
+                // Entries due on this very tick land in the level-0 bucket that is drained next
+                place(timeout, currentTick);
+            }
+        }
+    }
+
+    private void place(Timeout<T> timeout, long earliestTick) {
+        long deadline = Math.max(timeout.deadlineTick, earliestTick);
+        long delta = deadline - currentTick;
+        int level = 0;
+        while (level < levels - 1 && delta >= (1L << (bits * (level + 1)))) {
+            level++;
+        }
+        long slot = level == levels - 1 && delta >= (1L << (bits * levels))
+                ? currentTick + ((long) mask << (bits * level)) // beyond the horizon: park in the farthest bucket
+                : deadline;
+        wheels[level][(int) ((slot >>> (bits * level)) & mask)].add(timeout);
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+
+    /**
+     * Handle to a scheduled entry.
+     */
+    public static final class Timeout<T> {
+        private final TimingWheel<T> wheel;
+        private final long deadlineTick;
+        private final T payload;
+        private Bucket<T> bucket;
+        private Timeout<T> previous;
+        private Timeout<T> next;
+
+        private Timeout(TimingWheel<T> wheel, long deadlineTick, T payload) {
+            this.wheel = wheel;
+            this.deadlineTick = deadlineTick;
+            this.payload = payload;
+        }
+
+        public T payload() {
+            return payload;
+        }
+
+        /**
+         * Returns {@code false} when the entry already expired or was cancelled.
+         */
+        public boolean cancel() {
+            return wheel.cancel(this);
+        }
+    }
+
+    /**
+     * Intrusive doubly linked list so cancellation is O(1).
+     */
+    private static final class Bucket<T> {
+        private Timeout<T> head;
+
+        void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.previous = null;
+            timeout.next = head;
+            if (head != null) {
+                head.previous = timeout;
+            }
+            head = timeout;
+        }
+
+        void remove(Timeout<T> timeout) {
+            if (timeout.previous != null) {
+                timeout.previous.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            }
+            timeout.bucket = null;
+            timeout.previous = null;
+            timeout.next = null;
+        }
+
+        Timeout<T> poll() {
+            Timeout<T> timeout = head;
+            if (timeout != null) {
+                remove(timeout);
+            }
+            return timeout;
+        }
+    }
+}
@@ -0,0 +1,3 @@
+-- Codec a document's file is stored with at rest (FileStorageUtil);
+-- null for files written uncompressed, which includes every earlier upload.
+ALTER TABLE documents ADD COLUMN IF NOT EXISTS compression_codec varchar(255);
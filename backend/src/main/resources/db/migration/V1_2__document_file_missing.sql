@@ -0,0 +1,3 @@
+-- Set by StorageReconciliationService on documents whose file is gone from the
+-- upload directory, and cleared again if it reappears.
+ALTER TABLE documents ADD COLUMN IF NOT EXISTS file_missing boolean;
@@ -0,0 +1,11 @@
+-- Per-case and per-client document count and bytes (StorageUsageService).
+CREATE TABLE IF NOT EXISTS storage_usage (
+    owner_id       uuid         NOT NULL PRIMARY KEY,
+    owner_type     varchar(255) NOT NULL CHECK (owner_type IN ('CASE', 'CLIENT')),
+    document_count bigint       NOT NULL,
+    total_bytes    bigint       NOT NULL,
+    updated_at     timestamp(6)
+);
+
+-- Largest consumers of one owner type first
+CREATE INDEX IF NOT EXISTS idx_storage_usage_type_bytes ON storage_usage (owner_type, total_bytes);
@@ -0,0 +1,2 @@
+-- Length of a hearing; null falls back to application.hearings.default-duration-minutes.
+ALTER TABLE hearings ADD COLUMN IF NOT EXISTS duration_minutes integer;
@@ -0,0 +1,10 @@
+-- Reminders already sent, one row per hearing, lead time and hearing date, so a
+-- restart or a second node does not send them again (HearingReminderService).
+CREATE TABLE IF NOT EXISTS hearing_reminder_log (
+    id           uuid         NOT NULL PRIMARY KEY,
+    hearing_id   uuid         NOT NULL,
+    hearing_date timestamp(6) NOT NULL,
+    lead_minutes bigint       NOT NULL,
+    sent_at      timestamp(6) NOT NULL,
+    CONSTRAINT uk_hearing_reminder UNIQUE (hearing_id, lead_minutes, hearing_date)
+);
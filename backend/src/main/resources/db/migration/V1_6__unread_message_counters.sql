@@ -0,0 +1,6 @@
+-- Unread messages per receiver (UnreadMessageCounterService).
+CREATE TABLE IF NOT EXISTS unread_message_counters (
+    user_id      uuid         NOT NULL PRIMARY KEY,
+    unread_count bigint       NOT NULL,
+    updated_at   timestamp(6)
+);
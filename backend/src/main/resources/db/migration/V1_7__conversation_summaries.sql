@@ -0,0 +1,17 @@
+-- One row per user and conversation partner, backing the inbox summary
+-- (ConversationSummaryService).
+CREATE TABLE IF NOT EXISTS conversation_summaries (
+    id                   uuid         NOT NULL PRIMARY KEY,
+    user_id              uuid         NOT NULL,
+    partner_id           uuid         NOT NULL,
+    last_message_id      uuid,
+    last_sender_id       uuid,
+    last_message_preview varchar(255),
+    last_message_at      timestamp(6),
+    unread_count         bigint       NOT NULL,
+    updated_at           timestamp(6),
+    CONSTRAINT uk_conversation_summary UNIQUE (user_id, partner_id)
+);
+
+-- The inbox, most recent conversation first
+CREATE INDEX IF NOT EXISTS idx_conversation_summaries_inbox ON conversation_summaries (user_id, last_message_at, id);
@@ -0,0 +1,112 @@
+-- Baseline schema: the tables as Hibernate created them for the first release,
+-- before any column, table or index added since. Databases that already hold
+-- these tables are baselined at version 1 (spring.flyway.baseline-on-migrate), so
+-- this only runs on an empty database. Constraint names are the ones Hibernate
+-- generated, so both kinds of database end up with the same names.
+--
+-- Everything added since has its own migration (V1_1 onwards). Those use IF NOT
+-- EXISTS, as a database kept up to date by ddl-auto update may already hold it.
+
+CREATE TABLE users (
+    id             uuid         NOT NULL PRIMARY KEY,
+    name           varchar(255) NOT NULL,
+    email          varchar(255) NOT NULL UNIQUE,
+    password       varchar(255) NOT NULL,
+    contact_number varchar(255),
+    role           varchar(255) NOT NULL CHECK (role IN ('ADMIN', 'LAWYER', 'PARALEGAL'))
+);
+
+CREATE TABLE clients (
+    id           uuid         NOT NULL PRIMARY KEY,
+    name         varchar(255) NOT NULL,
+    contact_info varchar(255) NOT NULL,
+    address      text
+);
+
+CREATE TABLE cases (
+    id                 uuid         NOT NULL PRIMARY KEY,
+    title              varchar(255) NOT NULL,
+    description        text,
+    status             varchar(255) NOT NULL CHECK (status IN ('OPEN', 'CLOSED', 'PENDING')),
+    client_id          uuid         NOT NULL,
+    assigned_lawyer_id uuid,
+    created_at         timestamp(6),
+    updated_at         timestamp(6),
+    CONSTRAINT fkntx229f8r4ppy1vthdl8fp59p FOREIGN KEY (client_id) REFERENCES clients,
+    CONSTRAINT fk46y5l0wl7go7udptfuuemi624 FOREIGN KEY (assigned_lawyer_id) REFERENCES users
+);
+
+CREATE TABLE case_history (
+    id           uuid         NOT NULL PRIMARY KEY,
+    case_id      uuid         NOT NULL,
+    action       varchar(255) NOT NULL,
+    category     varchar(255),
+    description  text,
+    old_value    varchar(255),
+    new_value    varchar(255),
+    performed_by uuid,
+    timestamp    timestamp(6) NOT NULL,
+    CONSTRAINT fkk40rsdgy7nx18shs3iy74auxa FOREIGN KEY (case_id) REFERENCES cases,
+    CONSTRAINT fkdxifepwfyrq40bgia4fj52ta5 FOREIGN KEY (performed_by) REFERENCES users
+);
+
+CREATE TABLE case_activities (
+    id            uuid         NOT NULL PRIMARY KEY,
+    case_id       uuid         NOT NULL,
+    activity_type varchar(255) NOT NULL,
+    description   text         NOT NULL,
+    old_value     varchar(255),
+    new_value     varchar(255),
+    performed_by  uuid         NOT NULL,
+    activity_date timestamp(6) NOT NULL,
+    CONSTRAINT fk4grdaxyq4ow16lgpvvr9d36hm FOREIGN KEY (case_id) REFERENCES cases,
+    CONSTRAINT fk1106f671yux1rxtvtu93wjrsc FOREIGN KEY (performed_by) REFERENCES users
+);
+
+CREATE TABLE case_notes (
+    id         uuid         NOT NULL PRIMARY KEY,
+    case_id    uuid         NOT NULL,
+    title      text         NOT NULL,
+    content    text         NOT NULL,
+    is_private boolean,
+    created_by uuid         NOT NULL,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    CONSTRAINT fko50gnrq5gyvl0y53vqrqmwr5w FOREIGN KEY (case_id) REFERENCES cases,
+    CONSTRAINT fkj4v0kfo8j7kh3q0xabuh8qxcg FOREIGN KEY (created_by) REFERENCES users
+);
+
+CREATE TABLE documents (
+    document_id uuid         NOT NULL PRIMARY KEY,
+    case_id     uuid         NOT NULL,
+    name        varchar(255) NOT NULL,
+    type        varchar(255) NOT NULL,
+    file_path   varchar(255),
+    file_size   bigint,
+    uploaded_by uuid,
+    upload_date timestamp(6) NOT NULL,
+    CONSTRAINT fkg5da0gvm8l4a5ryls4rq63mw5 FOREIGN KEY (case_id) REFERENCES cases,
+    CONSTRAINT fk1ugacya4ssi0ilf8a9tjycgs6 FOREIGN KEY (uploaded_by) REFERENCES users
+);
+
+CREATE TABLE hearings (
+    hearing_id uuid         NOT NULL PRIMARY KEY,
+    case_id    uuid         NOT NULL,
+    date       timestamp(6) NOT NULL,
+    notes      text,
+    created_at timestamp(6),
+    CONSTRAINT fkilagi1c60si506nynt17owngp FOREIGN KEY (case_id) REFERENCES cases
+);
+
+CREATE TABLE messages (
+    id          uuid         NOT NULL PRIMARY KEY,
+    sender_id   uuid         NOT NULL,
+    receiver_id uuid         NOT NULL,
+    content     text         NOT NULL,
+    is_read     boolean,
+    timestamp   timestamp(6) NOT NULL,
+    created_at  timestamp(6),
+    updated_at  timestamp(6),
+    CONSTRAINT fk4ui4nnwntodh6wjvck53dbk9m FOREIGN KEY (sender_id) REFERENCES users,
+    CONSTRAINT fkt05r0b6n0iis8u7dfna4xdh73 FOREIGN KEY (receiver_id) REFERENCES users
+);
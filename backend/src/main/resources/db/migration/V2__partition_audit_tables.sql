@@ -0,0 +1,74 @@
+-- Range-partitions the append-only audit tables (case_history, case_activities)
+-- by month, so date-bounded queries only scan the months they ask for and old
+-- months can be detached without rewriting the table.
+--
+-- Partitions are named <table>_pYYYYMM. This migration creates them from the
+-- oldest existing row up to three months ahead; AuditPartitionService keeps
+-- creating the upcoming ones. Rows outside every range land in <table>_default.
+--
+-- The primary key of a partitioned table must contain the partition key, so it
+-- becomes (id, <timestamp column>). Foreign keys and the non-unique indexes of
+-- the original table are recreated on the partitioned one.
+
+CREATE FUNCTION partition_audit_table_by_month(p_table text, p_column text, p_months_ahead int)
+    RETURNS void
+    LANGUAGE plpgsql
+AS $$
+DECLARE
+    legacy      text := p_table || '_unpartitioned';
+    this_month  date := date_trunc('month', now())::date;
+    first_month date;
+    month       date;
+    constraints text[];
+    indexes     text[];
+    ddl         text;
+BEGIN
+    IF to_regclass(p_table) IS NULL
+            OR EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(p_table)) THEN
+        -- Not created yet, or already partitioned
+        RETURN;
+    END IF;
+
+    EXECUTE format('ALTER TABLE %I RENAME TO %I', p_table, legacy);
+    EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING STORAGE INCLUDING COMMENTS)'
+                       || ' PARTITION BY RANGE (%I)', p_table, legacy, p_column);
+
+    EXECUTE format('SELECT date_trunc(''month'', min(%I))::date FROM %I', p_column, legacy) INTO first_month;
+    month := least(coalesce(first_month, this_month), this_month);
+    WHILE month <= this_month + make_interval(months => p_months_ahead) LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                       p_table || '_p' || to_char(month, 'YYYYMM'), p_table, month, (month + interval '1 month')::date);
+        month := (month + interval '1 month')::date;
+    END LOOP;
+    EXECUTE format('CREATE TABLE %I PARTITION OF %I DEFAULT', p_table || '_default', p_table);
+
+    EXECUTE format('INSERT INTO %I SELECT * FROM %I', p_table, legacy);
+
+    SELECT array_agg(format('ALTER TABLE %I ADD CONSTRAINT %I %s', p_table, c.conname, pg_get_constraintdef(c.oid)))
+    INTO constraints
+    FROM pg_constraint c
+    WHERE c.conrelid = to_regclass(legacy)
+      AND c.contype = 'f';
+
+    SELECT array_agg(replace(i.indexdef, ' ON ' || i.schemaname || '.' || legacy || ' ', ' ON ' || quote_ident(p_table) || ' '))
+    INTO indexes
+    FROM pg_indexes i
+             JOIN pg_index x ON x.indexrelid = format('%I.%I', i.schemaname, i.indexname)::regclass
+    WHERE i.schemaname = current_schema()
+      AND i.tablename = legacy
+      AND NOT x.indisunique;
+
+    -- Index names are unique per schema, so the old table goes first
+    EXECUTE format('DROP TABLE %I', legacy);
+    EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I PRIMARY KEY (id, %I)', p_table, p_table || '_pkey', p_column);
+
+    FOREACH ddl IN ARRAY coalesce(constraints, '{}') || coalesce(indexes, '{}') LOOP
+        EXECUTE ddl;
+    END LOOP;
+END;
+$$;
+
+SELECT partition_audit_table_by_month('case_history', 'timestamp', 3);
+SELECT partition_audit_table_by_month('case_activities', 'activity_date', 3);
+
+DROP FUNCTION partition_audit_table_by_month(text, text, int);
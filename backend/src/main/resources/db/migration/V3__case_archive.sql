@@ -0,0 +1,28 @@
+-- Archive tier for closed cases (CaseArchiveService). A case and its history,
+-- activities, notes, hearings and document metadata are stored as one gzipped
+-- JSON bundle; the files of its documents stay in the upload directory and are
+-- listed in archived_documents so reconciliation keeps them.
+
+CREATE TABLE archived_cases (
+    id                 uuid         NOT NULL PRIMARY KEY,
+    title              varchar(255) NOT NULL,
+    client_id          uuid         NOT NULL,
+    assigned_lawyer_id uuid,
+    created_at         timestamp(6),
+    closed_at          timestamp(6),
+    archived_at        timestamp(6) NOT NULL,
+    bundle             bytea        NOT NULL
+);
+
+CREATE INDEX idx_archived_cases_client ON archived_cases (client_id);
+
+CREATE TABLE archived_documents (
+    document_id       uuid         NOT NULL PRIMARY KEY,
+    case_id           uuid         NOT NULL,
+    file_path         varchar(255),
+    file_size         bigint,
+    compression_codec varchar(255)
+);
+
+CREATE INDEX idx_archived_documents_case ON archived_documents (case_id);
+CREATE INDEX idx_archived_documents_file_path ON archived_documents (file_path);
@@ -0,0 +1,4 @@
+-- Backs the per-client case aggregates of the client list (ClientRepository
+-- SUMMARY_SELECT): total cases, non-closed cases and the latest update are all
+-- answered from this index without visiting the cases heap.
+CREATE INDEX IF NOT EXISTS idx_cases_client_summary ON cases (client_id, status, updated_at);
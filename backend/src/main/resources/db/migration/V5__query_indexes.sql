@@ -0,0 +1,28 @@
+-- Indexes for the repository queries that filter and sort on these columns.
+-- The entities declare the same indexes, but ddl-auto validate never creates
+-- them, so a schema that predates Flyway may lack any of them. Every statement
+-- is IF NOT EXISTS, so this runs the same on that schema and on one built by the
+-- migrations.
+
+-- Status lists and counts (CaseRepository.findByStatus, countByStatus), newest first
+CREATE INDEX IF NOT EXISTS idx_cases_status_created ON cases (status, created_at);
+
+-- A lawyer's cases (findByAssignedLawyerId) and the lawyer side of the FK
+CREATE INDEX IF NOT EXISTS idx_cases_assigned_lawyer ON cases (assigned_lawyer_id);
+
+-- Calendar and reminder windows (HearingRepository.findSlotsBetween and friends).
+-- idx_hearings_timeline leads with case_id and cannot serve a date range.
+CREATE INDEX IF NOT EXISTS idx_hearings_date ON hearings (date);
+
+-- A case's history, newest first: read backwards by ORDER BY timestamp DESC, id DESC.
+-- case_history is partitioned (V2); the index is created on every partition.
+CREATE INDEX IF NOT EXISTS idx_case_history_timeline ON case_history (case_id, timestamp, id);
+CREATE INDEX IF NOT EXISTS idx_case_activities_timeline ON case_activities (case_id, activity_date, id);
+
+-- Unread counts and mark-as-read (MessageRepository)
+CREATE INDEX IF NOT EXISTS idx_messages_receiver_unread ON messages (receiver_id, is_read);
+CREATE INDEX IF NOT EXISTS idx_messages_conversation ON messages (sender_id, receiver_id, timestamp, id);
+
+CREATE INDEX IF NOT EXISTS idx_case_notes_timeline ON case_notes (case_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_documents_timeline ON documents (case_id, upload_date, document_id);
+CREATE INDEX IF NOT EXISTS idx_hearings_timeline ON hearings (case_id, date, hearing_id);
@@ -0,0 +1,4 @@
+-- Backs the document index catch-up (DocumentIndexService), which reads the
+-- documents uploaded since the index's high-water mark in (upload_date, id)
+-- order: a range scan from the mark instead of a pass over every row.
+CREATE INDEX IF NOT EXISTS idx_documents_uploaded ON documents (upload_date, document_id);
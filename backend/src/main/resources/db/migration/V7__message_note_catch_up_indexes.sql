@@ -0,0 +1,5 @@
+-- Backs the message and note index catch-up (MessageNoteSearchService), which
+-- reads the messages sent and notes edited since the index's high-water mark in
+-- (time, id) order, as V6 does for documents.
+CREATE INDEX IF NOT EXISTS idx_messages_timestamp ON messages (timestamp, id);
+CREATE INDEX IF NOT EXISTS idx_case_notes_updated ON case_notes (updated_at, id);
@@ -0,0 +1,3 @@
+-- Part of every calendar feed token (CalendarFeedService); bumping it revokes the
+-- lawyer's current feed URL without affecting anyone else's.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS calendar_token_version integer NOT NULL DEFAULT 0;
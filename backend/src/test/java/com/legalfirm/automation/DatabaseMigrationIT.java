@@ -0,0 +1,126 @@
+package com.legalfirm.automation;
+
+import com.legalfirm.automation.repository.CaseRepository;
+import com.legalfirm.automation.support.PostgresTestDatabase;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the Flyway migrations the way the application does at startup, then lets
+ * Hibernate validate the schema they produce: once on an empty database and once on
+ * a database that already holds the version 1 schema and data, as a database created
+ * by Hibernate before the schema moved to Flyway does. Needs PostgreSQL, as the
+ * partitioning migration is PL/pgSQL.
+ */
+class DatabaseMigrationIT {
+
+    private static final List<String> VERSIONS = List.of("1.1", "1.2", "1.3", "1.4", "1.5", "1.6", "1.7", "2", "3", "4", "5", "6", "7", "8");
+
+    private static final UUID OLD_CASE_ID = UUID.fromString("00000000-0000-0000-0000-000000000003");
+
+    private static PostgresTestDatabase postgres;
+
+    @BeforeAll
+    static void server() {
+        postgres = PostgresTestDatabase.get();
+    }
+
+    @Test
+    void migratesEmptyDatabase() throws Exception {
+        String database = postgres.createDatabase("migrate_empty");
+
+        try (ConfigurableApplicationContext context = postgres.startApplication(database)) {
+            assertThat(context.getBean(CaseRepository.class).count()).isPositive();
+        }
+
+        try (Connection connection = postgres.connect(database)) {
+            assertThat(appliedVersions(connection)).first().isEqualTo("1");
+            assertThat(appliedVersions(connection)).containsSubsequence(VERSIONS);
+            assertThat(isPartitioned(connection, "case_history")).isTrue();
+            assertThat(isPartitioned(connection, "case_activities")).isTrue();
+        }
+    }
+
+    @Test
+    void migratesDatabaseBaselinedAtVersionOne() throws Exception {
+        String database = postgres.createDatabase("migrate_baseline");
+        try (Connection connection = postgres.connect(database);
+             Statement statement = connection.createStatement()) {
+            statement.execute(new ClassPathResource("db/migration/V1__baseline_schema.sql")
+                    .getContentAsString(StandardCharsets.UTF_8));
+            statement.execute("""
+                    INSERT INTO users (id, name, email, password, role)
+                    VALUES ('00000000-0000-0000-0000-000000000001', 'Old Lawyer', 'old.lawyer@example.com', 'x', 'LAWYER');
+                    INSERT INTO clients (id, name, contact_info)
+                    VALUES ('00000000-0000-0000-0000-000000000002', 'Old Client', 'old.client@example.com');
+                    INSERT INTO cases (id, title, status, client_id, assigned_lawyer_id, created_at, updated_at)
+                    VALUES ('00000000-0000-0000-0000-000000000003', 'Old Case', 'OPEN',
+                            '00000000-0000-0000-0000-000000000002', '00000000-0000-0000-0000-000000000001',
+                            now() - interval '1 year', now());
+                    INSERT INTO case_history (id, case_id, action, performed_by, timestamp)
+                    SELECT gen_random_uuid(), '00000000-0000-0000-0000-000000000003', 'UPDATED',
+                           '00000000-0000-0000-0000-000000000001', now() - make_interval(months => m)
+                    FROM generate_series(0, 11) m;
+                    INSERT INTO documents (document_id, case_id, name, type, file_path, file_size, upload_date)
+                    VALUES (gen_random_uuid(), '00000000-0000-0000-0000-000000000003', 'old.pdf', 'application/pdf',
+                            'old.pdf', 10, now());
+                    INSERT INTO hearings (hearing_id, case_id, date)
+                    VALUES (gen_random_uuid(), '00000000-0000-0000-0000-000000000003', now() + interval '1 day');
+                    """);
+        }
+
+        try (ConfigurableApplicationContext context = postgres.startApplication(database)) {
+            assertThat(context.getBean(CaseRepository.class).existsById(OLD_CASE_ID)).isTrue();
+        }
+
+        try (Connection connection = postgres.connect(database);
+             Statement statement = connection.createStatement()) {
+            assertThat(appliedVersions(connection)).first().isEqualTo("1");
+            assertThat(appliedVersions(connection)).containsSubsequence(VERSIONS);
+            assertThat(isPartitioned(connection, "case_history")).isTrue();
+            try (ResultSet rs = statement.executeQuery(
+                    "SELECT count(*) FROM case_history WHERE case_id = '00000000-0000-0000-0000-000000000003'")) {
+                rs.next();
+                assertThat(rs.getLong(1)).isEqualTo(12);
+            }
+            try (ResultSet rs = statement.executeQuery("SELECT type FROM flyway_schema_history WHERE version = '1'")) {
+                rs.next();
+                assertThat(rs.getString(1)).isEqualTo("BASELINE");
+            }
+        }
+    }
+
+    private static List<String> appliedVersions(Connection connection) throws SQLException {
+        List<String> versions = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "SELECT version FROM flyway_schema_history WHERE success AND version IS NOT NULL ORDER BY installed_rank")) {
+            while (rs.next()) {
+                versions.add(rs.getString(1));
+            }
+        }
+        return versions;
+    }
+
+    private static boolean isPartitioned(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('" + table + "'))")) {
+            rs.next();
+            return rs.getBoolean(1);
+        }
+    }
+}
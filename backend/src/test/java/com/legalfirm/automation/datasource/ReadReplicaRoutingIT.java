@@ -0,0 +1,161 @@
+package com.legalfirm.automation.datasource;
+
+import com.legalfirm.automation.dto.request.ClientRequest;
+import com.legalfirm.automation.service.ClientService;
+import com.legalfirm.automation.support.PostgresTestDatabase;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing between the primary and a read replica, with a second database on the same
+ * server standing in for the replica. The replica database is migrated but otherwise
+ * only holds a marker row, so every query shows which side it ran on.
+ */
+class ReadReplicaRoutingIT {
+
+    private static PostgresTestDatabase postgres;
+    private static String primary;
+    private static String replica;
+    private static ConfigurableApplicationContext context;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeAll
+    static void start() throws Exception {
+        postgres = PostgresTestDatabase.get();
+        primary = postgres.createDatabase("replica_primary");
+        replica = postgres.createDatabase("replica_standby");
+        Flyway.configure()
+                .dataSource(postgres.jdbcUrl(replica), postgres.username(), postgres.password())
+                .load()
+                .migrate();
+        try (Connection connection = postgres.connect(replica);
+             Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO clients (id, name, contact_info) VALUES (gen_random_uuid(), 'Replica Marker', 'replica@example.com')");
+        }
+
+        context = postgres.startApplication(primary,
+                "application.datasource.replicas.enabled=true",
+                "application.datasource.replicas.urls=" + postgres.jdbcUrl(replica),
+                "application.datasource.replicas.username=" + postgres.username(),
+                "application.datasource.replicas.password=" + postgres.password(),
+                "application.datasource.replicas.health-check-interval=PT1S");
+        // Replicas join the rotation at their first passing check
+        context.getBean(ReplicaPool.class).checkHealth();
+    }
+
+    @AfterAll
+    static void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        authenticate("reader@example.com");
+
+        assertThat(currentDatabase(readOnly)).isEqualTo(replica);
+        assertThat(clientsNamed(readOnly, "Replica Marker")).hasSize(1);
+    }
+
+    @Test
+    void readsWithoutUserUseThePrimary() {
+        SecurityContextHolder.clearContext();
+
+        assertThat(currentDatabase(readOnly)).isEqualTo(primary);
+        assertThat(clientsNamed(readOnly, "Replica Marker")).isEmpty();
+    }
+
+    @Test
+    void writesUseThePrimary() throws Exception {
+        authenticate("writer@example.com");
+
+        assertThat(currentDatabase(readWrite)).isEqualTo(primary);
+        context.getBean(ClientService.class).createClient(clientRequest("Written Client"));
+
+        assertThat(clientNames(primary)).contains("Written Client");
+        assertThat(clientNames(replica)).doesNotContain("Written Client");
+    }
+
+    @Test
+    void recentWriterReadsFromThePrimary() {
+        authenticate("recent.writer@example.com");
+        context.getBean(ClientService.class).createClient(clientRequest("Read Your Writes Client"));
+
+        assertThat(currentDatabase(readOnly)).isEqualTo(primary);
+        assertThat(clientsNamed(readOnly, "Read Your Writes Client")).hasSize(1);
+
+        // Anyone else still reads from the replica
+        authenticate("other.reader@example.com");
+        assertThat(currentDatabase(readOnly)).isEqualTo(replica);
+    }
+
+    private String currentDatabase(TransactionTemplate transaction) {
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT current_database()", String.class));
+    }
+
+    private List<String> clientsNamed(TransactionTemplate transaction, String name) {
+        return transaction.execute(status -> jdbcTemplate.queryForList(
+                "SELECT name FROM clients WHERE name = ?", String.class, name));
+    }
+
+    private static void authenticate(String name) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                name, null, List.of(new SimpleGrantedAuthority("ROLE_LAWYER"))));
+    }
+
+    private static ClientRequest clientRequest(String name) {
+        return ClientRequest.builder()
+                .name(name)
+                .contactInfo(name.toLowerCase().replace(' ', '.') + "@example.com")
+                .build();
+    }
+
+    private static List<String> clientNames(String database) throws Exception {
+        try (Connection connection = postgres.connect(database);
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT name FROM clients")) {
+            List<String> names = new ArrayList<>();
+            while (rs.next()) {
+                names.add(rs.getString(1));
+            }
+            return names;
+        }
+    }
+}
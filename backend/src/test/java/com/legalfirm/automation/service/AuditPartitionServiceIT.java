@@ -0,0 +1,141 @@
+package com.legalfirm.automation.service;
+
+import com.legalfirm.automation.support.PostgresTestDatabase;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Partitioning of the audit tables on PostgreSQL: migration V2 run against tables
+ * that already hold a year of rows, then {@link AuditPartitionService} creating the
+ * partition of a month not made yet and rows written on both sides of its lower
+ * bound.
+ */
+class AuditPartitionServiceIT {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    @Test
+    void partitionsPopulatedTablesAndCreatesUpcomingMonths() throws Exception {
+        PostgresTestDatabase postgres = PostgresTestDatabase.get();
+        String database = postgres.createDatabase("audit_partitions");
+
+        migrate(postgres, database, "1.7");
+        try (Connection connection = postgres.connect(database);
+             Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO users (id, name, email, password, role)
+                    VALUES ('00000000-0000-0000-0000-000000000001', 'Lawyer', 'partition.lawyer@example.com', 'x', 'LAWYER');
+                    INSERT INTO clients (id, name, contact_info)
+                    VALUES ('00000000-0000-0000-0000-000000000002', 'Client', 'partition.client@example.com');
+                    INSERT INTO cases (id, title, status, client_id, assigned_lawyer_id, created_at, updated_at)
+                    VALUES ('00000000-0000-0000-0000-000000000003', 'Case', 'OPEN',
+                            '00000000-0000-0000-0000-000000000002', '00000000-0000-0000-0000-000000000001',
+                            now() - interval '1 year', now());
+                    INSERT INTO case_history (id, case_id, action, performed_by, timestamp)
+                    SELECT gen_random_uuid(), '00000000-0000-0000-0000-000000000003', 'UPDATED',
+                           '00000000-0000-0000-0000-000000000001', now() - make_interval(months => m, days => d)
+                    FROM generate_series(0, 11) m, generate_series(0, 1) d;
+                    INSERT INTO case_activities (id, case_id, activity_type, description, performed_by, activity_date)
+                    SELECT gen_random_uuid(), '00000000-0000-0000-0000-000000000003', 'NOTE_ADDED', 'Note',
+                           '00000000-0000-0000-0000-000000000001', now() - make_interval(months => m)
+                    FROM generate_series(0, 11) m;
+                    """);
+        }
+
+        migrate(postgres, database, "2");
+        try (Connection connection = postgres.connect(database)) {
+            assertThat(isPartitioned(connection, "case_history")).isTrue();
+            assertThat(isPartitioned(connection, "case_activities")).isTrue();
+            assertThat(count(connection, "SELECT count(*) FROM case_history")).isEqualTo(24);
+            assertThat(count(connection, "SELECT count(*) FROM case_activities")).isEqualTo(12);
+            // Every row sits in the partition of its own month, none in the default one
+            assertThat(count(connection, """
+                    SELECT count(*) FROM case_history
+                    WHERE tableoid::regclass::text <> 'case_history_p' || to_char(timestamp, 'YYYYMM')"""))
+                    .isZero();
+            assertThat(count(connection, """
+                    SELECT count(*) FROM case_activities
+                    WHERE tableoid::regclass::text <> 'case_activities_p' || to_char(activity_date, 'YYYYMM')"""))
+                    .isZero();
+            assertThat(count(connection, """
+                    SELECT count(*) FROM pg_constraint
+                    WHERE conrelid = 'case_history'::regclass AND contype = 'f'""")).isEqualTo(2);
+        }
+
+        // V2 made partitions up to three months ahead; the service adds the fourth
+        YearMonth upcoming = YearMonth.now().plusMonths(4);
+        try (ConfigurableApplicationContext ignored = postgres.startApplication(database,
+                "application.audit.partitioning.premake-months=4")) {
+            try (Connection connection = postgres.connect(database)) {
+                assertThat(count(connection, "SELECT count(*) FROM pg_inherits WHERE inhrelid = to_regclass('case_history_p"
+                        + upcoming.format(SUFFIX) + "')")).isOne();
+            }
+
+            // CaseHistory stamps its own timestamp on persist, so the rows either side of the bound go in directly
+            LocalDateTime boundary = upcoming.atDay(1).atStartOfDay();
+            UUID before = insertHistory(postgres, database, boundary.minusNanos(1000));
+            UUID after = insertHistory(postgres, database, boundary);
+
+            try (Connection connection = postgres.connect(database)) {
+                assertThat(partitionOf(connection, before)).isEqualTo("case_history_p" + upcoming.minusMonths(1).format(SUFFIX));
+                assertThat(partitionOf(connection, after)).isEqualTo("case_history_p" + upcoming.format(SUFFIX));
+                assertThat(count(connection, "SELECT count(*) FROM case_history_default")).isZero();
+            }
+        }
+    }
+
+    private static void migrate(PostgresTestDatabase postgres, String database, String target) {
+        Flyway.configure()
+                .dataSource(postgres.jdbcUrl(database), postgres.username(), postgres.password())
+                .target(target)
+                .load()
+                .migrate();
+    }
+
+    private static UUID insertHistory(PostgresTestDatabase postgres, String database, LocalDateTime timestamp)
+            throws SQLException {
+        UUID id = UUID.randomUUID();
+        try (Connection connection = postgres.connect(database);
+             PreparedStatement statement = connection.prepareStatement("""
+                     INSERT INTO case_history (id, case_id, action, performed_by, timestamp)
+                     VALUES (?, '00000000-0000-0000-0000-000000000003', 'UPDATED', '00000000-0000-0000-0000-000000000001', ?)""")) {
+            statement.setObject(1, id);
+            statement.setObject(2, timestamp);
+            statement.executeUpdate();
+        }
+        return id;
+    }
+
+    private static boolean isPartitioned(Connection connection, String table) throws SQLException {
+        return count(connection, "SELECT count(*) FROM pg_partitioned_table WHERE partrelid = to_regclass('" + table + "')") == 1;
+    }
+
+    private static String partitionOf(Connection connection, UUID id) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT tableoid::regclass::text FROM case_history WHERE id = '" + id + "'")) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    private static long count(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.legalfirm.automation.service;
+
+import com.legalfirm.automation.entity.Case;
+import com.legalfirm.automation.entity.CaseActivity;
+import com.legalfirm.automation.entity.CaseHistory;
+import com.legalfirm.automation.entity.CaseNote;
+import com.legalfirm.automation.entity.Client;
+import com.legalfirm.automation.entity.Document;
+import com.legalfirm.automation.entity.Hearing;
+import com.legalfirm.automation.entity.Message;
+import com.legalfirm.automation.entity.User;
+import com.legalfirm.automation.enums.CaseStatus;
+import com.legalfirm.automation.enums.Role;
+import com.legalfirm.automation.repository.CaseActivityRepository;
+import com.legalfirm.automation.repository.CaseHistoryRepository;
+import com.legalfirm.automation.repository.CaseNoteRepository;
+import com.legalfirm.automation.repository.CaseRepository;
+import com.legalfirm.automation.repository.ClientRepository;
+import com.legalfirm.automation.repository.DocumentRepository;
+import com.legalfirm.automation.repository.HearingRepository;
+import com.legalfirm.automation.repository.MessageRepository;
+import com.legalfirm.automation.repository.UserRepository;
+import com.legalfirm.automation.support.StatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statements each read path of the services prepares, on fixtures where every row
+ * has its own case, client, lawyer and author. A lazy association loaded per row
+ * (N+1) shows up as a higher count. Second-level and application caches are
+ * cleared first, so the counts are those of a cold read. Every page requested holds
+ * all matching rows, so Spring Data skips the count query.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        StatementCounter.PROPERTY,
+        "application.file.upload-dir=target/test-uploads/",
+        "application.search.index-dir=target/test-index/"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ServiceStatementCountTest {
+
+    private static final int CASES = 6;
+    private static final Pageable PAGE = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+    @Autowired private CaseService caseService;
+    @Autowired private HearingService hearingService;
+    @Autowired private DocumentService documentService;
+    @Autowired private CaseNoteService caseNoteService;
+    @Autowired private CaseActivityService caseActivityService;
+    @Autowired private MessageService messageService;
+    @Autowired private DashboardService dashboardService;
+    @Autowired private ClientService clientService;
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private ClientRepository clientRepository;
+    @Autowired private CaseRepository caseRepository;
+    @Autowired private HearingRepository hearingRepository;
+    @Autowired private DocumentRepository documentRepository;
+    @Autowired private CaseHistoryRepository caseHistoryRepository;
+    @Autowired private CaseActivityRepository caseActivityRepository;
+    @Autowired private CaseNoteRepository caseNoteRepository;
+    @Autowired private MessageRepository messageRepository;
+
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private CacheManager cacheManager;
+
+    private final List<Case> cases = new ArrayList<>();
+    private User firstLawyer;
+    private User secondLawyer;
+
+    @BeforeAll
+    void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < CASES; i++) {
+            User lawyer = userRepository.save(user("Lawyer " + i, Role.LAWYER));
+            User paralegal = userRepository.save(user("Paralegal " + i, Role.PARALEGAL));
+            Client client = clientRepository.save(Client.builder()
+                    .name("Client " + i).contactInfo("client" + i + "@example.com").build());
+            Case caseEntity = caseRepository.save(Case.builder()
+                    .title("Case " + i).status(CaseStatus.OPEN).client(client).assignedLawyer(lawyer).build());
+            cases.add(caseEntity);
+
+            for (int j = 0; j < 2; j++) {
+                hearingRepository.save(Hearing.builder()
+                        .caseEntity(caseEntity).date(now.plusDays(i * 3L + j + 1)).durationMinutes(60).build());
+                documentRepository.save(Document.builder()
+                        .caseEntity(caseEntity).name("doc-" + i + "-" + j + ".pdf").type("application/pdf")
+                        .filePath("missing/doc-" + i + "-" + j + ".pdf").fileSize(10L)
+                        .uploadedBy(j == 0 ? lawyer : paralegal).uploadDate(now.minusDays(j)).build());
+                caseHistoryRepository.save(CaseHistory.builder()
+                        .caseEntity(caseEntity).action("UPDATED").description("Update " + j)
+                        .performedBy(j == 0 ? lawyer : paralegal).timestamp(now.minusHours(j)).build());
+                caseActivityRepository.save(CaseActivity.builder()
+                        .caseEntity(caseEntity).activityType("NOTE_ADDED").description("Activity " + j)
+                        .performedBy(j == 0 ? lawyer : paralegal).activityDate(now.minusHours(j)).build());
+                caseNoteRepository.save(CaseNote.builder()
+                        .caseEntity(caseEntity).title("Note " + j).content("Content " + j)
+                        .createdBy(j == 0 ? lawyer : paralegal).build());
+            }
+            if (i == 0) {
+                firstLawyer = lawyer;
+            } else if (i == 1) {
+                secondLawyer = lawyer;
+            }
+        }
+        for (int i = 0; i < 5; i++) {
+            messageRepository.save(Message.builder()
+                    .sender(i % 2 == 0 ? firstLawyer : secondLawyer)
+                    .receiver(i % 2 == 0 ? secondLawyer : firstLawyer)
+                    .content("Message " + i).timestamp(now.minusMinutes(i)).isRead(false).build());
+        }
+    }
+
+    @BeforeEach
+    void clearCaches() {
+        entityManagerFactory.getCache().evictAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void casePages() {
+        assertStatements(3, () -> caseService.getAllCases(PAGE));
+        assertStatements(3, () -> caseService.getCasesByStatus(CaseStatus.OPEN, PAGE));
+        assertStatements(4, () -> caseService.getCasesByLawyer(firstLawyer.getId(), PAGE));
+    }
+
+    @Test
+    void caseDetail() {
+        UUID caseId = cases.get(0).getId();
+        assertStatements(4, () -> caseService.getCaseDetails(caseId));
+        assertStatements(2, () -> caseService.getCaseHistory(caseId));
+        assertStatements(2, () -> caseService.getCaseDocuments(caseId));
+        assertStatements(2, () -> caseService.getCaseHearings(caseId));
+    }
+
+    @Test
+    void hearings() {
+        UUID hearingId = hearingRepository.findByCaseEntityId(cases.get(0).getId()).get(0).getId();
+        assertStatements(1, () -> hearingService.getHearings(PageRequest.of(0, 20, Sort.by("date"))));
+        assertStatements(1, () -> hearingService.getUpcomingHearings(PageRequest.of(0, 20)));
+        assertStatements(1, () -> hearingService.getHearingById(hearingId));
+    }
+
+    @Test
+    void documents() {
+        assertStatements(1, () -> documentService.getAllDocuments(PageRequest.of(0, 20)));
+        assertStatements(1, () -> documentService.getDocumentsByCase(cases.get(0).getId()));
+    }
+
+    @Test
+    void notesAndActivities() {
+        UUID caseId = cases.get(0).getId();
+        assertStatements(1, () -> caseNoteService.getCaseNotesPaginated(caseId, PageRequest.of(0, 20)));
+        assertStatements(1, () -> caseActivityService.getCaseActivitiesPaginated(caseId, PageRequest.of(0, 20)));
+    }
+
+    @Test
+    void messages() {
+        assertStatements(1, () -> messageService.getUserMessages(firstLawyer.getId(), PageRequest.of(0, 20)));
+        assertStatements(3, () -> messageService.getConversation(firstLawyer.getId(), secondLawyer.getId(), null, 20));
+    }
+
+    @Test
+    void dashboardAndClients() {
+        assertStatements(1, () -> dashboardService.getRecentCases());
+        assertStatements(1, () -> clientService.getAllClients(PageRequest.of(0, 20)));
+    }
+
+    private void assertStatements(int expected, Supplier<?> work) {
+        clearCaches();
+        assertThat(StatementCounter.count(work)).as("statements").isEqualTo(expected);
+    }
+
+    private static User user(String name, Role role) {
+        String email = name.toLowerCase().replace(' ', '.') + "." + UUID.randomUUID() + "@example.com";
+        return User.builder().name(name).email(email).password("not-used").role(role).build();
+    }
+}
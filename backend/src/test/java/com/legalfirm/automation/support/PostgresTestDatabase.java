@@ -0,0 +1,119 @@
+package com.legalfirm.automation.support;
+
+import com.legalfirm.automation.LegalAutomationApplication;
+import org.junit.jupiter.api.Assumptions;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * PostgreSQL server for the migration, partitioning and replica tests, which need
+ * what H2 does not have (PL/pgSQL, partitioned tables, separate databases).
+ * <p>
+ * Uses the server at {@code TEST_POSTGRES_URL} (with {@code TEST_POSTGRES_USERNAME}
+ * and {@code TEST_POSTGRES_PASSWORD}) when set, otherwise a Testcontainers
+ * {@code postgres:16-alpine} container started once per JVM. The URL names a database
+ * the user can connect to and create databases from; each test works in fresh
+ * databases from {@link #createDatabase(String)}. When neither is available the
+ * calling test is skipped.
+ */
+public final class PostgresTestDatabase {
+
+    private static PostgresTestDatabase instance;
+
+    private final String adminUrl;
+    private final String username;
+    private final String password;
+
+    private PostgresTestDatabase(String adminUrl, String username, String password) {
+        this.adminUrl = adminUrl;
+        this.username = username;
+        this.password = password;
+    }
+
+    public static synchronized PostgresTestDatabase get() {
+        if (instance == null) {
+            String url = System.getenv("TEST_POSTGRES_URL");
+            if (url != null && !url.isBlank()) {
+                instance = new PostgresTestDatabase(url,
+                        System.getenv().getOrDefault("TEST_POSTGRES_USERNAME", "postgres"),
+                        System.getenv().getOrDefault("TEST_POSTGRES_PASSWORD", ""));
+            } else {
+                Assumptions.assumeTrue(DockerClientFactory.instance().isDockerAvailable(),
+                        "Needs Docker or TEST_POSTGRES_URL");
+                PostgreSQLContainer<?> container = new PostgreSQLContainer<>("postgres:16-alpine");
+                container.start();
+                instance = new PostgresTestDatabase(container.getJdbcUrl(), container.getUsername(), container.getPassword());
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Creates an empty database named {@code prefix} plus a random suffix and returns its name.
+     */
+    public String createDatabase(String prefix) {
+        String name = prefix + "_" + UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+        try (Connection connection = DriverManager.getConnection(adminUrl, username, password);
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE " + name);
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Could not create database " + name, ex);
+        }
+        return name;
+    }
+
+    public String jdbcUrl(String database) {
+        int start = adminUrl.indexOf('/', "jdbc:postgresql://".length());
+        int end = adminUrl.indexOf('?', start);
+        return adminUrl.substring(0, start + 1) + database + (end < 0 ? "" : adminUrl.substring(end));
+    }
+
+    public String username() {
+        return username;
+    }
+
+    public String password() {
+        return password;
+    }
+
+    /**
+     * Connection to {@code database}, for setting up and inspecting it.
+     */
+    public Connection connect(String database) throws SQLException {
+        return DriverManager.getConnection(jdbcUrl(database), username, password);
+    }
+
+    /**
+     * Starts the application on {@code database}: Flyway migrates it and Hibernate
+     * validates the result. The profile matches no profile section, so the base
+     * (production) configuration applies; {@code properties} are extra
+     * {@code name=value} pairs.
+     */
+    public ConfigurableApplicationContext startApplication(String database, String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.profiles.active=postgres-test",
+                "--spring.datasource.url=" + jdbcUrl(database),
+                "--spring.datasource.username=" + username,
+                "--spring.datasource.password=" + password,
+                "--spring.jpa.hibernate.ddl-auto=validate",
+                "--spring.flyway.enabled=true",
+                "--server.port=0",
+                "--application.file.upload-dir=target/test-uploads/" + database + "/",
+                "--application.search.index-dir=target/test-index/" + database + "/",
+                "--application.calendar.feed-secret=test-calendar-feed-secret"));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        return new SpringApplicationBuilder(LegalAutomationApplication.class).run(args.toArray(String[]::new));
+    }
+}
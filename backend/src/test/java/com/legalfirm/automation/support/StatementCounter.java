@@ -0,0 +1,41 @@
+package com.legalfirm.automation.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.function.Supplier;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread. Registered
+ * through {@code hibernate.session_factory.statement_inspector}; counting per thread
+ * keeps scheduled jobs and listeners running in the same context out of the count.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    public static final String PROPERTY =
+            "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.legalfirm.automation.support.StatementCounter";
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    /**
+     * Runs {@code work} and returns the number of statements it prepared.
+     */
+    public static int count(Supplier<?> work) {
+        int[] count = new int[1];
+        COUNT.set(count);
+        try {
+            work.get();
+        } finally {
+            COUNT.remove();
+        }
+        return count[0];
+    }
+}